@@ -0,0 +1,58 @@
+package xyz.avarel.aljava;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Helpers for rendering into an {@link Appendable} without intermediate strings.
+ */
+final class Appendables {
+    private Appendables() {}
+
+    /**
+     * Something that renders into an {@link Appendable}.
+     */
+    interface Rendering {
+        void render(Appendable out) throws IOException;
+    }
+
+    /**
+     * @return What the rendering writes, collected into a string.
+     */
+    static String toString(Rendering rendering) {
+        StringBuilder sb = new StringBuilder();
+        try {
+            rendering.render(sb);
+        } catch (IOException e) {
+            // A StringBuilder never throws
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Writes the decimal digits of a number one char at a time.
+     */
+    static void appendInt(Appendable out, long value) throws IOException {
+        if (out instanceof StringBuilder) {
+            ((StringBuilder) out).append(value);
+            return;
+        }
+
+        if (value < 0) {
+            out.append('-');
+        } else {
+            // Negative values have one more digit of range
+            value = -value;
+        }
+
+        long divisor = 1;
+        while (value / divisor <= -10) {
+            divisor *= 10;
+        }
+        while (divisor != 0) {
+            out.append((char) ('0' - value / divisor % 10));
+            divisor /= 10;
+        }
+    }
+}
@@ -0,0 +1,463 @@
+package xyz.avarel.aljava;
+
+import java.util.*;
+
+/**
+ * An {@link Expression} with {@code double} coefficients instead of {@link Fraction}s, for
+ * numerical work where exactness is not needed and the gcd behind every fraction operation is.
+ * <p>
+ * When like terms are combined, a sum within {@code epsilon} of zero relative to the largest
+ * of the terms added is dropped, as the floating point residue of terms that cancel.
+ */
+public final class ApproximateExpression implements TexElement {
+    public static final double DEFAULT_EPSILON = 1e-12;
+
+    private final double[] coefficients;
+    /**
+     * The variables of each term, sorted by name once simplified.
+     */
+    private final Variable[][] variables;
+    private final double epsilon;
+
+    public ApproximateExpression() {
+        this(new double[0], new Variable[0][], DEFAULT_EPSILON);
+    }
+
+    public ApproximateExpression(double constant) {
+        this(new double[] { constant }, new Variable[][] { {} }, DEFAULT_EPSILON);
+    }
+
+    public ApproximateExpression(String name) {
+        this(new double[] { 1 }, new Variable[][] { { new Variable(name) } }, DEFAULT_EPSILON);
+    }
+
+    public ApproximateExpression(Expression expression) {
+        this(expression, DEFAULT_EPSILON);
+    }
+
+    /**
+     * @param epsilon The relative size below which sums of like terms are treated as zero.
+     */
+    public ApproximateExpression(Expression expression, double epsilon) {
+        this(coefficientsOf(expression), variablesOf(expression), epsilon);
+    }
+
+    private ApproximateExpression(double[] coefficients, Variable[][] variables, double epsilon) {
+        if (!(epsilon >= 0)) {
+            throw new IllegalArgumentException("Epsilon " + epsilon + " is negative.");
+        }
+
+        this.coefficients = coefficients;
+        this.variables = variables;
+        this.epsilon = epsilon;
+    }
+
+    public double getEpsilon() {
+        return epsilon;
+    }
+
+    public ApproximateExpression withEpsilon(double epsilon) {
+        return new ApproximateExpression(coefficients, variables, epsilon).simplify();
+    }
+
+    public int size() {
+        return coefficients.length;
+    }
+
+    public double getCoefficient(int index) {
+        return coefficients[index];
+    }
+
+    public List<Variable> getVariables(int index) {
+        return Collections.unmodifiableList(Arrays.asList(variables[index]));
+    }
+
+    /**
+     * Combines variables and like terms and drops coefficients that are zero up to epsilon.
+     */
+    public ApproximateExpression simplify() {
+        Map<Key, Integer> positions = new HashMap<>();
+        double[] newCoefficients = new double[coefficients.length];
+        double[] magnitudes = new double[coefficients.length];
+        Variable[][] newVariables = new Variable[coefficients.length][];
+        int length = 0;
+
+        for (int i = 0; i < coefficients.length; i++) {
+            Variable[] termVariables = simplify(variables[i]);
+
+            Key key = new Key(termVariables);
+            Integer position = positions.get(key);
+            if (position == null) {
+                position = length++;
+                positions.put(key, position);
+                newVariables[position] = termVariables;
+            }
+            newCoefficients[position] += coefficients[i];
+            magnitudes[position] = Math.max(magnitudes[position], Math.abs(coefficients[i]));
+        }
+
+        Integer[] indices = new Integer[length];
+        int kept = 0;
+        for (int i = 0; i < length; i++) {
+            if (Math.abs(newCoefficients[i]) > epsilon * magnitudes[i]) {
+                indices[kept++] = i;
+            }
+        }
+
+        Arrays.sort(indices, 0, kept, (a, b) -> compare(newVariables[a], newVariables[b]));
+
+        double[] sortedCoefficients = new double[kept];
+        Variable[][] sortedVariables = new Variable[kept][];
+        for (int i = 0; i < kept; i++) {
+            sortedCoefficients[i] = newCoefficients[indices[i]];
+            sortedVariables[i] = newVariables[indices[i]];
+        }
+
+        return new ApproximateExpression(sortedCoefficients, sortedVariables, epsilon);
+    }
+
+    public ApproximateExpression plus(double other) {
+        return plus(new ApproximateExpression(other), true);
+    }
+
+    public ApproximateExpression plus(ApproximateExpression other) {
+        return plus(other, true);
+    }
+
+    public ApproximateExpression plus(ApproximateExpression other, boolean simplify) {
+        int length = coefficients.length + other.coefficients.length;
+        double[] newCoefficients = Arrays.copyOf(coefficients, length);
+        Variable[][] newVariables = Arrays.copyOf(variables, length);
+        System.arraycopy(other.coefficients, 0, newCoefficients, coefficients.length, other.coefficients.length);
+        System.arraycopy(other.variables, 0, newVariables, coefficients.length, other.coefficients.length);
+
+        ApproximateExpression result = new ApproximateExpression(newCoefficients, newVariables, epsilon);
+        return simplify ? result.simplify() : result;
+    }
+
+    public ApproximateExpression minus(double other) {
+        return plus(-other);
+    }
+
+    public ApproximateExpression minus(ApproximateExpression other) {
+        return minus(other, true);
+    }
+
+    public ApproximateExpression minus(ApproximateExpression other, boolean simplify) {
+        return plus(other.times(-1), simplify);
+    }
+
+    /**
+     * Scales every coefficient, which can not create like terms, so nothing is simplified.
+     */
+    public ApproximateExpression times(double other) {
+        double[] newCoefficients = new double[coefficients.length];
+        for (int i = 0; i < coefficients.length; i++) {
+            newCoefficients[i] = coefficients[i] * other;
+        }
+        return new ApproximateExpression(newCoefficients, variables, epsilon);
+    }
+
+    public ApproximateExpression times(ApproximateExpression other) {
+        return times(other, true);
+    }
+
+    public ApproximateExpression times(ApproximateExpression other, boolean simplify) {
+        int length = coefficients.length * other.coefficients.length;
+        double[] newCoefficients = new double[length];
+        Variable[][] newVariables = new Variable[length][];
+
+        int k = 0;
+        for (int i = 0; i < coefficients.length; i++) {
+            for (int j = 0; j < other.coefficients.length; j++) {
+                newCoefficients[k] = coefficients[i] * other.coefficients[j];
+
+                Variable[] product = Arrays.copyOf(variables[i], variables[i].length + other.variables[j].length);
+                System.arraycopy(other.variables[j], 0, product, variables[i].length, other.variables[j].length);
+                newVariables[k++] = product;
+            }
+        }
+
+        ApproximateExpression result = new ApproximateExpression(newCoefficients, newVariables, epsilon);
+        return simplify ? result.simplify() : result;
+    }
+
+    public ApproximateExpression div(double other) {
+        if (other == 0) {
+            throw new ArithmeticException("Division by zero");
+        }
+        return times(1 / other);
+    }
+
+    public ApproximateExpression pow(int n) {
+        if (n < 0) {
+            throw new ArithmeticException("Expressions can only be raised to a non-negative integer");
+        }
+
+        ApproximateExpression result = new ApproximateExpression(1).withEpsilon(epsilon);
+        ApproximateExpression base = this;
+        while (n != 0) {
+            if ((n & 1) != 0) result = result.times(base);
+            n >>= 1;
+            if (n != 0) base = base.times(base);
+        }
+        return result;
+    }
+
+    /**
+     * Solves {@code this = 0} for a variable numerically: directly for linear and quadratic
+     * expressions, and by {@link RealRoots} above that, which may miss roots of even multiplicity.
+     *
+     * @return The real solutions in ascending order, never empty. A zero expression is answered
+     *         with {@link Solution#allReals()} and one without real roots with {@link Solution#none()}.
+     */
+    public List<Solution> solveFor(String variable) {
+        ApproximateExpression expression = simplify();
+        if (!expression.onlyHasVariable(variable)) {
+            throw new ArithmeticException("Expression (" + this + ") must only have the variable (" + variable + ").");
+        } else if (expression.coefficients.length == 0) {
+            return Collections.singletonList(Solution.allReals());
+        }
+
+        double[] dense = new double[expression.maxDegreeOfVariable(variable) + 1];
+        for (int i = 0; i < expression.coefficients.length; i++) {
+            int degree = expression.variables[i].length == 0 ? 0 : expression.variables[i][0].getDegree();
+            if (degree < 0) {
+                throw new ArithmeticException("Expression (" + this + ") has negative powers of (" + variable + ").");
+            }
+            dense[degree] += expression.coefficients[i];
+        }
+
+        List<Solution> solutions = new ArrayList<>();
+        if (dense.length == 2) {
+            solutions.add(Solution.numeric(-dense[0] / dense[1]));
+        } else if (dense.length == 3) {
+            double a = dense[2], b = dense[1], c = dense[0];
+            double discriminant = b * b - 4 * a * c;
+
+            if (discriminant == 0) {
+                solutions.add(Solution.numeric(-b / (2 * a)));
+            } else if (discriminant > 0) {
+                // Avoids cancellation between -b and the square root
+                double q = -(b + Math.copySign(Math.sqrt(discriminant), b)) / 2;
+                solutions.add(Solution.numeric(q / a));
+                solutions.add(Solution.numeric(c / q));
+            }
+        } else {
+            for (double root : RealRoots.of(dense)) {
+                solutions.add(Solution.numeric(root));
+            }
+        }
+
+        if (solutions.isEmpty()) {
+            return Collections.singletonList(Solution.none());
+        }
+
+        solutions.sort(Comparator.comparingDouble(Solution::toDouble));
+        return solutions;
+    }
+
+    /**
+     * @param values The value of each variable by name.
+     * @throws IllegalArgumentException If a variable has no value.
+     */
+    public double evaluate(Map<String, Double> values) {
+        double result = 0;
+        for (int i = 0; i < coefficients.length; i++) {
+            double product = coefficients[i];
+            for (Variable variable : variables[i]) {
+                Double value = values.get(variable.getName());
+                if (value == null) {
+                    throw new IllegalArgumentException("Variable (" + variable.getName() + ") has no value.");
+                }
+                product *= Math.pow(value, variable.getDegree());
+            }
+            result += product;
+        }
+        return result;
+    }
+
+    public boolean hasVariable(String name) {
+        for (Variable[] termVariables : variables) {
+            for (Variable variable : termVariables) {
+                if (variable.getName().equals(name)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public boolean onlyHasVariable(String name) {
+        for (Variable[] termVariables : variables) {
+            for (Variable variable : termVariables) {
+                if (!variable.getName().equals(name)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    public int maxDegreeOfVariable(String name) {
+        int degree = 0;
+        for (Variable[] termVariables : variables) {
+            for (Variable variable : termVariables) {
+                if (variable.getName().equals(name)) {
+                    degree = Math.max(degree, variable.getDegree());
+                }
+            }
+        }
+        return degree;
+    }
+
+    @Override
+    public String toString() {
+        return render(false);
+    }
+
+    @Override
+    public String toTex() {
+        return render(true);
+    }
+
+    private String render(boolean tex) {
+        if (coefficients.length == 0) {
+            return "0";
+        }
+
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < coefficients.length; i++) {
+            double coefficient = coefficients[i];
+
+            if (i > 0) {
+                sb.append(coefficient < 0 ? " - " : " + ");
+            } else if (coefficient < 0) {
+                sb.append('-');
+            }
+
+            double magnitude = Math.abs(coefficient);
+            if (variables[i].length == 0 || magnitude != 1) {
+                sb.append(magnitude == Math.rint(magnitude) && magnitude < 1e15
+                        ? String.valueOf((long) magnitude)
+                        : String.valueOf(magnitude));
+            }
+
+            for (int j = 0; j < variables[i].length; j++) {
+                if (tex) {
+                    sb.append(variables[i][j].toTex());
+                } else {
+                    if (j > 0) sb.append('*');
+                    sb.append(variables[i][j]);
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof ApproximateExpression) {
+            ApproximateExpression me = this.simplify();
+            ApproximateExpression other = ((ApproximateExpression) obj).simplify();
+            return Arrays.equals(me.coefficients, other.coefficients)
+                    && Arrays.deepEquals(me.variables, other.variables);
+        }
+        return this == obj;
+    }
+
+    @Override
+    public int hashCode() {
+        ApproximateExpression me = simplify();
+        int hash = Arrays.hashCode(me.coefficients);
+        for (Variable[] termVariables : me.variables) {
+            hash = 31 * hash + new Key(termVariables).hashCode();
+        }
+        return hash;
+    }
+
+    /**
+     * Merges repeated variables, drops zero powers and sorts by name.
+     */
+    private static Variable[] simplify(Variable[] variables) {
+        Map<String, Integer> degrees = new TreeMap<>();
+        for (Variable variable : variables) {
+            degrees.merge(variable.getName(), variable.getDegree(), Integer::sum);
+        }
+
+        List<Variable> result = new ArrayList<>(degrees.size());
+        for (Map.Entry<String, Integer> entry : degrees.entrySet()) {
+            if (entry.getValue() != 0) {
+                result.add(new Variable(entry.getKey(), entry.getValue()));
+            }
+        }
+        return result.toArray(new Variable[result.size()]);
+    }
+
+    /**
+     * Higher total degree first, then by variable names and degrees.
+     */
+    private static int compare(Variable[] a, Variable[] b) {
+        int value = Integer.compare(totalDegree(b), totalDegree(a));
+        for (int i = 0; value == 0 && i < Math.min(a.length, b.length); i++) {
+            value = a[i].getName().compareTo(b[i].getName());
+            if (value == 0) value = Integer.compare(b[i].getDegree(), a[i].getDegree());
+        }
+        return value != 0 ? value : Integer.compare(a.length, b.length);
+    }
+
+    private static int totalDegree(Variable[] variables) {
+        int degree = 0;
+        for (Variable variable : variables) {
+            degree += variable.getDegree();
+        }
+        return degree;
+    }
+
+    private static double[] coefficientsOf(Expression expression) {
+        List<Term> terms = expression.getTerms();
+        double[] coefficients = new double[terms.size()];
+        for (int i = 0; i < coefficients.length; i++) {
+            coefficients[i] = terms.get(i).coefficient().toDouble();
+        }
+        return coefficients;
+    }
+
+    private static Variable[][] variablesOf(Expression expression) {
+        List<Term> terms = expression.getTerms();
+        Variable[][] variables = new Variable[terms.size()][];
+        for (int i = 0; i < variables.length; i++) {
+            List<Variable> termVariables = terms.get(i).getVariables();
+            variables[i] = termVariables.toArray(new Variable[termVariables.size()]);
+        }
+        return variables;
+    }
+
+    /**
+     * The variables of a simplified term as a hash key, since {@link Variable} has no hash code.
+     */
+    private static final class Key {
+        private final Variable[] variables;
+        private final int hash;
+
+        private Key(Variable[] variables) {
+            this.variables = variables;
+
+            int hash = 1;
+            for (Variable variable : variables) {
+                hash = 31 * (31 * hash + variable.getName().hashCode()) + variable.getDegree();
+            }
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Key && Arrays.equals(variables, ((Key) obj).variables);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package xyz.avarel.aljava;
+
+import java.util.*;
+
+/**
+ * An {@link Expression} flattened into primitive arrays for repeated evaluation with doubles.
+ * <p>
+ * Every term becomes a coefficient and a list of (variable index, exponent) pairs. An expression
+ * in a single variable without negative exponents and with few gaps between degrees is
+ * instead turned into dense coefficients and evaluated with Horner's rule.
+ */
+public final class CompiledExpression {
+    private final List<String> variables;
+
+    private final double[] coefficients;
+    private final int[][] indices;
+    private final int[][] exponents;
+
+    /**
+     * Coefficients by ascending degree for Horner's rule, or null.
+     */
+    private final double[] dense;
+
+    public CompiledExpression(Expression expression, List<String> variables) {
+        this.variables = variables;
+
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < variables.size(); i++) {
+            positions.put(variables.get(i), i);
+        }
+
+        List<Term> terms = expression.getTerms();
+        this.coefficients = new double[terms.size()];
+        this.indices = new int[terms.size()][];
+        this.exponents = new int[terms.size()][];
+
+        boolean univariate = variables.size() == 1;
+        int degree = 0;
+
+        for (int i = 0; i < terms.size(); i++) {
+            Term term = terms.get(i);
+            coefficients[i] = term.coefficient().toDouble();
+
+            List<Variable> termVariables = term.getVariables();
+            indices[i] = new int[termVariables.size()];
+            exponents[i] = new int[termVariables.size()];
+
+            for (int j = 0; j < termVariables.size(); j++) {
+                Variable variable = termVariables.get(j);
+                Integer position = positions.get(variable.getName());
+                if (position == null) {
+                    throw new IllegalArgumentException("Variable (" + variable.getName() + ") is not one of " + variables);
+                }
+
+                indices[i][j] = position;
+                exponents[i][j] = variable.getDegree();
+
+                univariate &= variable.getDegree() >= 0;
+                degree = Math.max(degree, variable.getDegree());
+            }
+
+            univariate &= termVariables.size() <= 1;
+        }
+
+        // Horner's rule is only worth it while most of the dense coefficients are used
+        if (univariate && degree <= 2 * terms.size() + 8) {
+            dense = new double[degree + 1];
+            for (int i = 0; i < terms.size(); i++) {
+                dense[exponents[i].length == 0 ? 0 : exponents[i][0]] += coefficients[i];
+            }
+        } else {
+            dense = null;
+        }
+    }
+
+    /**
+     * Compiles an expression in one variable.
+     */
+    public CompiledExpression(Expression expression, String variable) {
+        this(expression, Collections.singletonList(variable));
+    }
+
+    public List<String> getVariables() {
+        return variables;
+    }
+
+    /**
+     * @param values The value of each variable, in the order they were given.
+     */
+    public double evaluate(double... values) {
+        if (values.length != variables.size()) {
+            throw new IllegalArgumentException("Expected " + variables.size() + " values, got " + values.length);
+        }
+
+        if (dense != null) {
+            double x = values[0];
+            double result = 0;
+            for (int i = dense.length - 1; i >= 0; i--) {
+                result = result * x + dense[i];
+            }
+            return result;
+        }
+
+        double result = 0;
+        for (int i = 0; i < coefficients.length; i++) {
+            double product = coefficients[i];
+            for (int j = 0; j < indices[i].length; j++) {
+                product *= pow(values[indices[i][j]], exponents[i][j]);
+            }
+            result += product;
+        }
+        return result;
+    }
+
+    private static double pow(double base, int exponent) {
+        if (exponent < 0) {
+            return 1 / pow(base, -exponent);
+        }
+
+        double result = 1;
+        while (exponent != 0) {
+            if ((exponent & 1) != 0) result *= base;
+            base *= base;
+            exponent >>= 1;
+        }
+        return result;
+    }
+}
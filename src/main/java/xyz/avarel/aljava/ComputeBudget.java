@@ -0,0 +1,208 @@
+package xyz.avarel.aljava;
+
+import xyz.avarel.aljava.exceptions.BudgetExceededException;
+import xyz.avarel.aljava.exceptions.BudgetExceededException.Limit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Limits on the size and duration of computations, so that a hostile input such as
+ * {@code (x+y+z+w)^200} fails quickly instead of running out of time or heap.
+ * <p>
+ * A budget applies to everything a task does on its thread while it {@link #run(Supplier) runs}.
+ * The arithmetic of {@link Expression}, {@link Equation#solveFor(String)} and Gröbner basis
+ * computations check the budget as they go and throw a {@link BudgetExceededException} once
+ * a limit is passed. Interrupting the thread cancels the task the same way. Without a budget
+ * nothing is checked.
+ * <p>
+ * Budgets are immutable, the {@code with} methods return a copy.
+ */
+public final class ComputeBudget {
+    public static final ComputeBudget UNLIMITED = new ComputeBudget(Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, Long.MAX_VALUE);
+
+    private static final ThreadLocal<Context> CONTEXT = new ThreadLocal<>();
+
+    private final int maxTerms;
+    private final int maxDegree;
+    private final int maxCoefficientBits;
+    private final long timeoutNanos;
+
+    private ComputeBudget(int maxTerms, int maxDegree, int maxCoefficientBits, long timeoutNanos) {
+        this.maxTerms = maxTerms;
+        this.maxDegree = maxDegree;
+        this.maxCoefficientBits = maxCoefficientBits;
+        this.timeoutNanos = timeoutNanos;
+    }
+
+    /**
+     * @param maxTerms The most terms an expression may have, including before like terms are combined.
+     */
+    public ComputeBudget withMaxTerms(int maxTerms) {
+        return new ComputeBudget(positive(maxTerms), maxDegree, maxCoefficientBits, timeoutNanos);
+    }
+
+    /**
+     * @param maxDegree The highest degree of a variable in an expression.
+     */
+    public ComputeBudget withMaxDegree(int maxDegree) {
+        return new ComputeBudget(maxTerms, positive(maxDegree), maxCoefficientBits, timeoutNanos);
+    }
+
+    /**
+     * @param maxCoefficientBits The most bits in the numerator or denominator of a coefficient.
+     */
+    public ComputeBudget withMaxCoefficientBits(int maxCoefficientBits) {
+        return new ComputeBudget(maxTerms, maxDegree, positive(maxCoefficientBits), timeoutNanos);
+    }
+
+    /**
+     * @param timeout How long a task may run, measured from the start of {@link #run(Supplier)}.
+     */
+    public ComputeBudget withTimeout(long timeout, TimeUnit unit) {
+        return new ComputeBudget(maxTerms, maxDegree, maxCoefficientBits, unit.toNanos(positive(timeout)));
+    }
+
+    private static int positive(int value) {
+        return (int) positive((long) value);
+    }
+
+    private static long positive(long value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException("Limit must be positive: " + value);
+        }
+        return value;
+    }
+
+    public int getMaxTerms() {
+        return maxTerms;
+    }
+
+    public int getMaxDegree() {
+        return maxDegree;
+    }
+
+    public int getMaxCoefficientBits() {
+        return maxCoefficientBits;
+    }
+
+    public long getTimeout(TimeUnit unit) {
+        return unit.convert(timeoutNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Runs the task on this thread within the budget. A budget inside another one is held
+     * to the stricter of each limit.
+     *
+     * @throws BudgetExceededException If the task goes over a limit or the thread is interrupted.
+     */
+    public <T> T run(Supplier<T> task) {
+        Context outer = CONTEXT.get();
+        CONTEXT.set(new Context(this, outer));
+        try {
+            return task.get();
+        } finally {
+            if (outer == null) {
+                CONTEXT.remove();
+            } else {
+                CONTEXT.set(outer);
+            }
+        }
+    }
+
+    /**
+     * @return If the current thread is running within a budget.
+     */
+    public static boolean isActive() {
+        return CONTEXT.get() != null;
+    }
+
+    /**
+     * Checks the deadline and whether the thread was interrupted. Long loops call this
+     * now and then.
+     */
+    public static void checkpoint() {
+        Context context = CONTEXT.get();
+        if (context != null) {
+            context.checkpoint();
+        }
+    }
+
+    public static void checkTerms(long terms) {
+        Context context = CONTEXT.get();
+        if (context != null && terms > context.maxTerms) {
+            throw new BudgetExceededException(Limit.TERMS, terms + " terms exceed the limit of " + context.maxTerms);
+        }
+    }
+
+    public static void checkDegree(long degree) {
+        Context context = CONTEXT.get();
+        if (context != null && degree > context.maxDegree) {
+            throw new BudgetExceededException(Limit.DEGREE, "Degree " + degree + " exceeds the limit of " + context.maxDegree);
+        }
+    }
+
+    public static void checkCoefficientBits(int bits) {
+        Context context = CONTEXT.get();
+        if (context != null && bits > context.maxCoefficientBits) {
+            throw new BudgetExceededException(Limit.COEFFICIENT_BITS,
+                    "Coefficient of " + bits + " bits exceeds the limit of " + context.maxCoefficientBits);
+        }
+    }
+
+    /**
+     * Checks the bits of the numerator and denominator.
+     */
+    public static void checkCoefficient(Fraction fraction) {
+        checkCoefficientBits(fraction.bitLength());
+    }
+
+    @Override
+    public String toString() {
+        return "ComputeBudget[terms=" + maxTerms + ", degree=" + maxDegree + ", coefficientBits=" + maxCoefficientBits
+                + ", timeout=" + (timeoutNanos == Long.MAX_VALUE ? "none" : TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + "ms") + "]";
+    }
+
+    /**
+     * The limits in effect on a thread, combined with those of the enclosing budget.
+     */
+    private static final class Context {
+        private final int maxTerms;
+        private final int maxDegree;
+        private final int maxCoefficientBits;
+        private final long deadline;
+        private final boolean hasDeadline;
+
+        private Context(ComputeBudget budget, Context outer) {
+            long start = System.nanoTime();
+            boolean hasDeadline = budget.timeoutNanos != Long.MAX_VALUE;
+            long deadline = hasDeadline ? start + budget.timeoutNanos : 0;
+
+            if (outer != null) {
+                this.maxTerms = Math.min(budget.maxTerms, outer.maxTerms);
+                this.maxDegree = Math.min(budget.maxDegree, outer.maxDegree);
+                this.maxCoefficientBits = Math.min(budget.maxCoefficientBits, outer.maxCoefficientBits);
+                if (outer.hasDeadline && (!hasDeadline || outer.deadline - deadline < 0)) {
+                    deadline = outer.deadline;
+                    hasDeadline = true;
+                }
+            } else {
+                this.maxTerms = budget.maxTerms;
+                this.maxDegree = budget.maxDegree;
+                this.maxCoefficientBits = budget.maxCoefficientBits;
+            }
+
+            this.deadline = deadline;
+            this.hasDeadline = hasDeadline;
+        }
+
+        private void checkpoint() {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new BudgetExceededException(Limit.CANCELLED, "Computation was cancelled");
+            }
+            if (hasDeadline && System.nanoTime() - deadline > 0) {
+                throw new BudgetExceededException(Limit.DEADLINE, "Computation ran past its deadline");
+            }
+        }
+    }
+}
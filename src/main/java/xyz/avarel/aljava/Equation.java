@@ -1,10 +1,28 @@
 package xyz.avarel.aljava;
 
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.List;
+import xyz.avarel.aljava.exceptions.ComputeException;
+import xyz.avarel.aljava.metrics.Metrics;
+import xyz.avarel.aljava.polynomial.Polynomial;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.*;
 
 public class Equation implements TexElement {
+    /**
+     * Iteration used by {@link #solveNumerically(String, double, Method)}.
+     */
+    public enum Method {
+        /**
+         * Newton's method, converging quadratically near a simple root.
+         */
+        NEWTON,
+        /**
+         * Halley's method, which also uses the second derivative and converges cubically.
+         */
+        HALLEY
+    }
+
     private final Expression lhs;
     private final Expression rhs;
 
@@ -25,15 +43,47 @@ public class Equation implements TexElement {
         this.rhs = rhs;
     }
 
+    public Expression getLhs() {
+        return lhs;
+    }
+
+    public Expression getRhs() {
+        return rhs;
+    }
+
     public Equation simplify() {
         return new Equation(lhs.simplify(), rhs.simplify());
     }
 
-    public List<Object> solveFor(String variable) {
+    /**
+     * Solves the equation for a variable.
+     *
+     * @return The solutions, never empty. An identity is answered with {@link Solution#allReals()}
+     *         and an equation without real solutions with {@link Solution#none()}.
+     */
+    public List<Solution> solveFor(String variable) {
+        Metrics metrics = Metrics.get();
+        if (metrics == Metrics.NONE) {
+            return solve(variable);
+        }
+
+        long start = System.nanoTime();
+        List<Solution> solutions = solve(variable);
+        metrics.record(Metrics.Operation.SOLVE, System.nanoTime() - start,
+                lhs.getTerms().size() + rhs.getTerms().size(), solutions.size(), 0);
+        return solutions;
+    }
+
+    private List<Solution> solve(String variable) {
         if (!lhs.hasVariable(variable) && !rhs.hasVariable(variable)) {
             throw new ArithmeticException("Variable (" + variable + ") does not exist on either side of the equation.");
         }
 
+        ComputeBudget.checkpoint();
+        if (ComputeBudget.isActive()) {
+            ComputeBudget.checkDegree(Math.max(lhs.maxDegreeOfVariable(variable), rhs.maxDegreeOfVariable(variable)));
+        }
+
         if (isLinear() || variableCanBeIsolated(variable)) {
             Term solvingFor = new Term(new Variable(variable));
             Expression newLhs = new Expression();
@@ -55,8 +105,8 @@ public class Equation implements TexElement {
                 }
             }
 
-            if (newLhs.getTerms().isEmpty() && newRhs.getTerms().isEmpty()) {
-                return Collections.singletonList("All real numbers");
+            if (newLhs.getTerms().isEmpty()) {
+                return Collections.singletonList(newRhs.getTerms().isEmpty() ? Solution.allReals() : Solution.none());
             }
 
             newRhs = newRhs.div(newLhs.getTerms().get(0).coefficient());
@@ -66,7 +116,11 @@ public class Equation implements TexElement {
 //            }
 
             newRhs = newRhs.simplify();
-            return Collections.singletonList(newRhs);
+
+            if (newRhs.hasVariables()) {
+                return Collections.singletonList(Solution.symbolic(newRhs));
+            }
+            return Collections.singletonList(Solution.rational(newRhs.constant().coefficient()));
         }
 
 //        throw new ArithmeticException("Can not solve");
@@ -74,10 +128,10 @@ public class Equation implements TexElement {
         Expression newLhs = lhs.minus(rhs);
 
         if (newLhs.getTerms().isEmpty()) {
-            throw new ArithmeticException("No solution");
+            return Collections.singletonList(Solution.allReals());
         } else if (isQuadratic(variable)) {
-            Fraction a = new Fraction(0);
-            Fraction b = new Fraction(0);
+            Fraction a = Fraction.ZERO;
+            Fraction b = Fraction.ZERO;
 
             for (Term term : newLhs.getTerms()) {
                 if (term.maxDegree() == 2) {
@@ -87,48 +141,190 @@ public class Equation implements TexElement {
                 }
             }
 
-            Fraction c = newLhs.constant().getCoefficients().get(0);
+            Fraction c = newLhs.constant().coefficient();
 
-            Fraction discriminant = b.pow(2).minus(a.times(c).times(4));
+            List<Solution> roots = quadraticRoots(a, b, c);
+            return roots.isEmpty() ? Collections.singletonList(Solution.none()) : roots;
+        } else if (onlyHasVariable(variable)) {
+            return solveByFactoring(newLhs, variable);
+        }
 
-            if (discriminant.toDouble() > 0) {
-                if (discriminant.sqrtIsRational()) {
-                    Fraction sqrtDiscriminant = discriminant.sqrt();
+        throw new ArithmeticException("Equation (" + lhs + " = " + rhs + ") has other variables than " + variable
+                + " and is neither linear nor quadratic in it.");
+    }
 
-                    Fraction r1 = b.times(-1).minus(sqrtDiscriminant).div(a.times(2));
-                    Fraction r2 = b.times(-1).plus(sqrtDiscriminant).div(a.times(2));
+    /**
+     * Roots of a polynomial in one variable from its irreducible factors, which are exact
+     * for linear and quadratic factors and numeric for the rest.
+     */
+    private List<Solution> solveByFactoring(Expression polynomial, String variable) {
+        List<Solution> solutions = new ArrayList<>();
+
+        for (Polynomial factor : new LinkedHashSet<>(Polynomial.of(polynomial).factor())) {
+            Fraction[] coefficients = new Fraction[factor.degree() + 1];
+            Arrays.fill(coefficients, Fraction.ZERO);
+            for (int i = 0; i < factor.size(); i++) {
+                coefficients[factor.getMonomial(i).degree()] = factor.getCoefficient(i);
+            }
 
-                    return Arrays.asList(r1.reduce(), r2.reduce());
-                } else {
-                    double sqrtDiscriminant = Math.sqrt(discriminant.toDouble());
+            if (coefficients.length == 2) {
+                solutions.add(Solution.rational(coefficients[0].times(-1).div(coefficients[1])));
+            } else if (coefficients.length == 3) {
+                // Irreducible, so the discriminant is never a perfect square
+                solutions.addAll(quadraticRoots(coefficients[2], coefficients[1], coefficients[0]));
+            } else if (coefficients.length > 3) {
+                // No exact roots in radicals are attempted beyond quadratics
+                for (double root : RealRoots.of(factor.toExpression(), variable)) {
+                    solutions.add(Solution.numeric(root));
+                }
+            }
+        }
+
+        if (solutions.isEmpty()) {
+            return Collections.singletonList(Solution.none());
+        }
 
-                    double a_ = a.toDouble();
-                    double b_ = b.toDouble();
+        solutions.sort(Comparator.comparingDouble(Solution::toDouble));
+        return solutions;
+    }
 
-                    double r1 = (-b_ - sqrtDiscriminant) / (2 * a_);
-                    double r2 = (-b_ + sqrtDiscriminant) / (2 * a_);
+    public Solution solveNumerically(String variable, double guess) {
+        return solveNumerically(variable, guess, Method.HALLEY);
+    }
 
-                    return Arrays.asList(r1, r2);
+    /**
+     * Finds a real root near a starting point by iterating on {@code lhs - rhs} with its
+     * derivatives compiled to {@link CompiledExpression}s.
+     *
+     * @throws ComputeException If the iteration does not converge.
+     */
+    public Solution solveNumerically(String variable, double guess, Method method) {
+        if (!onlyHasVariable(variable)) {
+            throw new ArithmeticException("Equation (" + lhs + " = " + rhs + ") must only have the variable (" + variable + ").");
+        }
+
+        Expression f = lhs.minus(rhs);
+        Expression df = f.derivative(variable);
+        Expression d2f = df.derivative(variable);
+
+        return Solution.numeric(RealRoots.iterate(
+                new CompiledExpression(f, variable),
+                new CompiledExpression(df, variable),
+                new CompiledExpression(d2f, variable),
+                guess, method));
+    }
+
+    /**
+     * Real roots of {@code ax^2 + bx + c} in ascending order, kept exact as {@code p ± q√d}
+     * with {@code d} square-free unless the parts no longer fit in a {@link Fraction}, in which
+     * case they are numeric. The discriminant itself is computed exactly.
+     */
+    private static List<Solution> quadraticRoots(Fraction a, Fraction b, Fraction c) {
+        BigInteger an = BigInteger.valueOf(a.getNumerator());
+        BigInteger ad = BigInteger.valueOf(a.getDenominator());
+        BigInteger bn = BigInteger.valueOf(b.getNumerator());
+        BigInteger bd = BigInteger.valueOf(b.getDenominator());
+        BigInteger cn = BigInteger.valueOf(c.getNumerator());
+        BigInteger cd = BigInteger.valueOf(c.getDenominator());
+
+        // b^2 - 4ac = n/m
+        BigInteger n = bn.pow(2).multiply(ad).multiply(cd)
+                .subtract(BigInteger.valueOf(4).multiply(an).multiply(cn).multiply(bd.pow(2)));
+        BigInteger m = bd.pow(2).multiply(ad).multiply(cd);
+        if (m.signum() < 0) {
+            n = n.negate();
+            m = m.negate();
+        }
+
+        if (n.signum() < 0) {
+            return Collections.emptyList();
+        }
+
+        // -b/2a
+        BigInteger vertexNumerator = bn.negate().multiply(ad);
+        BigInteger vertexDenominator = BigInteger.valueOf(2).multiply(an).multiply(bd);
+
+        if (n.signum() == 0) {
+            Fraction vertex = fraction(vertexNumerator, vertexDenominator);
+            return Collections.singletonList(vertex != null
+                    ? Solution.rational(vertex)
+                    : Solution.numeric(vertexNumerator.doubleValue() / vertexDenominator.doubleValue()));
+        }
+
+        // √(n/m) = √(nm)/m
+        BigInteger product = n.multiply(m);
+        if (product.bitLength() < Long.SIZE) {
+            long[] parts = IntegerMath.squareFree(product.longValue());
+
+            Fraction rational = fraction(vertexNumerator, vertexDenominator);
+            Fraction coefficient = fraction(BigInteger.valueOf(parts[0]).multiply(ad),
+                    BigInteger.valueOf(2).multiply(an).multiply(m));
+
+            if (rational != null && coefficient != null && parts[1] <= Integer.MAX_VALUE) {
+                try {
+                    List<Solution> roots = Arrays.asList(
+                            Solution.radical(rational, coefficient.times(-1), (int) parts[1]),
+                            Solution.radical(rational, coefficient, (int) parts[1]));
+                    roots.sort(Comparator.comparingDouble(Solution::toDouble));
+                    return roots;
+                } catch (ArithmeticException ignored) {
+                    // A rational pair whose sum overflows, fall through to numeric roots
                 }
-            } else if (discriminant.toDouble() == 0) {
-                // Only 1 root, vertex formula
-                return Collections.singletonList(new Expression(b.times(-1).div(a.times(2)).reduce()));
-            } else {
-                return Collections.emptyList();
             }
         }
 
-        throw new ArithmeticException("Equation (" + lhs + " = " + rhs + ") must be linear or quadratic.");
+        double sqrtDiscriminant = Math.sqrt(n.doubleValue() / m.doubleValue());
+
+        double a_ = a.toDouble();
+        double b_ = b.toDouble();
+        double c_ = c.toDouble();
+
+        // Avoids the cancellation in -b + √D when |b| is large
+        double q = -(b_ + Math.copySign(sqrtDiscriminant, b_)) / 2;
+        double r1 = q / a_;
+        double r2 = c_ / q;
+
+        return Arrays.asList(Solution.numeric(Math.min(r1, r2)), Solution.numeric(Math.max(r1, r2)));
+    }
+
+    /**
+     * The reduced fraction {@code numerator/denominator}, or {@code null} if it does not fit.
+     */
+    private static Fraction fraction(BigInteger numerator, BigInteger denominator) {
+        BigInteger gcd = numerator.gcd(denominator);
+        if (denominator.signum() < 0) {
+            gcd = gcd.negate();
+        }
+        numerator = numerator.divide(gcd);
+        denominator = denominator.divide(gcd);
+
+        if (numerator.bitLength() >= Integer.SIZE || denominator.bitLength() >= Integer.SIZE) {
+            return null;
+        }
+        return new Fraction(numerator.intValue(), denominator.intValue());
     }
 
     @Override
     public String toString() {
-        return lhs + " = " + rhs;
+        return Appendables.toString(this::appendTo);
     }
 
     @Override
     public String toTex() {
-        return lhs.toTex() + " = " + rhs.toTex();
+        return Appendables.toString(this::appendTex);
+    }
+
+    public <A extends Appendable> A appendTo(A out) throws IOException {
+        lhs.appendTo(out).append(" = ");
+        rhs.appendTo(out);
+        return out;
+    }
+
+    @Override
+    public <A extends Appendable> A appendTex(A out) throws IOException {
+        lhs.appendTex(out).append(" = ");
+        rhs.appendTex(out);
+        return out;
     }
 
     public int maxDegree() {
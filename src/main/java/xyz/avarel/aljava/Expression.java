@@ -1,10 +1,20 @@
 package xyz.avarel.aljava;
 
+import xyz.avarel.aljava.metrics.Metrics;
+import xyz.avarel.aljava.polynomial.CoefficientRing;
+import xyz.avarel.aljava.polynomial.MonomialOrder;
+import xyz.avarel.aljava.polynomial.Polynomial;
+import xyz.avarel.aljava.polynomial.RingPolynomial;
+import xyz.avarel.aljava.polynomial.ZeroTest;
+
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
 public class Expression implements TexElement{
+    private static final ZeroTest ZERO_TEST = new ZeroTest();
+
     private final List<Term> terms;
 //    private final List<Fraction> constants;
 
@@ -17,7 +27,7 @@ public class Expression implements TexElement{
     }
 
     public Expression(int constant) {
-        this(new Fraction(constant));
+        this(Fraction.valueOf(constant));
     }
 
     public Expression(Fraction constant) {
@@ -31,19 +41,39 @@ public class Expression implements TexElement{
     public Expression(List<Term> terms) {
         this.terms = terms;
 //        this.constants = constants;
+        Profiler.allocated(Profiler.Allocation.EXPRESSION);
     }
 
     public Term constant() {
-        Term accumulator = new Term(new Fraction(0));
+        long accumulator = PackedFraction.ZERO;
         for (Term term : terms) {
             if (term.getVariables().isEmpty()) {
-                accumulator = accumulator.plus(term);
+                accumulator = PackedFraction.plus(accumulator, term.packedCoefficient());
             }
         }
-        return accumulator;
+        return new Term(Fraction.unpack(accumulator));
     }
 
     public Expression simplify() {
+        Profiler profiler = Profiler.enter(Profiler.Operation.SIMPLIFY);
+        if (profiler == null) {
+            return simplifyTerms();
+        }
+
+        Expression result = null;
+        try {
+            return result = simplifyTerms();
+        } finally {
+            profiler.exit(result);
+        }
+    }
+
+    private Expression simplifyTerms() {
+        Metrics metrics = Metrics.get();
+        long start = metrics != Metrics.NONE ? System.nanoTime() : 0;
+
+        ComputeBudget.checkTerms(terms.size());
+
         List<Term> simplifiedTerms = new ArrayList<>();
         for (Term term : terms) {
             simplifiedTerms.add(term.simplify());
@@ -54,6 +84,17 @@ public class Expression implements TexElement{
                 .combineLikeTerms()
                 .removeTermsWithCoefficientZero();
 
+        if (ComputeBudget.isActive()) {
+            for (Term term : simplifiedExpr.terms) {
+                ComputeBudget.checkCoefficient(term.coefficient());
+            }
+        }
+
+        if (metrics != Metrics.NONE) {
+            metrics.record(Metrics.Operation.SIMPLIFY, System.nanoTime() - start,
+                    terms.size(), simplifiedExpr.terms.size(), simplifiedExpr.coefficientBits());
+        }
+
         return new Expression(simplifiedExpr.terms);
     }
 
@@ -130,16 +171,48 @@ public class Expression implements TexElement{
     }
 
     public Expression times(Expression other, boolean simplify) {
+        Profiler profiler = Profiler.enter(Profiler.Operation.MULTIPLY);
+        if (profiler == null) {
+            return multiply(other, simplify);
+        }
+
+        Expression result = null;
+        try {
+            return result = multiply(other, simplify);
+        } finally {
+            profiler.exit(result);
+        }
+    }
+
+    private Expression multiply(Expression other, boolean simplify) {
+        Metrics metrics = Metrics.get();
+        long start = metrics != Metrics.NONE ? System.nanoTime() : 0;
+
+        // Check the size of the product before building it
+        ComputeBudget.checkTerms((long) terms.size() * other.terms.size());
+        if (ComputeBudget.isActive()) {
+            ComputeBudget.checkDegree((long) maxDegree() + other.maxDegree());
+        }
+
         List<Term> newTerms = new ArrayList<>();
 
         for (Term thisTerm : this.terms) {
+            ComputeBudget.checkpoint();
             for (Term otherTerm : other.terms) {
                 newTerms.add(thisTerm.times(otherTerm));
             }
         }
 
         Expression result = new Expression(newTerms);
-        return simplify ? result.simplify() : result;
+        if (simplify) {
+            result = result.simplify();
+        }
+
+        if (metrics != Metrics.NONE) {
+            metrics.record(Metrics.Operation.MULTIPLY, System.nanoTime() - start,
+                    terms.size() + other.terms.size(), result.terms.size(), result.coefficientBits());
+        }
+        return result;
     }
 
     public Expression div(String other) {
@@ -147,7 +220,7 @@ public class Expression implements TexElement{
     }
 
     public Expression div(int other) {
-        return div(new Fraction(other));
+        return div(Fraction.valueOf(other));
     }
 
     public Expression div(Term other) {
@@ -156,15 +229,11 @@ public class Expression implements TexElement{
 
     public Expression div(Fraction other) {
         List<Term> newTerms = new ArrayList<>();
+        long divisor = other.pack();
 
         for (Term term : terms) {
-            List<Fraction> newCoefficients = new ArrayList<>();
-
-            for (Fraction coefficient : term.getCoefficients()) {
-                newCoefficients.add(coefficient.div(other));
-            }
-
-            newTerms.add(new Term(newCoefficients, term.getVariables()));
+            Fraction coefficient = Fraction.unpack(PackedFraction.div(term.packedCoefficient(), divisor));
+            newTerms.add(new Term(coefficient, term.getVariables()));
         }
 
         return new Expression(newTerms);
@@ -180,16 +249,20 @@ public class Expression implements TexElement{
 
         int denLen = den.terms.size();
 
-        if (denLen != 1) {
-            throw new ArithmeticException("Expressions can only be divided by monomials.");
+        if (denLen == 0) {
+            throw new ArithmeticException("Division by zero");
+        } else if (denLen != 1) {
+            Expression[] result = num.divideAndRemainder(den);
+            if (!result[1].terms.isEmpty()) {
+                throw new ArithmeticException("(" + this + ") is not divisible by (" + other + ")");
+            }
+            return result[0];
         }
 
         List<Term> newTerms = new ArrayList<>();
 
         for (Term numTerm : num.terms) {
-            // The expressions have just been simplified - only one coefficient per term
-            Fraction newCoefficient = numTerm.getCoefficients().get(0)
-                    .div(den.terms.get(0).getCoefficients().get(0));
+            Fraction newCoefficient = numTerm.coefficient().div(den.terms.get(0).coefficient());
 
 
             List<Variable> variables = new ArrayList<>();
@@ -221,18 +294,140 @@ public class Expression implements TexElement{
 
             variables.addAll(denVars);
 
-            newTerms.add(new Term(Collections.singletonList(newCoefficient), variables));
+            newTerms.add(new Term(newCoefficient, variables));
         }
 
         Expression result = new Expression(newTerms);
         return simplify ? result.simplify() : result;
     }
 
+    /**
+     * Polynomial division under the lexicographic monomial order.
+     *
+     * @return {@code {quotient, remainder}}
+     * @see #divideAndRemainder(Expression, MonomialOrder)
+     */
+    public Expression[] divideAndRemainder(Expression divisor) {
+        return divideAndRemainder(divisor, MonomialOrder.LEX);
+    }
+
+    /**
+     * Polynomial division, with variables ordered alphabetically. The remainder has
+     * no term divisible by the leading term of the divisor.
+     *
+     * @return {@code {quotient, remainder}}
+     * @throws ArithmeticException If either expression has negative exponents.
+     */
+    public Expression[] divideAndRemainder(Expression divisor, MonomialOrder order) {
+        List<String> variables = Polynomial.variablesOf(this, divisor);
+        Polynomial[] result = Polynomial.of(this, variables, order)
+                .divideAndRemainder(Polynomial.of(divisor, variables, order));
+        return new Expression[] { result[0].toExpression(), result[1].toExpression() };
+    }
+
+    /**
+     * Reduces this expression by a list of divisors, as in the multivariate division algorithm.
+     *
+     * @return The remainder, none of whose terms is divisible by a leading term of the divisors.
+     */
+    public Expression reduce(List<Expression> divisors, MonomialOrder order) {
+        Expression[] all = divisors.toArray(new Expression[divisors.size() + 1]);
+        all[divisors.size()] = this;
+        List<String> variables = Polynomial.variablesOf(all);
+
+        List<Polynomial> polynomials = new ArrayList<>(divisors.size());
+        for (Expression divisor : divisors) {
+            polynomials.add(Polynomial.of(divisor, variables, order));
+        }
+        return Polynomial.of(this, variables, order).reduce(polynomials).toExpression();
+    }
+
+    /**
+     * Greatest common divisor of two polynomial expressions.
+     *
+     * @see Polynomial#gcd(Polynomial)
+     */
+    public Expression gcd(Expression other) {
+        List<String> variables = Polynomial.variablesOf(this, other);
+        return Polynomial.of(this, variables, MonomialOrder.LEX)
+                .gcd(Polynomial.of(other, variables, MonomialOrder.LEX))
+                .toExpression();
+    }
+
+    /**
+     * Factors a polynomial expression into irreducible factors over the rationals.
+     *
+     * @return The factors, whose product is this expression, repeated by multiplicity.
+     * @see Polynomial#factor()
+     */
+    public List<Expression> factor() {
+        List<Polynomial> factors = Polynomial.of(this).factor();
+
+        List<Expression> result = new ArrayList<>(factors.size());
+        for (Polynomial factor : factors) {
+            result.add(factor.toExpression());
+        }
+        return result;
+    }
+
+    /**
+     * @return This expression with {@code double} coefficients.
+     */
+    public ApproximateExpression approximate() {
+        return new ApproximateExpression(this).simplify();
+    }
+
+    /**
+     * Reduces a polynomial expression into a coefficient ring, such as the integers modulo a prime.
+     *
+     * @throws ArithmeticException If a coefficient has no image in the ring.
+     */
+    public RingPolynomial over(CoefficientRing ring) {
+        return RingPolynomial.of(this, ring);
+    }
+
+    /**
+     * Differentiates term by term. Distinct monomials have distinct derivatives, so no like
+     * terms are created and the result is not simplified again.
+     */
+    public Expression derivative(String variable) {
+        List<Term> newTerms = new ArrayList<>(terms.size());
+        for (Term term : terms) {
+            if (!term.hasVariable(variable)) {
+                continue;
+            }
+
+            Term derivative = term.derivative(variable);
+            if (derivative.coefficient().getNumerator() != 0) {
+                newTerms.add(derivative);
+            }
+        }
+        return new Expression(newTerms);
+    }
+
     public Expression pow(int n) {
+        Profiler profiler = Profiler.enter(Profiler.Operation.POW);
+        if (profiler == null) {
+            return power(n);
+        }
+
+        Expression result = null;
+        try {
+            return result = power(n);
+        } finally {
+            profiler.exit(result);
+        }
+    }
+
+    private Expression power(int n) {
         if (n == 0) {
             return new Expression(0);
         }
 
+        if (ComputeBudget.isActive()) {
+            ComputeBudget.checkDegree((long) maxDegree() * n);
+        }
+
         Expression product = this;
         for (int i = 1; i < n; i++) {
             product = product.times(this);
@@ -245,7 +440,7 @@ public class Expression implements TexElement{
             throw new ArithmeticException("Expressions can only be raised to an integer");
         }
 
-        Fraction constant = other.constant().getCoefficients().get(0);
+        Fraction constant = other.constant().coefficient();
 
         double n = constant.toDouble();
 
@@ -258,93 +453,66 @@ public class Expression implements TexElement{
 
     @Override
     public String toString() {
-        if (terms.isEmpty()) {
-            return "0";
-        }
-
-        StringBuilder sb = new StringBuilder();
-
-        for (int i = 0; i < terms.size(); i++) {
-            Term term = terms.get(i);
-
-            if (i > 0) {
-                if (!term.getCoefficients().isEmpty()) {
-                    sb.append(term.getCoefficients().get(0).toDouble() < 0 ? " - " : " + ");
-
-                    List<Fraction> newCoeff = new ArrayList<>();
-                    if (!term.getCoefficients().isEmpty()) {
-                        newCoeff.add(term.getCoefficients().get(0).abs());
-                        newCoeff.addAll(term.getCoefficients().subList(1, term.getCoefficients().size()));
-                    }
-
-                    term = new Term(newCoeff, term.getVariables());
-                } else {
-                    sb.append(" + ");
-                }
-            } else {
-                if (!term.getCoefficients().isEmpty() && term.getCoefficients().get(0).toDouble() < 0) {
-                    sb.append('-');
-                }
-
-                List<Fraction> newCoeff = new ArrayList<>();
-
-                if (!term.getCoefficients().isEmpty()) {
-                    newCoeff.add(term.getCoefficients().get(0).abs());
-                    newCoeff.addAll(term.getCoefficients().subList(1, term.getCoefficients().size()));
-                }
-
-                term = new Term(newCoeff, term.getVariables());
-            }
+        return Appendables.toString(this::appendTo);
+    }
 
-            sb.append(term);
-        }
+    @Override
+    public String toTex() {
+        return Appendables.toString(this::appendTex);
+    }
 
-        return sb.toString();
+    /**
+     * Writes {@link #toString()} into a buffer or writer in one pass.
+     *
+     * @return {@code out}
+     */
+    public <A extends Appendable> A appendTo(A out) throws IOException {
+        append(out, false);
+        return out;
     }
 
+    /**
+     * Writes {@link #toTex()} into a buffer or writer in one pass.
+     *
+     * @return {@code out}
+     */
     @Override
-    public String toTex() {
+    public <A extends Appendable> A appendTex(A out) throws IOException {
+        append(out, true);
+        return out;
+    }
+
+    private void append(Appendable out, boolean tex) throws IOException {
         if (terms.isEmpty()) {
-            return "0";
+            out.append('0');
+            return;
         }
 
-        StringBuilder sb = new StringBuilder();
-
         for (int i = 0; i < terms.size(); i++) {
             Term term = terms.get(i);
+            List<Fraction> coefficients = term.getCoefficients();
+            boolean negative = !coefficients.isEmpty() && coefficients.get(0).getNumerator() < 0;
 
+            // The sign of the leading coefficient becomes the operator
             if (i > 0) {
-                if (!term.getCoefficients().isEmpty()) {
-                    sb.append(term.getCoefficients().get(0).toDouble() < 0 ? " - " : " + ");
-
-                    List<Fraction> newCoeff = new ArrayList<>();
-                    if (!term.getCoefficients().isEmpty()) {
-                        newCoeff.add(term.getCoefficients().get(0).abs());
-                        newCoeff.addAll(term.getCoefficients().subList(1, term.getCoefficients().size()));
-                    }
-
-                    term = new Term(newCoeff, term.getVariables());
-                } else {
-                    sb.append(" + ");
-                }
-            } else {
-                if (!term.getCoefficients().isEmpty() && term.getCoefficients().get(0).toDouble() < 0) {
-                    sb.append('-');
-                }
-
-                List<Fraction> newCoeff = new ArrayList<>();
-                if (!term.getCoefficients().isEmpty()) {
-                    newCoeff.add(term.getCoefficients().get(0).abs());
-                    newCoeff.addAll(term.getCoefficients().subList(1, term.getCoefficients().size()));
-                }
-
-                term = new Term(newCoeff, term.getVariables());
+                out.append(negative ? " - " : " + ");
+            } else if (negative) {
+                out.append('-');
             }
 
-            sb.append(term.toTex());
+            term.append(out, tex, true);
         }
+    }
 
-        return sb.toString();
+    /**
+     * @return The {@link Fraction#bitLength()} of the largest coefficient.
+     */
+    int coefficientBits() {
+        int bits = 0;
+        for (Term term : terms) {
+            bits = Math.max(bits, term.coefficient().bitLength());
+        }
+        return bits;
     }
 
     private boolean isConstant() {
@@ -371,6 +539,7 @@ public class Expression implements TexElement{
         List<Term> terms = new ArrayList<>(this.terms);
         List<Term> newTerms = new ArrayList<>();
         for (int i = 0; i < terms.size(); i++) {
+            ComputeBudget.checkpoint();
             Term accumulator = terms.get(i);
             // Cherry pick the rest of the list
             // combine with accumulator and remove them from writable list
@@ -406,6 +575,15 @@ public class Expression implements TexElement{
         return new Expression(sortedTerms);
     }
 
+    public boolean hasVariables() {
+        for (Term term : terms) {
+            if (!term.getVariables().isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public boolean hasVariable(String name) {
         for (Term term : terms) {
             if (term.hasVariable(name)) {
@@ -474,6 +652,44 @@ public class Expression implements TexElement{
         return this == obj;
     }
 
+    /**
+     * Compares by evaluating both expressions at random points, which takes time linear in
+     * their size however much simplifying would expand them.
+     *
+     * @return False if the expressions differ, true if they are equal except with probability
+     *         at most {@link ZeroTest#DEFAULT_ERROR_BOUND}.
+     */
+    public boolean probablyEquals(Expression other) {
+        return ZERO_TEST.probablyEquals(this, other);
+    }
+
+    /**
+     * @param errorBound The allowed probability of wrongly answering true, or 0 to compare exactly with {@link #equals(Object)}.
+     */
+    public boolean probablyEquals(Expression other, double errorBound) {
+        if (errorBound == 0) {
+            return equals(other);
+        }
+        return new ZeroTest(errorBound).probablyEquals(this, other);
+    }
+
+    /**
+     * @see #probablyEquals(Expression)
+     */
+    public boolean isZero() {
+        return ZERO_TEST.isZero(this);
+    }
+
+    /**
+     * @param errorBound The allowed probability of wrongly answering true, or 0 to simplify and check exactly.
+     */
+    public boolean isZero(double errorBound) {
+        if (errorBound == 0) {
+            return simplify().terms.isEmpty();
+        }
+        return new ZeroTest(errorBound).isZero(this);
+    }
+
     public List<Term> getTerms() {
         return terms;
     }
@@ -1,9 +1,35 @@
 package xyz.avarel.aljava;
 
+import java.io.IOException;
+
 public class Fraction implements TexElement {
+    private static final int CACHE_LOW = -128;
+    private static final int CACHE_HIGH = 127;
+
+    /**
+     * The integers from {@link #CACHE_LOW} to {@link #CACHE_HIGH}, shared like {@link Integer#valueOf(int)}.
+     */
+    private static final Fraction[] CACHE = new Fraction[CACHE_HIGH - CACHE_LOW + 1];
+
+    static {
+        for (int i = 0; i < CACHE.length; i++) {
+            CACHE[i] = new Fraction(PackedFraction.pack(CACHE_LOW + i, 1));
+        }
+    }
+
+    public static final Fraction ZERO = valueOf(0);
+    public static final Fraction ONE = valueOf(1);
+    public static final Fraction MINUS_ONE = valueOf(-1);
+
     private final int numerator;
     private final int denominator;
 
+    /**
+     * Whether the fraction is known to be in lowest terms, so the {@link PackedFraction}
+     * kernels can take it as it is.
+     */
+    private final boolean reduced;
+
     public Fraction(int n) {
         this(n, 1);
     }
@@ -16,10 +42,54 @@ public class Fraction implements TexElement {
 
         this.numerator = numerator;
         this.denominator = denominator;
+        this.reduced = denominator == 1 || numerator == 1 || numerator == -1;
 
         if (denominator == 0) {
             throw new ArithmeticException("Division by zero");
         }
+        Profiler.allocated(Profiler.Allocation.FRACTION);
+    }
+
+    private Fraction(long packed) {
+        this.numerator = PackedFraction.numerator(packed);
+        this.denominator = PackedFraction.denominator(packed);
+        this.reduced = true;
+        Profiler.allocated(Profiler.Allocation.FRACTION);
+    }
+
+    /**
+     * @return The integer, shared if it is small.
+     */
+    public static Fraction valueOf(int n) {
+        if (n >= CACHE_LOW && n <= CACHE_HIGH) {
+            return CACHE[n - CACHE_LOW];
+        }
+        return new Fraction(n);
+    }
+
+    /**
+     * @return The fraction in lowest terms, shared if it is a small integer.
+     * @throws ArithmeticException If the denominator is zero.
+     */
+    public static Fraction valueOf(int numerator, int denominator) {
+        return unpack(PackedFraction.reduce(numerator, denominator));
+    }
+
+    static Fraction unpack(long packed) {
+        int numerator = PackedFraction.numerator(packed);
+        if (PackedFraction.denominator(packed) == 1 && numerator >= CACHE_LOW && numerator <= CACHE_HIGH) {
+            return CACHE[numerator - CACHE_LOW];
+        }
+        return new Fraction(packed);
+    }
+
+    /**
+     * @return This fraction in lowest terms, packed for {@link PackedFraction}.
+     */
+    long pack() {
+        return reduced
+                ? PackedFraction.pack(numerator, denominator)
+                : PackedFraction.reduce(numerator, denominator);
     }
 
     public int getNumerator() {
@@ -30,9 +100,16 @@ public class Fraction implements TexElement {
         return denominator;
     }
 
+    /**
+     * @return The number of bits of the larger of the numerator and denominator, ignoring the sign.
+     */
+    public int bitLength() {
+        long magnitude = Math.max(Math.abs((long) numerator), Math.abs((long) denominator));
+        return 64 - Long.numberOfLeadingZeros(magnitude);
+    }
+
     public Fraction reduce() {
-        int gcd = gcd(numerator, denominator);
-        return new Fraction(numerator / gcd, denominator / gcd);
+        return reduced ? this : unpack(pack());
     }
 
     public Fraction reciprocal() {
@@ -40,7 +117,7 @@ public class Fraction implements TexElement {
     }
 
     public Fraction abs() {
-        return new Fraction(Math.abs(numerator), Math.abs(denominator));
+        return numerator >= 0 ? this : new Fraction(-numerator, denominator);
     }
 
 
@@ -50,7 +127,7 @@ public class Fraction implements TexElement {
     }
 
     public Fraction plus(int other, boolean reduce) {
-        return plus(new Fraction(other), reduce);
+        return plus(valueOf(other), reduce);
     }
 
     public Fraction plus(Fraction other) {
@@ -58,17 +135,19 @@ public class Fraction implements TexElement {
     }
 
     public Fraction plus(Fraction other, boolean reduce) {
+        if (reduce) {
+            return unpack(PackedFraction.plus(this.pack(), other.pack()));
+        }
+
         if (this.denominator == other.denominator) {
-            Fraction result = new Fraction(this.numerator + other.numerator, denominator);
-            return reduce ? result.reduce() : result;
+            return new Fraction(this.numerator + other.numerator, denominator);
         }
 
         int lcm = lcm(this.denominator, other.denominator);
         int a = lcm / this.denominator;
         int b = lcm / other.denominator;
 
-        Fraction result = new Fraction(this.numerator * a + other.numerator * b, lcm);
-        return reduce ? result.reduce() : result;
+        return new Fraction(this.numerator * a + other.numerator * b, lcm);
     }
 
 
@@ -78,7 +157,7 @@ public class Fraction implements TexElement {
     }
 
     public Fraction minus(int other, boolean reduce) {
-        return minus(new Fraction(other), reduce);
+        return minus(valueOf(other), reduce);
     }
 
     public Fraction minus(Fraction other) {
@@ -86,6 +165,9 @@ public class Fraction implements TexElement {
     }
 
     public Fraction minus(Fraction other, boolean reduce) {
+        if (reduce) {
+            return unpack(PackedFraction.minus(this.pack(), other.pack()));
+        }
         return plus(new Fraction(-other.numerator, other.denominator), reduce);
     }
 
@@ -96,7 +178,7 @@ public class Fraction implements TexElement {
     }
 
     public Fraction times(int other, boolean reduce) {
-        return times(new Fraction(other), reduce);
+        return times(valueOf(other), reduce);
     }
 
     public Fraction times(Fraction other) {
@@ -104,8 +186,10 @@ public class Fraction implements TexElement {
     }
 
     public Fraction times(Fraction other, boolean reduce) {
-        Fraction result = new Fraction(this.numerator * other.numerator, this.denominator * other.denominator);
-        return reduce ? result.reduce() : result;
+        if (reduce) {
+            return unpack(PackedFraction.times(this.pack(), other.pack()));
+        }
+        return new Fraction(this.numerator * other.numerator, this.denominator * other.denominator);
     }
 
 
@@ -115,7 +199,7 @@ public class Fraction implements TexElement {
     }
 
     public Fraction div(int other, boolean reduce) {
-        return div(new Fraction(other), reduce);
+        return div(valueOf(other), reduce);
     }
 
     public Fraction div(Fraction other) {
@@ -123,6 +207,9 @@ public class Fraction implements TexElement {
     }
 
     public Fraction div(Fraction other, boolean reduce) {
+        if (reduce) {
+            return unpack(PackedFraction.div(this.pack(), other.pack()));
+        }
         return times(other.reciprocal(), reduce);
     }
 
@@ -134,13 +221,29 @@ public class Fraction implements TexElement {
 
     public Fraction pow(int n, boolean reduce) {
         if (n >= 0) {
-            Fraction result = new Fraction((int) Math.pow(numerator, n), (int) Math.pow(denominator, n));
-            return reduce ? result.reduce() : result;
+            if (reduce) {
+                return unpack(PackedFraction.pow(this.pack(), n));
+            }
+            return new Fraction(powExact(numerator, n), powExact(denominator, n));
         } else {
             return pow(Math.abs(n)).reciprocal();
         }
     }
 
+    private static int powExact(int base, int n) {
+        int result = 1;
+        while (true) {
+            if ((n & 1) != 0) {
+                result = Math.multiplyExact(result, base);
+            }
+            n >>>= 1;
+            if (n == 0) {
+                return result;
+            }
+            base = Math.multiplyExact(base, base);
+        }
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (obj instanceof Fraction) {
@@ -152,35 +255,54 @@ public class Fraction implements TexElement {
         return obj.equals(numerator / denominator);
     }
 
+    @Override
+    public int hashCode() {
+        return 31 * numerator + denominator;
+    }
+
     @Override
     public String toString() {
-        if (numerator == 0) {
-            return "0";
-        } else if (denominator == 1) {
-            return String.valueOf(numerator);
-        } else if (denominator == -1) {
-            return String.valueOf(-numerator);
-        }
-        return numerator + "/" + denominator;
+        return Appendables.toString(this::appendTo);
     }
 
     @Override
     public String toTex() {
+        return Appendables.toString(this::appendTex);
+    }
+
+    public <A extends Appendable> A appendTo(A out) throws IOException {
+        append(out, numerator, denominator, false);
+        return out;
+    }
+
+    @Override
+    public <A extends Appendable> A appendTex(A out) throws IOException {
+        append(out, numerator, denominator, true);
+        return out;
+    }
+
+    /**
+     * Renders {@code numerator / denominator} without creating the fraction.
+     */
+    static void append(Appendable out, int numerator, int denominator, boolean tex) throws IOException {
         if (numerator == 0) {
-            return "0";
+            out.append('0');
         } else if (denominator == 1) {
-            return String.valueOf(numerator);
-        } else if (denominator == -1) {
-            return String.valueOf(-numerator);
-        }
-
-        if (numerator < 0 && denominator < 0) {
-            return "\\frac{" + -numerator + "}{" + -denominator + "}";
-        } else if (numerator < 0 || denominator < 0) {
-            return "-\\frac{" + numerator + "}{" + denominator + "}";
+            Appendables.appendInt(out, numerator);
+        } else if (!tex) {
+            Appendables.appendInt(out, numerator);
+            out.append('/');
+            Appendables.appendInt(out, denominator);
+        } else {
+            if (numerator < 0) {
+                out.append('-');
+            }
+            out.append("\\frac{");
+            Appendables.appendInt(out, Math.abs((long) numerator));
+            out.append("}{");
+            Appendables.appendInt(out, denominator);
+            out.append('}');
         }
-
-        return "\\frac{" + numerator + "}{" + denominator + "}";
     }
 
     public double toDouble() {
@@ -193,26 +315,16 @@ public class Fraction implements TexElement {
             throw new IllegalStateException("Internal error");
         }
 
-        return new Fraction((int) Math.sqrt(numerator), (int) Math.sqrt(denominator));
+        Fraction reduced = reduce();
+        return new Fraction((int) IntegerMath.isqrt(reduced.numerator), (int) IntegerMath.isqrt(reduced.denominator));
     }
 
     public boolean sqrtIsRational() {
-        double num = Math.sqrt(numerator);
-        double den = Math.sqrt(denominator);
-
-        return num % 1 == 0 && den % 1 == 0;
-    }
-
-    private static int gcd(int a, int b)  {
-        while (a != 0 && b != 0) {
-            int c = b;
-            b = a % b;
-            a = c;
-        }
-        return a + b;
+        Fraction reduced = reduce();
+        return IntegerMath.isSquare(reduced.numerator) && IntegerMath.isSquare(reduced.denominator);
     }
 
     private static int lcm(int a, int b) {
-        return a * b / gcd(a, b);
+        return a * b / (int) PackedFraction.gcd(Math.abs(a), Math.abs(b));
     }
 }
@@ -0,0 +1,82 @@
+package xyz.avarel.aljava;
+
+/**
+ * Exact integer helpers shared by the rational and radical arithmetic.
+ */
+final class IntegerMath {
+    /**
+     * Square root of {@link Long#MAX_VALUE}, rounded down.
+     */
+    private static final long MAX_ROOT = 3037000499L;
+
+    private IntegerMath() {}
+
+    /**
+     * @return The largest {@code r} such that {@code r * r <= n}.
+     */
+    static long isqrt(long n) {
+        if (n < 0) {
+            throw new ArithmeticException("Square root of negative number: " + n);
+        }
+
+        // The floating point estimate is off by at most a few units near 2^63
+        long r = (long) Math.sqrt((double) n);
+        while (r > MAX_ROOT || r * r > n) {
+            r--;
+        }
+        while (r < MAX_ROOT && (r + 1) * (r + 1) <= n) {
+            r++;
+        }
+        return r;
+    }
+
+    static boolean isSquare(long n) {
+        if (n < 0) return false;
+        long r = isqrt(n);
+        return r * r == n;
+    }
+
+    /**
+     * Splits {@code n} into {@code s * s * d} with {@code d} square-free.
+     *
+     * @return {@code {s, d}}
+     */
+    static long[] squareFree(long n) {
+        if (n <= 0) {
+            throw new ArithmeticException("Expected a positive number: " + n);
+        }
+
+        long outside = 1;
+        long inside = 1;
+
+        int exponent = 0;
+        while ((n & 1) == 0) {
+            n >>= 1;
+            exponent++;
+        }
+        outside <<= exponent / 2;
+        if (exponent % 2 == 1) inside *= 2;
+
+        // Once every prime up to the cube root is removed, what remains is 1, p, p^2 or p*q
+        for (long p = 3; p * p * p <= n; p += 2) {
+            exponent = 0;
+            while (n % p == 0) {
+                n /= p;
+                exponent++;
+            }
+            for (int i = 0; i < exponent / 2; i++) outside *= p;
+            if (exponent % 2 == 1) inside *= p;
+        }
+
+        if (n > 1) {
+            long r = isqrt(n);
+            if (r * r == n) {
+                outside *= r;
+            } else {
+                inside *= n;
+            }
+        }
+
+        return new long[] { outside, inside };
+    }
+}
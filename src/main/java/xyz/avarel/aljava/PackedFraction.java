@@ -0,0 +1,164 @@
+package xyz.avarel.aljava;
+
+/**
+ * Allocation-free rational arithmetic on a {@link Fraction} packed into a long, with the
+ * numerator in the high and the denominator in the low 32 bits.
+ * <p>
+ * Operands must be in lowest terms with a positive denominator, and so are the results.
+ * Products and sums are cross-reduced before multiplying (Henrici), so intermediates stay
+ * within a long and only the final narrowing to ints can overflow.
+ */
+final class PackedFraction {
+    static final long ZERO = pack(0, 1);
+    static final long ONE = pack(1, 1);
+
+    private PackedFraction() {}
+
+    static long pack(int numerator, int denominator) {
+        return ((long) numerator << 32) | (denominator & 0xFFFFFFFFL);
+    }
+
+    static int numerator(long fraction) {
+        return (int) (fraction >> 32);
+    }
+
+    static int denominator(long fraction) {
+        return (int) fraction;
+    }
+
+    /**
+     * Brings any fraction to lowest terms with a positive denominator.
+     *
+     * @throws ArithmeticException If the denominator is zero or the result does not fit.
+     */
+    static long reduce(long numerator, long denominator) {
+        if (denominator == 0) {
+            throw new ArithmeticException("Division by zero");
+        } else if (numerator == 0) {
+            return ZERO;
+        }
+
+        if (denominator < 0) {
+            numerator = -numerator;
+            denominator = -denominator;
+        }
+
+        long gcd = gcd(Math.abs(numerator), denominator);
+        return narrow(numerator / gcd, denominator / gcd);
+    }
+
+    static long plus(long a, long b) {
+        long an = numerator(a), ad = denominator(a);
+        long bn = numerator(b), bd = denominator(b);
+
+        if (ad == bd) {
+            // Still needs a gcd, since a common denominator can divide the sum
+            return reduce(an + bn, ad);
+        }
+
+        long g = gcd(ad, bd);
+        if (g == 1) {
+            // Coprime denominators keep the sum in lowest terms
+            return narrow(an * bd + bn * ad, ad * bd);
+        }
+
+        long t = an * (bd / g) + bn * (ad / g);
+        if (t == 0) {
+            return ZERO;
+        }
+
+        // Only the factors of g can divide both t and the denominator
+        long g2 = gcd(Math.abs(t), g);
+        return narrow(t / g2, (ad / g) * (bd / g2));
+    }
+
+    static long minus(long a, long b) {
+        return plus(a, negate(b));
+    }
+
+    static long negate(long a) {
+        return narrow(-(long) numerator(a), denominator(a));
+    }
+
+    static long times(long a, long b) {
+        long an = numerator(a), ad = denominator(a);
+        long bn = numerator(b), bd = denominator(b);
+
+        if (an == 0 || bn == 0) {
+            return ZERO;
+        }
+
+        long g1 = gcd(Math.abs(an), bd);
+        long g2 = gcd(Math.abs(bn), ad);
+        return narrow((an / g1) * (bn / g2), (ad / g2) * (bd / g1));
+    }
+
+    static long times(long a, int b) {
+        return times(a, pack(b, 1));
+    }
+
+    /**
+     * Raises to a non-negative power by repeated squaring, so that an overflow throws
+     * like the other kernels instead of saturating.
+     */
+    static long pow(long a, int n) {
+        long result = ONE;
+        while (true) {
+            if ((n & 1) != 0) {
+                result = times(result, a);
+            }
+            n >>>= 1;
+            if (n == 0) {
+                return result;
+            }
+            a = times(a, a);
+        }
+    }
+
+    /**
+     * @throws ArithmeticException If {@code b} is zero.
+     */
+    static long div(long a, long b) {
+        return times(a, reciprocal(b));
+    }
+
+    /**
+     * @throws ArithmeticException If {@code a} is zero.
+     */
+    static long reciprocal(long a) {
+        long n = numerator(a), d = denominator(a);
+        if (n == 0) {
+            throw new ArithmeticException("Division by zero");
+        }
+        return n < 0 ? narrow(-d, -n) : narrow(d, n);
+    }
+
+    /**
+     * Binary GCD of two non-negative numbers, which trades the divisions of Euclid's
+     * algorithm for shifts and subtractions.
+     */
+    static long gcd(long a, long b) {
+        if (a == 0) return b;
+        if (b == 0) return a;
+
+        int shift = Long.numberOfTrailingZeros(a | b);
+        a >>= Long.numberOfTrailingZeros(a);
+        do {
+            b >>= Long.numberOfTrailingZeros(b);
+            if (a > b) {
+                long c = a;
+                a = b;
+                b = c;
+            }
+            b -= a;
+        } while (b != 0);
+        return a << shift;
+    }
+
+    private static long narrow(long numerator, long denominator) {
+        if (numerator != (int) numerator || denominator != (int) denominator) {
+            throw new ArithmeticException("Fraction " + numerator + "/" + denominator + " overflows an int");
+        }
+        return pack((int) numerator, (int) denominator);
+    }
+}
@@ -0,0 +1,198 @@
+package xyz.avarel.aljava;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * A debugging aid that finds where an input blows up. While a task {@link #run(Supplier) runs}
+ * on a profiler, it counts the {@link Fraction}s, {@link Term}s and {@link Expression}s created
+ * by each multiplication, simplification and power, and the sizes of the expressions they
+ * produce, and keeps the largest one.
+ * <p>
+ * Profiling is opt-in and has to be switched on for each task. A profiler records only the
+ * thread that runs it and is not thread-safe. Outside of profiled tasks the cost is a
+ * single check per allocation.
+ */
+public final class Profiler {
+    public enum Operation {
+        MULTIPLY,
+        SIMPLIFY,
+        POW,
+        /**
+         * Anything the task does outside of the other operations.
+         */
+        OTHER
+    }
+
+    public enum Allocation {
+        FRACTION,
+        TERM,
+        EXPRESSION
+    }
+
+    /**
+     * How many terms of the largest expression the report shows.
+     */
+    private static final int LARGEST_SHOWN = 10;
+
+    private static final ThreadLocal<Profiler> CURRENT = new ThreadLocal<>();
+
+    /**
+     * The number of threads that are profiling, so that others skip the thread local.
+     */
+    private static final AtomicInteger RUNNING = new AtomicInteger();
+
+    private final long[][] allocations = new long[Operation.values().length][Allocation.values().length];
+    private final long[] calls = new long[Operation.values().length];
+    private final long[] termsOut = new long[Operation.values().length];
+    private final int[] maxTermsOut = new int[Operation.values().length];
+
+    private Operation[] stack = new Operation[16];
+    private int depth;
+
+    private Expression largest;
+    private Operation largestOperation;
+
+    /**
+     * Runs the task on this thread and records what it does, adding to what was recorded before.
+     */
+    public <T> T run(Supplier<T> task) {
+        Profiler outer = CURRENT.get();
+        int outerDepth = depth;
+
+        CURRENT.set(this);
+        RUNNING.incrementAndGet();
+        try {
+            return task.get();
+        } finally {
+            RUNNING.decrementAndGet();
+            depth = outerDepth;
+            if (outer == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(outer);
+            }
+        }
+    }
+
+    static void allocated(Allocation allocation) {
+        if (RUNNING.get() == 0) return;
+
+        Profiler profiler = CURRENT.get();
+        if (profiler != null) {
+            Operation operation = profiler.depth == 0 ? Operation.OTHER : profiler.stack[profiler.depth - 1];
+            profiler.allocations[operation.ordinal()][allocation.ordinal()]++;
+        }
+    }
+
+    /**
+     * @return The profiler of this thread, which {@link #exit(Expression)} has to be called on
+     *         once the operation is done, or {@code null} if the thread is not profiling.
+     */
+    static Profiler enter(Operation operation) {
+        if (RUNNING.get() == 0) return null;
+
+        Profiler profiler = CURRENT.get();
+        if (profiler != null) {
+            if (profiler.depth == profiler.stack.length) {
+                Operation[] grown = new Operation[profiler.depth * 2];
+                System.arraycopy(profiler.stack, 0, grown, 0, profiler.depth);
+                profiler.stack = grown;
+            }
+            profiler.stack[profiler.depth++] = operation;
+        }
+        return profiler;
+    }
+
+    /**
+     * @param result The expression the operation produced, or {@code null} if it failed.
+     */
+    void exit(Expression result) {
+        Operation operation = stack[--depth];
+        int i = operation.ordinal();
+        calls[i]++;
+
+        if (result != null) {
+            int size = result.getTerms().size();
+            termsOut[i] += size;
+            maxTermsOut[i] = Math.max(maxTermsOut[i], size);
+
+            if (largest == null || size > largest.getTerms().size()) {
+                largest = result;
+                largestOperation = operation;
+            }
+        }
+    }
+
+    public long getAllocations(Operation operation, Allocation allocation) {
+        return allocations[operation.ordinal()][allocation.ordinal()];
+    }
+
+    public long getCalls(Operation operation) {
+        return calls[operation.ordinal()];
+    }
+
+    /**
+     * @return The most terms an expression produced by the operation had.
+     */
+    public int getMaxTerms(Operation operation) {
+        return maxTermsOut[operation.ordinal()];
+    }
+
+    /**
+     * @return The largest expression produced by any operation, or {@code null}.
+     */
+    public Expression getLargest() {
+        return largest;
+    }
+
+    public void reset() {
+        for (long[] row : allocations) {
+            Arrays.fill(row, 0);
+        }
+        Arrays.fill(calls, 0);
+        Arrays.fill(termsOut, 0);
+        Arrays.fill(maxTermsOut, 0);
+        largest = null;
+        largestOperation = null;
+    }
+
+    /**
+     * @return A line per operation with its calls, allocations and result sizes, followed by
+     *         the start of the largest expression.
+     */
+    public String report() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-9s %8s %10s %10s %10s %9s %9s%n",
+                "", "calls", "fractions", "terms", "exprs", "avg size", "max size"));
+
+        for (Operation operation : Operation.values()) {
+            int i = operation.ordinal();
+            sb.append(String.format("%-9s %8d %10d %10d %10d %9.1f %9d%n",
+                    operation,
+                    calls[i],
+                    allocations[i][Allocation.FRACTION.ordinal()],
+                    allocations[i][Allocation.TERM.ordinal()],
+                    allocations[i][Allocation.EXPRESSION.ordinal()],
+                    calls[i] == 0 ? 0.0 : (double) termsOut[i] / calls[i],
+                    maxTermsOut[i]));
+        }
+
+        if (largest != null) {
+            List<Term> terms = largest.getTerms();
+            String text = terms.size() <= LARGEST_SHOWN
+                    ? largest.toString()
+                    : new Expression(terms.subList(0, LARGEST_SHOWN)) + " + ...";
+            sb.append("largest: ").append(terms.size()).append(" terms from ")
+                    .append(largestOperation).append(": ").append(text).append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return report();
+    }
+}
@@ -0,0 +1,186 @@
+package xyz.avarel.aljava;
+
+/**
+ * A quotient of two polynomial {@link Expression}s.
+ * <p>
+ * Arithmetic does not cancel common factors, so chained operations never pay for a GCD.
+ * The fraction is brought to lowest terms with {@link Expression#gcd(Expression)} only
+ * when it is compared or printed, and the reduced form is remembered afterwards.
+ */
+public class RationalExpression implements TexElement {
+    private final Expression numerator;
+    private final Expression denominator;
+
+    private RationalExpression reduced;
+
+    public RationalExpression(Expression numerator) {
+        this(numerator, new Expression(1));
+    }
+
+    public RationalExpression(Expression numerator, Expression denominator) {
+        if (denominator.getTerms().isEmpty()) {
+            throw new ArithmeticException("Division by zero");
+        }
+
+        this.numerator = numerator;
+        this.denominator = denominator;
+    }
+
+    public Expression getNumerator() {
+        return numerator;
+    }
+
+    public Expression getDenominator() {
+        return denominator;
+    }
+
+    public RationalExpression plus(Expression other) {
+        return new RationalExpression(numerator.plus(other.times(denominator)), denominator);
+    }
+
+    public RationalExpression plus(RationalExpression other) {
+        if (denominator == other.denominator) {
+            return new RationalExpression(numerator.plus(other.numerator), denominator);
+        }
+
+        return new RationalExpression(
+                numerator.times(other.denominator).plus(other.numerator.times(denominator)),
+                denominator.times(other.denominator));
+    }
+
+    public RationalExpression minus(Expression other) {
+        return plus(other.times(-1));
+    }
+
+    public RationalExpression minus(RationalExpression other) {
+        return plus(other.negate());
+    }
+
+    public RationalExpression negate() {
+        return new RationalExpression(numerator.times(-1), denominator);
+    }
+
+    public RationalExpression times(Expression other) {
+        return new RationalExpression(numerator.times(other), denominator);
+    }
+
+    public RationalExpression times(RationalExpression other) {
+        return new RationalExpression(numerator.times(other.numerator), denominator.times(other.denominator));
+    }
+
+    public RationalExpression div(Expression other) {
+        return new RationalExpression(numerator, denominator.times(other));
+    }
+
+    public RationalExpression div(RationalExpression other) {
+        return new RationalExpression(numerator.times(other.denominator), denominator.times(other.numerator));
+    }
+
+    public RationalExpression reciprocal() {
+        return new RationalExpression(denominator, numerator);
+    }
+
+    public RationalExpression pow(int n) {
+        if (n < 0) {
+            return reciprocal().pow(-n);
+        } else if (n == 0) {
+            return new RationalExpression(new Expression(1));
+        }
+        return new RationalExpression(numerator.pow(n), denominator.pow(n));
+    }
+
+    /**
+     * @return This fraction in lowest terms, with a positive leading coefficient in the denominator.
+     */
+    public RationalExpression reduce() {
+        if (reduced != null) {
+            return reduced;
+        }
+
+        Expression num = numerator.simplify();
+        Expression den = denominator.simplify();
+
+        if (den.getTerms().isEmpty()) {
+            throw new ArithmeticException("Division by zero");
+        } else if (num.getTerms().isEmpty()) {
+            reduced = new RationalExpression(num, new Expression(1));
+        } else {
+            Expression gcd = num.gcd(den);
+            num = num.divideAndRemainder(gcd)[0];
+            den = den.divideAndRemainder(gcd)[0];
+
+            if (den.getTerms().get(0).coefficient().toDouble() < 0) {
+                num = num.times(-1);
+                den = den.times(-1);
+            }
+
+            reduced = new RationalExpression(num, den);
+        }
+
+        reduced.reduced = reduced;
+        return reduced;
+    }
+
+    /**
+     * @return If the denominator divides the numerator.
+     */
+    public boolean isPolynomial() {
+        return !reduce().denominator.hasVariables();
+    }
+
+    /**
+     * @throws ArithmeticException If the denominator does not divide the numerator.
+     */
+    public Expression toExpression() {
+        RationalExpression reduced = reduce();
+        if (reduced.denominator.hasVariables()) {
+            throw new ArithmeticException("(" + this + ") is not a polynomial.");
+        }
+        return reduced.numerator.div(reduced.denominator.constant().coefficient());
+    }
+
+    @Override
+    public String toString() {
+        RationalExpression reduced = reduce();
+
+        String num = reduced.numerator.toString();
+        String den = reduced.denominator.toString();
+
+        if (den.equals("1")) {
+            return num;
+        }
+
+        if (reduced.numerator.getTerms().size() > 1) {
+            num = "(" + num + ")";
+        }
+        if (reduced.denominator.getTerms().size() > 1) {
+            den = "(" + den + ")";
+        }
+        return num + "/" + den;
+    }
+
+    @Override
+    public String toTex() {
+        RationalExpression reduced = reduce();
+
+        if (reduced.denominator.toString().equals("1")) {
+            return reduced.numerator.toTex();
+        }
+        return "\\frac{" + reduced.numerator.toTex() + "}{" + reduced.denominator.toTex() + "}";
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof RationalExpression) {
+            RationalExpression me = this.reduce();
+            RationalExpression other = ((RationalExpression) obj).reduce();
+            return me.numerator.equals(other.numerator) && me.denominator.equals(other.denominator);
+        }
+        return this == obj;
+    }
+
+    @Override
+    public int hashCode() {
+        return toString().hashCode();
+    }
+}
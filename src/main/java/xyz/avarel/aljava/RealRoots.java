@@ -0,0 +1,163 @@
+package xyz.avarel.aljava;
+
+import xyz.avarel.aljava.exceptions.ComputeException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Numeric roots of polynomials in one variable.
+ */
+public final class RealRoots {
+    private static final int MAX_ITERATIONS = 100;
+    private static final double TOLERANCE = 1e-15;
+
+    private RealRoots() {}
+
+    /**
+     * @return The real roots of a square-free polynomial in one variable, in ascending order.
+     * @see #of(double[])
+     */
+    static List<Double> of(Expression polynomial, String variable) {
+        double[] coefficients = new double[polynomial.maxDegreeOfVariable(variable) + 1];
+        for (Term term : polynomial.getTerms()) {
+            coefficients[term.maxDegreeOfVariable(variable)] += term.coefficient().toDouble();
+        }
+        return of(coefficients);
+    }
+
+    /**
+     * Isolates the roots between consecutive roots of the derivative, where the polynomial is
+     * monotone, and refines each bracket with Newton's method, bisecting whenever a step
+     * leaves the bracket.
+     *
+     * @param coefficients The coefficients by ascending degree.
+     * @return The real roots of a square-free polynomial, in ascending order.
+     */
+    public static List<Double> of(double[] coefficients) {
+        int degree = coefficients.length - 1;
+        while (degree > 0 && coefficients[degree] == 0) {
+            degree--;
+        }
+
+        List<Double> roots = new ArrayList<>();
+        if (degree <= 0) {
+            return roots;
+        }
+
+        double[] f = Arrays.copyOf(coefficients, degree + 1);
+        double leading = f[degree];
+
+        // Cauchy's bound: every root is smaller than 1 + max |a_i / a_n| in absolute value
+        double bound = 0;
+        for (int i = 0; i < degree; i++) {
+            bound = Math.max(bound, Math.abs(f[i] / leading));
+        }
+        bound += 1;
+
+        double[] df = new double[degree];
+        for (int i = 1; i <= degree; i++) {
+            df[i - 1] = i * f[i];
+        }
+
+        List<Double> points = new ArrayList<>();
+        points.add(-bound);
+        points.addAll(of(df));
+        points.add(bound);
+
+        for (int i = 0; i + 1 < points.size(); i++) {
+            double a = points.get(i);
+            double b = points.get(i + 1);
+            double fa = evaluate(f, a);
+            double fb = evaluate(f, b);
+
+            if (fa == 0) {
+                if (roots.isEmpty() || roots.get(roots.size() - 1) != a) roots.add(a);
+            } else if (fb != 0 && Math.signum(fa) != Math.signum(fb)) {
+                roots.add(bracketed(f, df, a, b));
+            }
+        }
+
+        double last = points.get(points.size() - 1);
+        if (evaluate(f, last) == 0) {
+            roots.add(last);
+        }
+        return roots;
+    }
+
+    private static double bracketed(double[] f, double[] df, double a, double b) {
+        double fa = evaluate(f, a);
+        double x = (a + b) / 2;
+
+        for (int i = 0; i < MAX_ITERATIONS; i++) {
+            double fx = evaluate(f, x);
+            if (fx == 0) {
+                return x;
+            }
+
+            if (Math.signum(fx) == Math.signum(fa)) {
+                a = x;
+                fa = fx;
+            } else {
+                b = x;
+            }
+
+            double next = x - fx / evaluate(df, x);
+            if (!(next > a && next < b)) {
+                next = (a + b) / 2;
+            }
+
+            if (Math.abs(next - x) <= TOLERANCE * Math.max(1, Math.abs(x))) {
+                return next;
+            }
+            x = next;
+        }
+        return x;
+    }
+
+    /**
+     * Horner's rule over coefficients by ascending degree.
+     */
+    private static double evaluate(double[] coefficients, double x) {
+        double result = 0;
+        for (int i = coefficients.length - 1; i >= 0; i--) {
+            result = result * x + coefficients[i];
+        }
+        return result;
+    }
+
+    /**
+     * Unbracketed Newton or Halley iteration from a starting point.
+     *
+     * @throws ComputeException If the derivative vanishes or the iteration does not converge.
+     */
+    static double iterate(CompiledExpression f, CompiledExpression df, CompiledExpression d2f,
+                          double x, Equation.Method method) {
+        for (int i = 0; i < MAX_ITERATIONS; i++) {
+            double fx = f.evaluate(x);
+            if (fx == 0) {
+                return x;
+            }
+
+            double dfx = df.evaluate(x);
+            double step;
+            if (method == Equation.Method.HALLEY) {
+                double d2fx = d2f.evaluate(x);
+                step = 2 * fx * dfx / (2 * dfx * dfx - fx * d2fx);
+            } else {
+                step = fx / dfx;
+            }
+
+            if (dfx == 0 || Double.isNaN(step) || Double.isInfinite(step)) {
+                throw new ComputeException("Derivative vanished at " + x);
+            }
+
+            x -= step;
+            if (Math.abs(step) <= TOLERANCE * Math.max(1, Math.abs(x))) {
+                return x;
+            }
+        }
+        throw new ComputeException(method + " iteration did not converge after " + MAX_ITERATIONS + " iterations");
+    }
+}
@@ -0,0 +1,401 @@
+package xyz.avarel.aljava;
+
+/**
+ * A single answer produced by {@link Equation#solveFor(String)}.
+ * <p>
+ * Every solution reports its {@link Kind}, so callers can switch on it instead of
+ * inspecting the concrete class. Values are stored unboxed and the accessors
+ * do not allocate, except where they have to build an {@link Expression} or {@link Fraction}.
+ */
+public abstract class Solution implements TexElement {
+    public enum Kind {
+        /**
+         * An exact rational number.
+         */
+        RATIONAL,
+        /**
+         * An exact number of the form {@code a + b√d}, with {@code a} and {@code b} rational.
+         */
+        RADICAL,
+        /**
+         * A floating point approximation.
+         */
+        NUMERIC,
+        /**
+         * An expression in terms of the other variables of the equation.
+         */
+        SYMBOLIC,
+        /**
+         * The equation holds for every value of the variable.
+         */
+        ALL_REALS,
+        /**
+         * The equation holds for no real value of the variable.
+         */
+        NONE
+    }
+
+    private static final Solution ALL_REALS = new Unbounded(Kind.ALL_REALS);
+    private static final Solution NONE = new Unbounded(Kind.NONE);
+
+    Solution() {}
+
+    public static Solution rational(Fraction value) {
+        return new Rational(value.getNumerator(), value.getDenominator());
+    }
+
+    public static Solution radical(Fraction rational, Fraction coefficient, int radicand) {
+        if (coefficient.getNumerator() == 0 || radicand == 0) {
+            return rational(rational);
+        } else if (radicand == 1) {
+            return rational(rational.plus(coefficient));
+        } else if (radicand < 0) {
+            throw new ArithmeticException("Radicand must not be negative: " + radicand);
+        }
+        return new Radical(rational.reduce(), coefficient.reduce(), radicand);
+    }
+
+    public static Solution numeric(double value) {
+        return new Numeric(value);
+    }
+
+    public static Solution symbolic(Expression value) {
+        return new Symbolic(value);
+    }
+
+    public static Solution allReals() {
+        return ALL_REALS;
+    }
+
+    public static Solution none() {
+        return NONE;
+    }
+
+    public abstract Kind getKind();
+
+    /**
+     * @return If this solution is a single real number, either exact or approximate.
+     */
+    public boolean isValue() {
+        return false;
+    }
+
+    /**
+     * @return If this solution is a single real number that is known exactly.
+     */
+    public boolean isExact() {
+        return false;
+    }
+
+    /**
+     * @return The value of this solution, approximated if it is not rational.
+     * @throws ArithmeticException If this solution is not a single real number.
+     */
+    public double toDouble() {
+        throw new ArithmeticException(getKind() + " solution has no numeric value");
+    }
+
+    /**
+     * @throws ArithmeticException If this solution is not rational.
+     */
+    public Fraction toFraction() {
+        throw new ArithmeticException(getKind() + " solution is not rational");
+    }
+
+    /**
+     * @throws ArithmeticException If this solution can not be written as a polynomial expression.
+     */
+    public Expression toExpression() {
+        throw new ArithmeticException(getKind() + " solution can not be written as an expression");
+    }
+
+    public static final class Rational extends Solution {
+        private final int numerator;
+        private final int denominator;
+
+        private Rational(int numerator, int denominator) {
+            int gcd = gcd(Math.abs(numerator), denominator);
+            this.numerator = numerator / gcd;
+            this.denominator = denominator / gcd;
+        }
+
+        @Override
+        public Kind getKind() {
+            return Kind.RATIONAL;
+        }
+
+        @Override
+        public boolean isValue() {
+            return true;
+        }
+
+        @Override
+        public boolean isExact() {
+            return true;
+        }
+
+        public int getNumerator() {
+            return numerator;
+        }
+
+        public int getDenominator() {
+            return denominator;
+        }
+
+        @Override
+        public double toDouble() {
+            return (double) numerator / denominator;
+        }
+
+        @Override
+        public Fraction toFraction() {
+            return Fraction.valueOf(numerator, denominator);
+        }
+
+        @Override
+        public Expression toExpression() {
+            return new Expression(toFraction());
+        }
+
+        @Override
+        public String toString() {
+            return denominator == 1 ? String.valueOf(numerator) : numerator + "/" + denominator;
+        }
+
+        @Override
+        public String toTex() {
+            return toFraction().toTex();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof Rational) {
+                Rational other = (Rational) obj;
+                return numerator == other.numerator && denominator == other.denominator;
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * numerator + denominator;
+        }
+    }
+
+    /**
+     * The exact value {@code rational + coefficient * √radicand}, where the radicand is square-free.
+     */
+    public static final class Radical extends Solution {
+        private final Fraction rational;
+        private final Fraction coefficient;
+        private final int radicand;
+
+        private Radical(Fraction rational, Fraction coefficient, int radicand) {
+            this.rational = rational;
+            this.coefficient = coefficient;
+            this.radicand = radicand;
+        }
+
+        @Override
+        public Kind getKind() {
+            return Kind.RADICAL;
+        }
+
+        @Override
+        public boolean isValue() {
+            return true;
+        }
+
+        @Override
+        public boolean isExact() {
+            return true;
+        }
+
+        public Fraction getRational() {
+            return rational;
+        }
+
+        public Fraction getCoefficient() {
+            return coefficient;
+        }
+
+        public int getRadicand() {
+            return radicand;
+        }
+
+        @Override
+        public double toDouble() {
+            return rational.toDouble() + coefficient.toDouble() * Math.sqrt(radicand);
+        }
+
+        @Override
+        public String toString() {
+            return render("√", "");
+        }
+
+        @Override
+        public String toTex() {
+            return render("\\sqrt{", "}");
+        }
+
+        /**
+         * Writes the value over a common denominator as {@code (p + q√d)/r}.
+         */
+        private String render(String sqrtOpen, String sqrtClose) {
+            int r = lcm(rational.getDenominator(), coefficient.getDenominator());
+            int p = rational.getNumerator() * (r / rational.getDenominator());
+            int q = coefficient.getNumerator() * (r / coefficient.getDenominator());
+
+            StringBuilder sb = new StringBuilder();
+            if (p != 0) {
+                sb.append(p).append(q < 0 ? " - " : " + ");
+            } else if (q < 0) {
+                sb.append('-');
+            }
+            if (Math.abs(q) != 1) {
+                sb.append(Math.abs(q));
+            }
+            sb.append(sqrtOpen).append(radicand).append(sqrtClose);
+
+            if (r == 1) {
+                return sb.toString();
+            } else if (sqrtClose.isEmpty()) {
+                return p != 0 ? "(" + sb + ")/" + r : sb + "/" + r;
+            }
+            return "\\frac{" + sb + "}{" + r + "}";
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof Radical) {
+                Radical other = (Radical) obj;
+                return radicand == other.radicand
+                        && rational.equals(other.rational)
+                        && coefficient.equals(other.coefficient);
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * rational.hashCode() + coefficient.hashCode()) + radicand;
+        }
+    }
+
+    public static final class Numeric extends Solution {
+        private final double value;
+
+        private Numeric(double value) {
+            this.value = value;
+        }
+
+        @Override
+        public Kind getKind() {
+            return Kind.NUMERIC;
+        }
+
+        @Override
+        public boolean isValue() {
+            return true;
+        }
+
+        @Override
+        public double toDouble() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return String.valueOf(value);
+        }
+
+        @Override
+        public String toTex() {
+            return String.valueOf(value);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Numeric && Double.compare(value, ((Numeric) obj).value) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Double.hashCode(value);
+        }
+    }
+
+    public static final class Symbolic extends Solution {
+        private final Expression value;
+
+        private Symbolic(Expression value) {
+            this.value = value;
+        }
+
+        @Override
+        public Kind getKind() {
+            return Kind.SYMBOLIC;
+        }
+
+        @Override
+        public Expression toExpression() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return value.toString();
+        }
+
+        @Override
+        public String toTex() {
+            return value.toTex();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Symbolic && value.equals(((Symbolic) obj).value);
+        }
+
+        @Override
+        public int hashCode() {
+            return value.simplify().toString().hashCode();
+        }
+    }
+
+    private static final class Unbounded extends Solution {
+        private final Kind kind;
+
+        private Unbounded(Kind kind) {
+            this.kind = kind;
+        }
+
+        @Override
+        public Kind getKind() {
+            return kind;
+        }
+
+        @Override
+        public String toString() {
+            return kind == Kind.ALL_REALS ? "All real numbers" : "No solution";
+        }
+
+        @Override
+        public String toTex() {
+            return kind == Kind.ALL_REALS ? "\\mathbb{R}" : "\\emptyset";
+        }
+    }
+
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            int c = b;
+            b = a % b;
+            a = c;
+        }
+        return a == 0 ? 1 : a;
+    }
+
+    private static int lcm(int a, int b) {
+        return a / gcd(a, b) * b;
+    }
+}
@@ -1,34 +1,65 @@
 package xyz.avarel.aljava;
 
+import java.io.IOException;
 import java.util.*;
 
 public class Term implements TexElement {
-    private final List<Fraction> coefficients;
+    /**
+     * The product of all coefficients the term was given, in lowest terms.
+     */
+    private final Fraction coefficient;
+
+    /**
+     * The coefficients as they were given, if they are to be displayed other than as
+     * {@link #coefficient}, or null.
+     */
+    private final List<Fraction> factors;
+
     private final List<Variable> variables;
 
     public Term() {
-        this(new Fraction(0));
+        this(Fraction.ZERO);
     }
 
     public Term(Fraction constant) {
-        this(Collections.singletonList(constant), Collections.emptyList());
+        this(constant, Collections.emptyList());
     }
 
     public Term(Variable variable) {
-        this(Collections.singletonList(new Fraction(1)), Collections.singletonList(variable));
+        this(Fraction.ONE, Collections.singletonList(variable));
     }
 
     public Term(Fraction coefficient, Variable variable) {
-        this(Collections.singletonList(coefficient), Collections.singletonList(variable));
+        this(coefficient, Collections.singletonList(variable));
     }
 
+    public Term(Fraction coefficient, List<Variable> variables) {
+        this.coefficient = coefficient.reduce();
+        this.factors = coefficient.equals(this.coefficient) ? null : Collections.singletonList(coefficient);
+        this.variables = variables;
+        Profiler.allocated(Profiler.Allocation.TERM);
+    }
+
+    /**
+     * Folds the coefficients into one, keeping them as they are only for display.
+     */
     public Term(List<Fraction> coefficients, List<Variable> variables) {
-        this.coefficients = coefficients;
+        long product = PackedFraction.ONE;
+        for (Fraction f : coefficients) {
+            product = PackedFraction.times(product, f.pack());
+        }
+
+        this.coefficient = Fraction.unpack(product);
+        this.factors = coefficients.size() == 1 && coefficients.get(0).equals(coefficient) ? null : coefficients;
         this.variables = variables;
+        Profiler.allocated(Profiler.Allocation.TERM);
     }
 
+    /**
+     * @return The coefficients as they are displayed, whose product is {@link #coefficient()}.
+     */
     public List<Fraction> getCoefficients() {
-        return coefficients;
+        return factors != null ? factors : Collections.singletonList(coefficient);
     }
 
     public List<Variable> getVariables() {
@@ -36,16 +67,15 @@ public class Term implements TexElement {
     }
 
     public Term simplify() {
-        List<Fraction> coefficient = Collections.singletonList(coefficient());
         return new Term(coefficient, variables).combineVariables();
     }
 
     public Fraction coefficient() {
-        Fraction coefficient = new Fraction(1);
-        for (Fraction f : coefficients) {
-            coefficient = coefficient.times(f, false);
-        }
-        return coefficient.reduce();
+        return coefficient;
+    }
+
+    long packedCoefficient() {
+        return coefficient.pack();
     }
 
     private Term combineVariables() {
@@ -67,12 +97,13 @@ public class Term implements TexElement {
             }
         }
 
-        return new Term(coefficients, newVars);
+        return new Term(coefficient, newVars);
     }
 
     public Term plus(Term other) {
         if (this.canBeCombinedWith(other)) {
-            return new Term(Collections.singletonList(this.coefficient().plus(other.coefficient())), this.variables);
+            long sum = PackedFraction.plus(this.packedCoefficient(), other.packedCoefficient());
+            return new Term(Collections.singletonList(Fraction.unpack(sum)), this.variables);
         } else {
             throw new ArithmeticException(this.toString() + " can not be combined with " + other.toString());
         }
@@ -80,7 +111,8 @@ public class Term implements TexElement {
 
     public Term minus(Term other) {
         if (this.canBeCombinedWith(other)) {
-            return new Term(Collections.singletonList(this.coefficient().minus(other.coefficient())), this.variables);
+            long difference = PackedFraction.minus(this.packedCoefficient(), other.packedCoefficient());
+            return new Term(Collections.singletonList(Fraction.unpack(difference)), this.variables);
         } else {
             throw new ArithmeticException(this.toString() + " can not be combined with " + other.toString());
         }
@@ -91,13 +123,10 @@ public class Term implements TexElement {
     }
 
     public Term times(Term other, boolean simplify) {
-        List<Fraction> newCoefficients = new ArrayList<>(this.coefficients);
-        newCoefficients.addAll(other.coefficients);
-
         List<Variable> newVariables = new ArrayList<>(this.variables);
         newVariables.addAll(other.variables);
 
-        Term result =  new Term(newCoefficients, newVariables).simplify();
+        Term result = new Term(this.coefficient.times(other.coefficient), newVariables).simplify();
         return simplify ? result.simplify() : result;
     }
 
@@ -106,10 +135,7 @@ public class Term implements TexElement {
     }
 
     public Term times(Fraction other, boolean simplify) {
-        List<Fraction> newCoefficients = new ArrayList<>(this.coefficients);
-        newCoefficients.add(other);
-
-        Term result = new Term(newCoefficients, this.variables);
+        Term result = new Term(coefficient.times(other), this.variables);
         return simplify ? result.simplify() : result;
     }
 
@@ -118,13 +144,37 @@ public class Term implements TexElement {
     }
 
     public Term div(Fraction other, boolean simplify) {
-        List<Fraction> newCoefficients = new ArrayList<>();
-        for (Fraction coefficient : coefficients) {
-            newCoefficients.add(coefficient.div(other));
+        Term result = new Term(coefficient.div(other), this.variables).simplify();
+        return simplify ? result.simplify() : result;
+    }
+
+    /**
+     * Power rule on the variables named {@code name}; the other variables are left as they are.
+     *
+     * @return The partial derivative, with a zero coefficient if the variable does not appear.
+     */
+    public Term derivative(String name) {
+        int degree = 0;
+        List<Variable> newVariables = new ArrayList<>(variables.size());
+        int position = -1;
+
+        for (Variable variable : variables) {
+            if (variable.getName().equals(name)) {
+                if (position == -1) position = newVariables.size();
+                degree += variable.getDegree();
+            } else {
+                newVariables.add(variable);
+            }
         }
 
-        Term result = new Term(newCoefficients, this.variables).simplify();
-        return simplify ? result.simplify() : result;
+        if (degree == 0) {
+            return new Term(Fraction.ZERO);
+        }
+
+        if (degree != 1) {
+            newVariables.add(position, new Variable(name, degree - 1));
+        }
+        return new Term(Collections.singletonList(coefficient().times(degree)), newVariables);
     }
 
     public int maxDegree() {
@@ -192,48 +242,58 @@ public class Term implements TexElement {
 
     @Override
     public String toString() {
-        StringBuilder sb = new StringBuilder();
+        return Appendables.toString(this::appendTo);
+    }
+
+    @Override
+    public String toTex() {
+        return Appendables.toString(this::appendTex);
+    }
+
+    public <A extends Appendable> A appendTo(A out) throws IOException {
+        append(out, false, false);
+        return out;
+    }
 
-        for (int i = 0; i < coefficients.size(); i++) {
+    @Override
+    public <A extends Appendable> A appendTex(A out) throws IOException {
+        append(out, true, false);
+        return out;
+    }
+
+    /**
+     * @param abs Whether to leave out the sign of the first coefficient, which
+     *            {@link Expression} writes as the operator before the term.
+     */
+    void append(Appendable out, boolean tex, boolean abs) throws IOException {
+        List<Fraction> coefficients = getCoefficients();
+        int last = coefficients.size() - 1;
+        int maxDegree = -1;
+
+        for (int i = 0; i <= last; i++) {
             Fraction f = coefficients.get(i);
+            int numerator = abs && i == 0 ? Math.abs(f.getNumerator()) : f.getNumerator();
 
-            if (variables.isEmpty() || f.abs().toDouble() != 1) {
-                sb.append(f);
+            if (variables.isEmpty() || Math.abs((long) numerator) != f.getDenominator()) {
+                Fraction.append(out, numerator, f.getDenominator(), tex);
 
-                if ((i != coefficients.size() - 1 && maxDegree() == 1) || f.getDenominator() != 1) {
-                    if (i != coefficients.size() - 1 || !variables.isEmpty()) {
-                        sb.append(" * ");
+                if (!tex && (i != last || !variables.isEmpty())) {
+                    if (i != last && maxDegree == -1) maxDegree = maxDegree();
+                    if ((i != last && maxDegree == 1) || f.getDenominator() != 1) {
+                        out.append(" * ");
                     }
                 }
             }
         }
 
         for (int i = 0; i < variables.size(); i++) {
-            sb.append(variables.get(i));
-
-            if (i != variables.size() - 1) {
-                sb.append("*");
-            }
-        }
-
-        return sb.toString();
-    }
-
-    @Override
-    public String toTex() {
-        StringBuilder sb = new StringBuilder();
-
-        for (Fraction f : coefficients) {
-            if (variables.isEmpty() || f.abs().toDouble() != 1) {
-                sb.append(f.toTex());
+            if (tex) {
+                variables.get(i).appendTex(out);
+            } else {
+                if (i != 0) out.append('*');
+                variables.get(i).appendTo(out);
             }
         }
-
-        for (Variable variable : variables) {
-            sb.append(variable.toTex());
-        }
-
-        return sb.toString();
     }
 
     @Override
@@ -241,7 +301,7 @@ public class Term implements TexElement {
         if (obj instanceof Term) {
             Term me = this;
             Term other = ((Term) obj);
-            return me.coefficients.equals(other.coefficients) && me.variables.equals(other.variables);
+            return me.coefficient.equals(other.coefficient) && me.variables.equals(other.variables);
         }
         return this == obj;
     }
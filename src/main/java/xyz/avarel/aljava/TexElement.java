@@ -1,5 +1,17 @@
 package xyz.avarel.aljava;
 
+import java.io.IOException;
+
 public interface TexElement {
     String toTex();
+
+    /**
+     * Writes {@link #toTex()} into a buffer or writer.
+     *
+     * @return {@code out}
+     */
+    default <A extends Appendable> A appendTex(A out) throws IOException {
+        out.append(toTex());
+        return out;
+    }
 }
@@ -1,5 +1,6 @@
 package xyz.avarel.aljava;
 
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
@@ -68,31 +69,39 @@ public class Variable implements TexElement {
 
     @Override
     public String toString() {
-        switch (degree) {
-            case 0:
-                return "";
-            case 1:
-                return name;
-            default:
-                return name + "^" + degree;
-        }
+        return Appendables.toString(this::appendTo);
     }
 
     @Override
     public String toTex() {
-        String name = this.name;
-        if (GREEK_LETTERS.contains(name)) {
-            name = "\\" + name;
+        return Appendables.toString(this::appendTex);
+    }
+
+    public <A extends Appendable> A appendTo(A out) throws IOException {
+        if (degree != 0) {
+            out.append(name);
+            if (degree != 1) {
+                out.append('^');
+                Appendables.appendInt(out, degree);
+            }
         }
+        return out;
+    }
 
-        switch (degree) {
-            case 0:
-                return "";
-            case 1:
-                return name;
-            default:
-                return name + "^{" + degree + "}";
+    @Override
+    public <A extends Appendable> A appendTex(A out) throws IOException {
+        if (degree != 0) {
+            if (GREEK_LETTERS.contains(name)) {
+                out.append('\\');
+            }
+            out.append(name);
+            if (degree != 1) {
+                out.append("^{");
+                Appendables.appendInt(out, degree);
+                out.append('}');
+            }
         }
+        return out;
     }
 
     @Override
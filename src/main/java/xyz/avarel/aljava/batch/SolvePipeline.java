@@ -0,0 +1,220 @@
+package xyz.avarel.aljava.batch;
+
+import xyz.avarel.aljava.Equation;
+import xyz.avarel.aljava.Expression;
+import xyz.avarel.aljava.Solution;
+import xyz.avarel.aljava.parser.BatchParser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * Parses and solves line-delimited input on a pool of workers.
+ * <p>
+ * The calling thread reads the input and hands it out in chunks of lines. Each worker
+ * parses the lines of its chunk, simplifies expressions and solves equations for the
+ * variable. Results are passed on in input order by the calling thread, and at most a fixed
+ * number of chunks are in flight, so reading waits for slow workers instead of buffering
+ * the whole input.
+ */
+public final class SolvePipeline {
+    public static final int DEFAULT_CHUNK_SIZE = 256;
+
+    private final ExecutorService executor;
+    private final String variable;
+    private final int chunkSize;
+    private final int maxInFlight;
+
+    /**
+     * Runs on the common fork join pool.
+     */
+    public SolvePipeline(String variable) {
+        this(ForkJoinPool.commonPool(), variable, DEFAULT_CHUNK_SIZE, 4 * ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /**
+     * @param chunkSize   The number of lines a worker handles at a time.
+     * @param maxInFlight The number of chunks that can be queued or in progress before reading waits.
+     */
+    public SolvePipeline(ExecutorService executor, String variable, int chunkSize, int maxInFlight) {
+        if (chunkSize < 1 || maxInFlight < 1) {
+            throw new IllegalArgumentException("Chunk size and chunks in flight must be positive");
+        }
+        this.executor = executor;
+        this.variable = variable;
+        this.chunkSize = chunkSize;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Processes every line of the input. Blank lines are skipped, and lines that fail are
+     * passed on as errors.
+     *
+     * @param sink Receives the results in input order, on the calling thread.
+     * @return The number of results.
+     */
+    public long run(Reader input, Consumer<Result> sink) throws IOException, InterruptedException {
+        BufferedReader reader = input instanceof BufferedReader ? (BufferedReader) input : new BufferedReader(input);
+        Deque<Future<List<Result>>> inFlight = new ArrayDeque<>(maxInFlight);
+
+        try {
+            long count = 0;
+            long lineNumber = 1;
+            List<String> chunk = new ArrayList<>(chunkSize);
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                chunk.add(line);
+                if (chunk.size() < chunkSize) {
+                    continue;
+                }
+
+                inFlight.add(submit(lineNumber, chunk));
+                lineNumber += chunk.size();
+                chunk = new ArrayList<>(chunkSize);
+
+                // Hand over what is finished, then wait while too much is in flight
+                while (!inFlight.isEmpty() && (inFlight.size() >= maxInFlight || inFlight.peek().isDone())) {
+                    count += drain(inFlight.poll(), sink);
+                }
+            }
+
+            if (!chunk.isEmpty()) {
+                inFlight.add(submit(lineNumber, chunk));
+            }
+            while (!inFlight.isEmpty()) {
+                count += drain(inFlight.poll(), sink);
+            }
+            return count;
+        } finally {
+            for (Future<List<Result>> future : inFlight) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private Future<List<Result>> submit(long lineNumber, List<String> lines) {
+        return executor.submit(() -> {
+            List<Result> results = new ArrayList<>(lines.size());
+            for (int i = 0; i < lines.size(); i++) {
+                Result result = process(lineNumber + i, lines.get(i));
+                if (result != null) {
+                    results.add(result);
+                }
+            }
+            return results;
+        });
+    }
+
+    private static long drain(Future<List<Result>> future, Consumer<Result> sink) throws InterruptedException {
+        List<Result> results;
+        try {
+            results = future.get();
+        } catch (ExecutionException e) {
+            // Workers catch failures per line, so this is a bug or an Error
+            Throwable cause = e.getCause();
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IllegalStateException("Worker failed", cause);
+        }
+
+        for (Result result : results) {
+            sink.accept(result);
+        }
+        return results.size();
+    }
+
+    /**
+     * @return The result of the line, or {@code null} if it is blank.
+     */
+    private Result process(long lineNumber, String input) {
+        BatchParser parser = new BatchParser(input);
+        if (!parser.hasNext()) {
+            return null;
+        }
+
+        BatchParser.Line line = parser.next();
+        if (line.isError()) {
+            return new Result(lineNumber, input, null, null, line.getError());
+        }
+
+        try {
+            if (line.isEquation()) {
+                Equation equation = line.getEquation().simplify();
+                return new Result(lineNumber, input, null, equation.solveFor(variable), null);
+            }
+            return new Result(lineNumber, input, line.getExpression().simplify(), null, null);
+        } catch (RuntimeException e) {
+            return new Result(lineNumber, input, null, null, e);
+        }
+    }
+
+    /**
+     * The outcome of one line: a simplified expression, the solutions of an equation, or an error.
+     */
+    public static final class Result {
+        private final long lineNumber;
+        private final String input;
+        private final Expression expression;
+        private final List<Solution> solutions;
+        private final RuntimeException error;
+
+        private Result(long lineNumber, String input, Expression expression, List<Solution> solutions, RuntimeException error) {
+            this.lineNumber = lineNumber;
+            this.input = input;
+            this.expression = expression;
+            this.solutions = solutions;
+            this.error = error;
+        }
+
+        public long getLineNumber() {
+            return lineNumber;
+        }
+
+        public String getInput() {
+            return input;
+        }
+
+        public boolean isError() {
+            return error != null;
+        }
+
+        /**
+         * @return The simplified expression, or {@code null} if the line is not an expression.
+         */
+        public Expression getExpression() {
+            return expression;
+        }
+
+        /**
+         * @return The solutions, or {@code null} if the line is not an equation.
+         */
+        public List<Solution> getSolutions() {
+            return solutions;
+        }
+
+        /**
+         * @return Why the line could not be parsed or solved, or {@code null}.
+         */
+        public RuntimeException getError() {
+            return error;
+        }
+
+        @Override
+        public String toString() {
+            if (error != null) {
+                return lineNumber + ": error: " + error.getMessage();
+            } else if (solutions != null) {
+                StringJoiner joiner = new StringJoiner(", ");
+                for (Solution solution : solutions) {
+                    joiner.add(solution.toString());
+                }
+                return lineNumber + ": " + joiner;
+            }
+            return lineNumber + ": " + expression;
+        }
+    }
+}
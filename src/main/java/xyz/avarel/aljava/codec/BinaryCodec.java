@@ -0,0 +1,382 @@
+package xyz.avarel.aljava.codec;
+
+import xyz.avarel.aljava.*;
+import xyz.avarel.aljava.exceptions.CodecException;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Versioned binary encoding of {@link Expression}s, {@link Equation}s and lists of {@link Solution}s.
+ * <p>
+ * A message starts with the magic bytes {@code AJ}, the format version and the kind of value,
+ * followed by a table of the variable names, each stored once, and then the value itself.
+ * Integers are varints, zigzag encoded where they can be negative, and variables refer to
+ * the table by index. Terms are stored with their folded coefficient.
+ * <p>
+ * Decoding reads from the position of a {@link ByteBuffer} and leaves it after the message,
+ * so messages can be read back to back.
+ */
+public final class BinaryCodec {
+    public static final int VERSION = 1;
+
+    private static final byte MAGIC_0 = 'A';
+    private static final byte MAGIC_1 = 'J';
+
+    private static final byte EXPRESSION = 1;
+    private static final byte EQUATION = 2;
+    private static final byte SOLUTIONS = 3;
+
+    private BinaryCodec() {}
+
+    public static byte[] encode(Expression expression) {
+        Symbols symbols = new Symbols();
+        symbols.add(expression);
+
+        Output out = header(EXPRESSION, symbols);
+        writeExpression(out, expression, symbols);
+        return out.toByteArray();
+    }
+
+    public static byte[] encode(Equation equation) {
+        Symbols symbols = new Symbols();
+        symbols.add(equation.getLhs());
+        symbols.add(equation.getRhs());
+
+        Output out = header(EQUATION, symbols);
+        writeExpression(out, equation.getLhs(), symbols);
+        writeExpression(out, equation.getRhs(), symbols);
+        return out.toByteArray();
+    }
+
+    public static byte[] encode(List<Solution> solutions) {
+        Symbols symbols = new Symbols();
+        for (Solution solution : solutions) {
+            if (solution.getKind() == Solution.Kind.SYMBOLIC) {
+                symbols.add(solution.toExpression());
+            }
+        }
+
+        Output out = header(SOLUTIONS, symbols);
+        out.writeVarint(solutions.size());
+        for (Solution solution : solutions) {
+            writeSolution(out, solution, symbols);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @throws CodecException If the message is malformed or not an expression.
+     */
+    public static Expression decodeExpression(ByteBuffer buffer) {
+        Input in = new Input(buffer);
+        String[] symbols = readHeader(in, EXPRESSION);
+        return readExpression(in, symbols);
+    }
+
+    /**
+     * @throws CodecException If the message is malformed or not an equation.
+     */
+    public static Equation decodeEquation(ByteBuffer buffer) {
+        Input in = new Input(buffer);
+        String[] symbols = readHeader(in, EQUATION);
+        return new Equation(readExpression(in, symbols), readExpression(in, symbols));
+    }
+
+    /**
+     * @throws CodecException If the message is malformed or not a list of solutions.
+     */
+    public static List<Solution> decodeSolutions(ByteBuffer buffer) {
+        Input in = new Input(buffer);
+        String[] symbols = readHeader(in, SOLUTIONS);
+
+        int size = in.readCount();
+        List<Solution> solutions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            solutions.add(readSolution(in, symbols));
+        }
+        return solutions;
+    }
+
+    private static Output header(byte kind, Symbols symbols) {
+        Output out = new Output();
+        out.writeByte(MAGIC_0);
+        out.writeByte(MAGIC_1);
+        out.writeVarint(VERSION);
+        out.writeByte(kind);
+
+        out.writeVarint(symbols.names.size());
+        for (String name : symbols.names) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            out.writeVarint(bytes.length);
+            out.writeBytes(bytes);
+        }
+        return out;
+    }
+
+    private static String[] readHeader(Input in, byte kind) {
+        if (in.readByte() != MAGIC_0 || in.readByte() != MAGIC_1) {
+            throw new CodecException("Not an encoded value");
+        }
+
+        int version = in.readInt();
+        if (version < 1 || version > VERSION) {
+            throw new CodecException("Unsupported version " + version + ", expected at most " + VERSION);
+        }
+
+        byte actual = in.readByte();
+        if (actual != kind) {
+            throw new CodecException("Expected value of kind " + kind + ", got " + actual);
+        }
+
+        String[] symbols = new String[in.readCount()];
+        for (int i = 0; i < symbols.length; i++) {
+            symbols[i] = in.readString();
+        }
+        return symbols;
+    }
+
+    private static void writeExpression(Output out, Expression expression, Symbols symbols) {
+        List<Term> terms = expression.getTerms();
+        out.writeVarint(terms.size());
+
+        for (Term term : terms) {
+            writeFraction(out, term.coefficient());
+
+            List<Variable> variables = term.getVariables();
+            out.writeVarint(variables.size());
+            for (Variable variable : variables) {
+                out.writeVarint(symbols.ids.get(variable.getName()));
+                out.writeSignedVarint(variable.getDegree());
+            }
+        }
+    }
+
+    private static Expression readExpression(Input in, String[] symbols) {
+        int size = in.readCount();
+        List<Term> terms = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            Fraction coefficient = readFraction(in);
+
+            int count = in.readCount();
+            List<Variable> variables = new ArrayList<>(count);
+            for (int j = 0; j < count; j++) {
+                int id = in.readInt();
+                if (id < 0 || id >= symbols.length) {
+                    throw new CodecException("Variable id " + id + " is not in the symbol table");
+                }
+                variables.add(new Variable(symbols[id], in.readSignedInt()));
+            }
+
+            terms.add(new Term(coefficient, variables));
+        }
+        return new Expression(terms);
+    }
+
+    private static void writeSolution(Output out, Solution solution, Symbols symbols) {
+        out.writeByte((byte) solution.getKind().ordinal());
+
+        switch (solution.getKind()) {
+            case RATIONAL:
+                writeFraction(out, solution.toFraction());
+                break;
+            case RADICAL:
+                Solution.Radical radical = (Solution.Radical) solution;
+                writeFraction(out, radical.getRational());
+                writeFraction(out, radical.getCoefficient());
+                out.writeVarint(radical.getRadicand());
+                break;
+            case NUMERIC:
+                out.writeLong(Double.doubleToRawLongBits(solution.toDouble()));
+                break;
+            case SYMBOLIC:
+                writeExpression(out, solution.toExpression(), symbols);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static Solution readSolution(Input in, String[] symbols) {
+        int ordinal = in.readByte();
+        Solution.Kind[] kinds = Solution.Kind.values();
+        if (ordinal < 0 || ordinal >= kinds.length) {
+            throw new CodecException("Unknown solution kind " + ordinal);
+        }
+
+        switch (kinds[ordinal]) {
+            case RATIONAL:
+                return Solution.rational(readFraction(in));
+            case RADICAL:
+                return Solution.radical(readFraction(in), readFraction(in), in.readInt());
+            case NUMERIC:
+                return Solution.numeric(Double.longBitsToDouble(in.readLong()));
+            case SYMBOLIC:
+                return Solution.symbolic(readExpression(in, symbols));
+            case ALL_REALS:
+                return Solution.allReals();
+            default:
+                return Solution.none();
+        }
+    }
+
+    private static void writeFraction(Output out, Fraction fraction) {
+        out.writeSignedVarint(fraction.getNumerator());
+        out.writeVarint(fraction.getDenominator());
+    }
+
+    private static Fraction readFraction(Input in) {
+        int numerator = in.readSignedInt();
+        int denominator = in.readInt();
+        if (denominator <= 0) {
+            throw new CodecException("Denominator " + denominator + " is not positive");
+        }
+        return Fraction.valueOf(numerator, denominator);
+    }
+
+    /**
+     * The variable names in order of first appearance.
+     */
+    private static final class Symbols {
+        private final List<String> names = new ArrayList<>();
+        private final Map<String, Integer> ids = new HashMap<>();
+
+        private void add(Expression expression) {
+            for (Term term : expression.getTerms()) {
+                for (Variable variable : term.getVariables()) {
+                    if (!ids.containsKey(variable.getName())) {
+                        ids.put(variable.getName(), names.size());
+                        names.add(variable.getName());
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class Output {
+        private byte[] bytes = new byte[64];
+        private int size;
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+
+        private void writeByte(byte b) {
+            ensure(1);
+            bytes[size++] = b;
+        }
+
+        private void writeBytes(byte[] b) {
+            ensure(b.length);
+            System.arraycopy(b, 0, bytes, size, b.length);
+            size += b.length;
+        }
+
+        private void writeVarint(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        private void writeSignedVarint(long value) {
+            writeVarint((value << 1) ^ (value >> 63));
+        }
+
+        private void writeLong(long value) {
+            ensure(8);
+            for (int i = 0; i < 8; i++) {
+                bytes[size++] = (byte) (value >>> (8 * i));
+            }
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+    }
+
+    private static final class Input {
+        private final ByteBuffer buffer;
+
+        private Input(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        private byte readByte() {
+            try {
+                return buffer.get();
+            } catch (BufferUnderflowException e) {
+                throw new CodecException("Truncated value", e);
+            }
+        }
+
+        private long readVarint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new CodecException("Varint is longer than 10 bytes");
+        }
+
+        private int readInt() {
+            long value = readVarint();
+            if (value < 0 || value > Integer.MAX_VALUE) {
+                throw new CodecException("Value " + value + " does not fit an int");
+            }
+            return (int) value;
+        }
+
+        private int readSignedInt() {
+            long raw = readVarint();
+            long value = (raw >>> 1) ^ -(raw & 1);
+            if (value != (int) value) {
+                throw new CodecException("Value " + value + " does not fit an int");
+            }
+            return (int) value;
+        }
+
+        /**
+         * A length or number of elements, which can not be more than the bytes left.
+         */
+        private int readCount() {
+            int count = readInt();
+            if (count > buffer.remaining()) {
+                throw new CodecException("Count " + count + " exceeds the " + buffer.remaining() + " bytes left");
+            }
+            return count;
+        }
+
+        private long readLong() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value |= (readByte() & 0xFFL) << (8 * i);
+            }
+            return value;
+        }
+
+        private String readString() {
+            int length = readCount();
+            String result;
+            if (buffer.hasArray()) {
+                result = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+            } else {
+                byte[] bytes = new byte[length];
+                buffer.duplicate().get(bytes);
+                result = new String(bytes, StandardCharsets.UTF_8);
+            }
+            buffer.position(buffer.position() + length);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package xyz.avarel.aljava.codec;
+
+import xyz.avarel.aljava.Expression;
+import xyz.avarel.aljava.exceptions.CodecException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An append-only file of expressions encoded with {@link BinaryCodec}.
+ * <p>
+ * Records go into the data file back to back, and a companion index file with the suffix
+ * {@code .idx} holds the end offset of each record as a long. Both are read through
+ * memory mappings, so looking up or iterating over a large store only touches the pages
+ * it needs instead of loading the expressions onto the heap.
+ * <p>
+ * Appends write the record before its index entry, so a store that was not closed cleanly
+ * is cut back to its last complete record when it is opened again. Appending is
+ * synchronized, and reading is safe from any number of threads.
+ */
+public final class ExpressionStore implements Closeable, Iterable<Expression> {
+    private static final String INDEX_SUFFIX = ".idx";
+
+    private final FileChannel data;
+    private final FileChannel index;
+    private final Mapping dataMapping;
+    private final Mapping indexMapping;
+
+    private volatile long size;
+    private long dataSize;
+
+    private ExpressionStore(FileChannel data, FileChannel index) throws IOException {
+        this.data = data;
+        this.index = index;
+        this.dataMapping = new Mapping(data);
+        this.indexMapping = new Mapping(index);
+        recover();
+    }
+
+    /**
+     * Opens the store at the path, creating it if it does not exist.
+     */
+    public static ExpressionStore open(Path path) throws IOException {
+        Path indexPath = Paths.get(path.toString() + INDEX_SUFFIX);
+
+        FileChannel data = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            FileChannel index = FileChannel.open(indexPath,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new ExpressionStore(data, index);
+        } catch (IOException | RuntimeException e) {
+            data.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Drops any record or index entry past the last complete record. The index is trusted only
+     * up to its first entry that does not end after the one before it or ends past the data,
+     * such as the zeros of an index file that grew before its contents were flushed.
+     */
+    private void recover() throws IOException {
+        long entries = index.size() / Long.BYTES;
+        long dataLength = data.size();
+
+        long valid = 0;
+        long end = 0;
+        while (valid < entries) {
+            long next = endOffset(valid);
+            if (next <= end || next > dataLength) break;
+            end = next;
+            valid++;
+        }
+
+        index.truncate(valid * Long.BYTES);
+        data.truncate(end);
+        indexMapping.reset();
+
+        this.size = valid;
+        this.dataSize = end;
+    }
+
+    /**
+     * @return The index of the expression in this store.
+     */
+    public synchronized long append(Expression expression) throws IOException {
+        return append(ByteBuffer.wrap(BinaryCodec.encode(expression)));
+    }
+
+    /**
+     * Appends a record that was already encoded, such as one from {@link #record(long)} of
+     * another store.
+     *
+     * @return The index of the record in this store.
+     */
+    public synchronized long append(ByteBuffer record) throws IOException {
+        long position = dataSize;
+        while (record.hasRemaining()) {
+            position += data.write(record, position);
+        }
+
+        ByteBuffer entry = ByteBuffer.allocate(Long.BYTES);
+        entry.putLong(0, position);
+        long indexPosition = size * Long.BYTES;
+        while (entry.hasRemaining()) {
+            indexPosition += index.write(entry, indexPosition);
+        }
+
+        dataSize = position;
+        return size++;
+    }
+
+    /**
+     * @return The number of expressions in this store.
+     */
+    public long size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @throws IndexOutOfBoundsException If there is no expression at the index.
+     * @throws CodecException            If the record is corrupt.
+     */
+    public Expression get(long i) {
+        return BinaryCodec.decodeExpression(record(i));
+    }
+
+    /**
+     * @return A read-only view of the encoded record, which stays valid while the store is open.
+     * @throws IndexOutOfBoundsException If there is no expression at the index.
+     */
+    public ByteBuffer record(long i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size);
+        }
+
+        long start = i == 0 ? 0 : endOffset(i - 1);
+        long end = endOffset(i);
+        try {
+            return dataMapping.slice(start, (int) (end - start));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long endOffset(long i) {
+        try {
+            return indexMapping.slice(i * Long.BYTES, Long.BYTES).getLong(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Iterates over the expressions that were in the store when this was called.
+     */
+    @Override
+    public Iterator<Expression> iterator() {
+        long end = size;
+        return new Iterator<Expression>() {
+            private long i;
+
+            @Override
+            public boolean hasNext() {
+                return i < end;
+            }
+
+            @Override
+            public Expression next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return get(i++);
+            }
+        };
+    }
+
+    /**
+     * Writes the appended records to the storage device.
+     */
+    public synchronized void force() throws IOException {
+        data.force(false);
+        index.force(false);
+    }
+
+    /**
+     * Closes the files. Mapped regions are released once they are no longer reachable.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            data.close();
+        } finally {
+            index.close();
+        }
+    }
+
+    /**
+     * Maps a file in segments, since a single mapping is limited to 2 GB. Each segment
+     * also covers a little of the next one, so that records starting near its end can
+     * still be read without a copy.
+     */
+    private static final class Mapping {
+        private static final long SEGMENT = 1 << 30;
+        private static final long OVERLAP = 1 << 20;
+
+        private final FileChannel channel;
+        private MappedByteBuffer[] segments = new MappedByteBuffer[0];
+
+        private Mapping(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        private synchronized void reset() {
+            segments = new MappedByteBuffer[0];
+        }
+
+        private ByteBuffer slice(long position, int length) throws IOException {
+            int n = (int) (position / SEGMENT);
+            int offset = (int) (position - n * SEGMENT);
+
+            if (offset + length > SEGMENT + OVERLAP) {
+                // Too large for any mapping, read it onto the heap instead
+                ByteBuffer buffer = ByteBuffer.allocate(length);
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, position + buffer.position()) < 0) {
+                        throw new CodecException("Truncated record at " + position);
+                    }
+                }
+                buffer.flip();
+                return buffer.asReadOnlyBuffer();
+            }
+
+            ByteBuffer buffer = segment(n, offset + length).duplicate();
+            buffer.position(offset);
+            buffer.limit(offset + length);
+            return buffer.slice();
+        }
+
+        /**
+         * @return The segment, mapped again if the file has grown past its end.
+         */
+        private synchronized MappedByteBuffer segment(int n, int length) throws IOException {
+            if (n >= segments.length) {
+                MappedByteBuffer[] grown = new MappedByteBuffer[n + 1];
+                System.arraycopy(segments, 0, grown, 0, segments.length);
+                segments = grown;
+            }
+
+            MappedByteBuffer segment = segments[n];
+            if (segment == null || segment.capacity() < length) {
+                long base = n * SEGMENT;
+                long mapped = Math.min(SEGMENT + OVERLAP, channel.size() - base);
+                segment = channel.map(FileChannel.MapMode.READ_ONLY, base, mapped);
+                segments[n] = segment;
+            }
+            return segment;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package xyz.avarel.aljava.exceptions;
+
+/**
+ * Thrown when a computation goes over a limit of its {@link xyz.avarel.aljava.ComputeBudget}.
+ */
+public class BudgetExceededException extends ComputeException {
+    public enum Limit {
+        TERMS,
+        DEGREE,
+        COEFFICIENT_BITS,
+        DEADLINE,
+        /**
+         * The thread was interrupted.
+         */
+        CANCELLED
+    }
+
+    private final Limit limit;
+
+    public BudgetExceededException(Limit limit, String msg) {
+        super(msg);
+        this.limit = limit;
+    }
+
+    public Limit getLimit() {
+        return limit;
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package xyz.avarel.aljava.exceptions;
+
+/**
+ * Thrown when encoded data is malformed, truncated or of an unknown version.
+ */
+public class CodecException extends MathException {
+    public CodecException(String msg) {
+        super(msg);
+    }
+
+    public CodecException(String s, Throwable throwable) {
+        super(s, throwable);
+    }
+
+    public CodecException(Throwable throwable) {
+        super(throwable);
+    }
+}
@@ -19,23 +19,37 @@ package xyz.avarel.aljava.exceptions;
 import xyz.avarel.aljava.lexer.Position;
 
 public class SyntaxException extends MathException {
+    private final Position position;
+
     public SyntaxException(String msg) {
         super(msg);
+        this.position = null;
     }
 
     public SyntaxException(String msg, Position position) {
-        this(msg + position);
+        super(msg + position);
+        this.position = position;
     }
 
     public SyntaxException(String s, Throwable throwable) {
         super(s, throwable);
+        this.position = null;
     }
 
     public SyntaxException(String s, Position position, Throwable throwable) {
         super(s + position, throwable);
+        this.position = position;
     }
 
     public SyntaxException(Throwable throwable) {
         super(throwable);
+        this.position = null;
+    }
+
+    /**
+     * @return Where in the input the error is, or {@code null} if it is not known.
+     */
+    public Position getPosition() {
+        return position;
     }
 }
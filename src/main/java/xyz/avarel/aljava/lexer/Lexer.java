@@ -30,6 +30,8 @@ public class Lexer implements Iterator<Token>, Iterable<Token> {
     private Entry[] history;
     private int previous;
 
+    private final boolean newlines;
+
     private boolean eof;
     private long lineIndex;
     private long index;
@@ -49,6 +51,15 @@ public class Lexer implements Iterator<Token>, Iterable<Token> {
     }
 
     public Lexer(Reader reader, int historyBuffer) {
+        this(reader, historyBuffer, false);
+    }
+
+    /**
+     * @param newlines Whether line breaks are {@link TokenType#NEWLINE} tokens, for input with
+     *                 one expression or equation per line. Tabs are skipped like spaces in this mode.
+     */
+    public Lexer(Reader reader, int historyBuffer, boolean newlines) {
+        this.newlines = newlines;
         this.reader = reader.markSupported()
                 ? reader
                 : new BufferedReader(reader);
@@ -86,7 +97,7 @@ public class Lexer implements Iterator<Token>, Iterable<Token> {
 
         char c = advance();
 
-        while (Character.isSpaceChar(c)) c = advance();
+        while (Character.isSpaceChar(c) || newlines && c == '\t') c = advance();
 
         switch (c) {
             case '(': return make(TokenType.LEFT_PAREN);
@@ -100,6 +111,11 @@ public class Lexer implements Iterator<Token>, Iterable<Token> {
 
             case '=': return make(TokenType.EQUALS);
 
+            case '\n':
+            case '\r':
+                if (newlines) return make(TokenType.NEWLINE);
+                throw new SyntaxException("Unexpected line break", getPosition());
+
             case '\0':
             case (char) -1: return make(TokenType.EOF);
 
@@ -31,5 +31,6 @@ public enum TokenType {
 
     EQUALS,
 
+    NEWLINE,
     EOF,
 }
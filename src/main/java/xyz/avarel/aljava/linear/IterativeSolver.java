@@ -0,0 +1,212 @@
+package xyz.avarel.aljava.linear;
+
+import xyz.avarel.aljava.exceptions.ComputeException;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Jacobi-preconditioned Krylov solvers for {@link SparseMatrix} systems.
+ */
+public class IterativeSolver {
+    public enum Method {
+        /**
+         * Preconditioned conjugate gradient, for symmetric positive definite systems.
+         */
+        CONJUGATE_GRADIENT,
+        /**
+         * Preconditioned BiCGSTAB, for general non-singular systems.
+         */
+        BICGSTAB,
+        /**
+         * Conjugate gradient when the matrix is symmetric with a positive diagonal, BiCGSTAB otherwise.
+         */
+        AUTO
+    }
+
+    private final Method method;
+    private final double tolerance;
+    private final int maxIterations;
+    private final ForkJoinPool pool;
+
+    public IterativeSolver() {
+        this(Method.AUTO, 1e-10, 10_000);
+    }
+
+    public IterativeSolver(Method method, double tolerance, int maxIterations) {
+        this(method, tolerance, maxIterations, ForkJoinPool.commonPool());
+    }
+
+    public IterativeSolver(Method method, double tolerance, int maxIterations, ForkJoinPool pool) {
+        this.method = method;
+        this.tolerance = tolerance;
+        this.maxIterations = maxIterations;
+        this.pool = pool;
+    }
+
+    public double[] solve(SparseMatrix a, double[] b) {
+        if (b.length != a.getSize()) {
+            throw new IllegalArgumentException("Right hand side has " + b.length + " entries, expected " + a.getSize());
+        }
+
+        double[] inverseDiagonal = a.diagonal();
+        boolean positiveDiagonal = true;
+        for (int i = 0; i < inverseDiagonal.length; i++) {
+            positiveDiagonal &= inverseDiagonal[i] > 0;
+            // Rows without a pivot are left unpreconditioned
+            inverseDiagonal[i] = inverseDiagonal[i] == 0 ? 1 : 1 / inverseDiagonal[i];
+        }
+
+        switch (method) {
+            case CONJUGATE_GRADIENT:
+                return conjugateGradient(a, b, inverseDiagonal);
+            case BICGSTAB:
+                return biCgStab(a, b, inverseDiagonal);
+            default:
+                return positiveDiagonal && a.isSymmetric()
+                        ? conjugateGradient(a, b, inverseDiagonal)
+                        : biCgStab(a, b, inverseDiagonal);
+        }
+    }
+
+    private double[] conjugateGradient(SparseMatrix a, double[] b, double[] inverseDiagonal) {
+        int n = b.length;
+        double[] x = new double[n];
+        double[] r = b.clone();
+        double[] z = new double[n];
+        double[] p = new double[n];
+        double[] ap = new double[n];
+
+        double bNorm = norm(b);
+        if (bNorm == 0) return x;
+
+        precondition(inverseDiagonal, r, z);
+        System.arraycopy(z, 0, p, 0, n);
+        double rz = dot(r, z);
+
+        for (int iteration = 0; iteration < maxIterations; iteration++) {
+            a.multiply(p, ap, pool);
+
+            double pAp = dot(p, ap);
+            if (pAp <= 0) {
+                throw new ComputeException("Conjugate gradient requires a positive definite matrix");
+            }
+
+            double alpha = rz / pAp;
+            for (int i = 0; i < n; i++) {
+                x[i] += alpha * p[i];
+                r[i] -= alpha * ap[i];
+            }
+
+            if (norm(r) <= tolerance * bNorm) {
+                return x;
+            }
+
+            precondition(inverseDiagonal, r, z);
+            double rzNext = dot(r, z);
+            double beta = rzNext / rz;
+            rz = rzNext;
+
+            for (int i = 0; i < n; i++) {
+                p[i] = z[i] + beta * p[i];
+            }
+        }
+
+        throw new ComputeException("Conjugate gradient did not converge after " + maxIterations + " iterations");
+    }
+
+    private double[] biCgStab(SparseMatrix a, double[] b, double[] inverseDiagonal) {
+        int n = b.length;
+        double[] x = new double[n];
+        double[] r = b.clone();
+        double[] rHat = b.clone();
+        double[] p = new double[n];
+        double[] v = new double[n];
+        double[] y = new double[n];
+        double[] s = new double[n];
+        double[] z = new double[n];
+        double[] t = new double[n];
+
+        double bNorm = norm(b);
+        if (bNorm == 0) return x;
+
+        double rho = 1, alpha = 1, omega = 1;
+
+        for (int iteration = 0; iteration < maxIterations; iteration++) {
+            double rhoNext = dot(rHat, r);
+            if (rhoNext == 0) {
+                // The shadow residual became orthogonal, restart from the current residual
+                System.arraycopy(r, 0, rHat, 0, n);
+                Arrays.fill(p, 0);
+                Arrays.fill(v, 0);
+                rho = alpha = omega = 1;
+                rhoNext = dot(rHat, r);
+            }
+
+            double beta = (rhoNext / rho) * (alpha / omega);
+            rho = rhoNext;
+            for (int i = 0; i < n; i++) {
+                p[i] = r[i] + beta * (p[i] - omega * v[i]);
+            }
+
+            precondition(inverseDiagonal, p, y);
+            a.multiply(y, v, pool);
+            double rHatV = dot(rHat, v);
+            if (rHatV == 0) {
+                // A restart would only find the same direction again
+                throw new ComputeException("BiCGSTAB broke down at iteration " + iteration);
+            }
+            alpha = rho / rHatV;
+
+            for (int i = 0; i < n; i++) {
+                s[i] = r[i] - alpha * v[i];
+            }
+
+            if (norm(s) <= tolerance * bNorm) {
+                for (int i = 0; i < n; i++) {
+                    x[i] += alpha * y[i];
+                }
+                return x;
+            }
+
+            precondition(inverseDiagonal, s, z);
+            a.multiply(z, t, pool);
+
+            double tt = dot(t, t);
+            omega = tt == 0 ? 0 : dot(t, s) / tt;
+
+            for (int i = 0; i < n; i++) {
+                x[i] += alpha * y[i] + omega * z[i];
+                r[i] = s[i] - omega * t[i];
+            }
+
+            if (norm(r) <= tolerance * bNorm) {
+                return x;
+            }
+
+            if (omega == 0) {
+                throw new ComputeException("BiCGSTAB broke down at iteration " + iteration);
+            }
+        }
+
+        throw new ComputeException("BiCGSTAB did not converge after " + maxIterations + " iterations");
+    }
+
+    private static void precondition(double[] inverseDiagonal, double[] in, double[] out) {
+        for (int i = 0; i < in.length; i++) {
+            out[i] = inverseDiagonal[i] * in[i];
+        }
+    }
+
+    private static double dot(double[] a, double[] b) {
+        double sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    private static double norm(double[] a) {
+        return Math.sqrt(dot(a, a));
+    }
+}
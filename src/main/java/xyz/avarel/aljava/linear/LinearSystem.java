@@ -0,0 +1,107 @@
+package xyz.avarel.aljava.linear;
+
+import xyz.avarel.aljava.Equation;
+import xyz.avarel.aljava.Fraction;
+import xyz.avarel.aljava.Term;
+import xyz.avarel.aljava.Variable;
+
+import java.util.*;
+
+/**
+ * A square system of linear {@link Equation}s, stored numerically as {@code Ax = b}
+ * so that it can be handed to an {@link IterativeSolver}.
+ */
+public class LinearSystem {
+    private final List<String> variables;
+    private final SparseMatrix matrix;
+    private final double[] constants;
+
+    public LinearSystem(List<Equation> equations) {
+        // Order of first appearance keeps each equation's own unknown near the diagonal
+        Map<String, Integer> indices = new LinkedHashMap<>();
+        for (Equation equation : equations) {
+            collectVariables(equation.getLhs().getTerms(), indices);
+            collectVariables(equation.getRhs().getTerms(), indices);
+        }
+
+        if (indices.size() != equations.size()) {
+            throw new ArithmeticException("System has " + equations.size() + " equations but "
+                    + indices.size() + " variables.");
+        }
+
+        int index = 0;
+        for (Map.Entry<String, Integer> entry : indices.entrySet()) {
+            entry.setValue(index++);
+        }
+
+        SparseMatrix.Builder builder = new SparseMatrix.Builder(indices.size());
+        double[] constants = new double[equations.size()];
+
+        for (int row = 0; row < equations.size(); row++) {
+            Equation equation = equations.get(row);
+            // Everything is moved to the left hand side: lhs - rhs = 0
+            constants[row] -= addTerms(equation, equation.getLhs().getTerms(), 1, row, indices, builder);
+            constants[row] -= addTerms(equation, equation.getRhs().getTerms(), -1, row, indices, builder);
+        }
+
+        this.variables = Collections.unmodifiableList(new ArrayList<>(indices.keySet()));
+        this.matrix = builder.build();
+        this.constants = constants;
+    }
+
+    public List<String> getVariables() {
+        return variables;
+    }
+
+    public SparseMatrix getMatrix() {
+        return matrix;
+    }
+
+    public double[] getConstants() {
+        return constants.clone();
+    }
+
+    public Map<String, Double> solve() {
+        return solve(new IterativeSolver());
+    }
+
+    public Map<String, Double> solve(IterativeSolver solver) {
+        double[] x = solver.solve(matrix, constants);
+
+        Map<String, Double> solution = new LinkedHashMap<>();
+        for (int i = 0; i < x.length; i++) {
+            solution.put(variables.get(i), x[i]);
+        }
+        return solution;
+    }
+
+    private static void collectVariables(List<Term> terms, Map<String, Integer> indices) {
+        for (Term term : terms) {
+            for (Variable variable : term.getVariables()) {
+                indices.putIfAbsent(variable.getName(), 0);
+            }
+        }
+    }
+
+    /**
+     * @return The sum of the constant terms, which belong on the right hand side.
+     */
+    private static double addTerms(Equation equation, List<Term> terms, int sign, int row,
+                                   Map<String, Integer> indices, SparseMatrix.Builder builder) {
+        double constant = 0;
+        for (Term term : terms) {
+            Term simplified = term.simplify();
+            Fraction coefficient = simplified.coefficient();
+            List<Variable> variables = simplified.getVariables();
+
+            if (variables.isEmpty()) {
+                constant += sign * coefficient.toDouble();
+            } else if (variables.size() == 1 && variables.get(0).getDegree() == 1) {
+                builder.add(row, indices.get(variables.get(0).getName()), sign * coefficient.toDouble());
+            } else {
+                throw new ArithmeticException("Equation (" + equation + ") must be linear.");
+            }
+        }
+        return constant;
+    }
+}
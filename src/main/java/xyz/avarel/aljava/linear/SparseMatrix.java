@@ -0,0 +1,200 @@
+package xyz.avarel.aljava.linear;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Square matrix in compressed sparse row (CSR) storage.
+ */
+public class SparseMatrix {
+    /**
+     * Row count above which matrix-vector products are split across a {@link ForkJoinPool}.
+     */
+    private static final int PARALLEL_THRESHOLD = 2048;
+
+    private final int size;
+    private final int[] rowPointers;
+    private final int[] columns;
+    private final double[] values;
+
+    private SparseMatrix(int size, int[] rowPointers, int[] columns, double[] values) {
+        this.size = size;
+        this.rowPointers = rowPointers;
+        this.columns = columns;
+        this.values = values;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int nonZeros() {
+        return rowPointers[size];
+    }
+
+    public double get(int row, int column) {
+        int index = Arrays.binarySearch(columns, rowPointers[row], rowPointers[row + 1], column);
+        return index >= 0 ? values[index] : 0;
+    }
+
+    public double[] diagonal() {
+        double[] diagonal = new double[size];
+        for (int i = 0; i < size; i++) {
+            diagonal[i] = get(i, i);
+        }
+        return diagonal;
+    }
+
+    public boolean isSymmetric() {
+        for (int row = 0; row < size; row++) {
+            for (int i = rowPointers[row]; i < rowPointers[row + 1]; i++) {
+                if (get(columns[i], row) != values[i]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    public void multiply(double[] x, double[] result) {
+        multiply(x, result, ForkJoinPool.commonPool());
+    }
+
+    public void multiply(double[] x, double[] result, ForkJoinPool pool) {
+        if (size < PARALLEL_THRESHOLD || pool.getParallelism() == 1) {
+            multiplyRows(x, result, 0, size);
+        } else {
+            pool.invoke(new MultiplyTask(x, result, 0, size));
+        }
+    }
+
+    private void multiplyRows(double[] x, double[] result, int from, int to) {
+        for (int row = from; row < to; row++) {
+            double sum = 0;
+            for (int i = rowPointers[row]; i < rowPointers[row + 1]; i++) {
+                sum += values[i] * x[columns[i]];
+            }
+            result[row] = sum;
+        }
+    }
+
+    private final class MultiplyTask extends RecursiveAction {
+        private final double[] x;
+        private final double[] result;
+        private final int from;
+        private final int to;
+
+        private MultiplyTask(double[] x, double[] result, int from, int to) {
+            this.x = x;
+            this.result = result;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD / 2) {
+                multiplyRows(x, result, from, to);
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new MultiplyTask(x, result, from, middle), new MultiplyTask(x, result, middle, to));
+            }
+        }
+    }
+
+    /**
+     * Accumulates entries in any order; duplicate positions are summed when the matrix is built.
+     */
+    public static class Builder {
+        private final int size;
+
+        private int[] rows;
+        private int[] columns;
+        private double[] values;
+        private int count;
+
+        public Builder(int size) {
+            this.size = size;
+            this.rows = new int[16];
+            this.columns = new int[16];
+            this.values = new double[16];
+        }
+
+        public Builder add(int row, int column, double value) {
+            if (row < 0 || row >= size || column < 0 || column >= size) {
+                throw new IndexOutOfBoundsException("(" + row + ", " + column + ") is outside of a " + size + "x" + size + " matrix");
+            }
+
+            if (count == rows.length) {
+                rows = Arrays.copyOf(rows, count * 2);
+                columns = Arrays.copyOf(columns, count * 2);
+                values = Arrays.copyOf(values, count * 2);
+            }
+
+            rows[count] = row;
+            columns[count] = column;
+            values[count] = value;
+            count++;
+            return this;
+        }
+
+        public SparseMatrix build() {
+            // Counting sort by row, then order each row by column and fold duplicates
+            int[] rowPointers = new int[size + 1];
+            for (int i = 0; i < count; i++) {
+                rowPointers[rows[i] + 1]++;
+            }
+            for (int i = 0; i < size; i++) {
+                rowPointers[i + 1] += rowPointers[i];
+            }
+
+            int[] next = Arrays.copyOf(rowPointers, size);
+            int[] sortedColumns = new int[count];
+            double[] sortedValues = new double[count];
+            for (int i = 0; i < count; i++) {
+                int index = next[rows[i]]++;
+                sortedColumns[index] = columns[i];
+                sortedValues[index] = values[i];
+            }
+
+            int[] newPointers = new int[size + 1];
+            int length = 0;
+            for (int row = 0; row < size; row++) {
+                int from = rowPointers[row];
+                int to = rowPointers[row + 1];
+                sortRow(sortedColumns, sortedValues, from, to);
+
+                for (int i = from; i < to; i++) {
+                    if (length > newPointers[row] && sortedColumns[length - 1] == sortedColumns[i]) {
+                        sortedValues[length - 1] += sortedValues[i];
+                    } else {
+                        sortedColumns[length] = sortedColumns[i];
+                        sortedValues[length] = sortedValues[i];
+                        length++;
+                    }
+                }
+                newPointers[row + 1] = length;
+            }
+
+            return new SparseMatrix(size, newPointers,
+                    Arrays.copyOf(sortedColumns, length), Arrays.copyOf(sortedValues, length));
+        }
+
+        private static void sortRow(int[] columns, double[] values, int from, int to) {
+            // Rows are short, insertion sort keeps the column and value arrays in lockstep
+            for (int i = from + 1; i < to; i++) {
+                int column = columns[i];
+                double value = values[i];
+                int j = i - 1;
+                while (j >= from && columns[j] > column) {
+                    columns[j + 1] = columns[j];
+                    values[j + 1] = values[j];
+                    j--;
+                }
+                columns[j + 1] = column;
+                values[j + 1] = value;
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package xyz.avarel.aljava.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link Metrics} that count each operation and keep histograms of its durations, sizes and
+ * coefficient bits in power of two buckets. Calls that take longer than a threshold are also
+ * counted on their own, to find the rare slow simplification or solve among many fast ones.
+ * <p>
+ * Recording takes no locks, and a {@link #report()} can be made while recording goes on.
+ */
+public final class HistogramMetrics implements Metrics {
+    private final long slowNanos;
+    private final Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+
+    /**
+     * @param slowThreshold How long a call takes before it is counted as slow.
+     */
+    public HistogramMetrics(long slowThreshold, TimeUnit unit) {
+        this.slowNanos = unit.toNanos(slowThreshold);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new Stats());
+        }
+    }
+
+    @Override
+    public void record(Operation operation, long nanos, int termsIn, int termsOut, int coefficientBits) {
+        Stats s = stats.get(operation);
+        s.count.increment();
+        s.totalNanos.add(nanos);
+        if (nanos >= slowNanos) {
+            s.slow.increment();
+        }
+        s.nanos.incrementAndGet(bucket(nanos));
+        s.termsIn.incrementAndGet(bucket(termsIn));
+        s.termsOut.incrementAndGet(bucket(termsOut));
+        s.coefficientBits.incrementAndGet(bucket(coefficientBits));
+    }
+
+    /**
+     * @return The bucket of a value, where bucket {@code b > 0} holds {@code [2^(b-1), 2^b)}.
+     */
+    private static int bucket(long value) {
+        return value <= 0 ? 0 : 64 - Long.numberOfLeadingZeros(value);
+    }
+
+    public long getCount(Operation operation) {
+        return stats.get(operation).count.sum();
+    }
+
+    public long getTotalNanos(Operation operation) {
+        return stats.get(operation).totalNanos.sum();
+    }
+
+    public long getSlowCount(Operation operation) {
+        return stats.get(operation).slow.sum();
+    }
+
+    /**
+     * @return The smallest power of two that at least the fraction of durations are below.
+     */
+    public long getNanosPercentile(Operation operation, double fraction) {
+        return percentile(stats.get(operation).nanos, fraction);
+    }
+
+    public long getTermsOutPercentile(Operation operation, double fraction) {
+        return percentile(stats.get(operation).termsOut, fraction);
+    }
+
+    private static long percentile(AtomicLongArray histogram, double fraction) {
+        long total = 0;
+        for (int i = 0; i < histogram.length(); i++) {
+            total += histogram.get(i);
+        }
+
+        long target = (long) Math.ceil(total * fraction);
+        long seen = 0;
+        for (int i = 0; i < histogram.length(); i++) {
+            seen += histogram.get(i);
+            if (seen >= target && seen > 0) {
+                return i == 0 ? 0 : i >= 63 ? Long.MAX_VALUE : 1L << i;
+            }
+        }
+        return 0;
+    }
+
+    public void reset() {
+        for (Stats s : stats.values()) {
+            s.reset();
+        }
+    }
+
+    /**
+     * @return A table with a line per operation, such as
+     *         {@code SIMPLIFY  count=120 total=3.2ms p50<16µs p99<1ms slow=1 terms p99<256}.
+     */
+    public String report() {
+        StringBuilder sb = new StringBuilder();
+        for (Operation operation : Operation.values()) {
+            sb.append(String.format("%-9s count=%d total=%s p50<%s p99<%s slow=%d terms p99<%d%n",
+                    operation,
+                    getCount(operation),
+                    duration(getTotalNanos(operation)),
+                    duration(getNanosPercentile(operation, 0.5)),
+                    duration(getNanosPercentile(operation, 0.99)),
+                    getSlowCount(operation),
+                    getTermsOutPercentile(operation, 0.99)));
+        }
+        return sb.toString();
+    }
+
+    private static String duration(long nanos) {
+        if (nanos < 1_000) return nanos + "ns";
+        if (nanos < 1_000_000) return nanos / 1_000 + "µs";
+        if (nanos < 1_000_000_000) return String.format("%.1fms", nanos / 1e6);
+        return String.format("%.2fs", nanos / 1e9);
+    }
+
+    @Override
+    public String toString() {
+        return report();
+    }
+
+    private static final class Stats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder slow = new LongAdder();
+        private final AtomicLongArray nanos = new AtomicLongArray(65);
+        private final AtomicLongArray termsIn = new AtomicLongArray(65);
+        private final AtomicLongArray termsOut = new AtomicLongArray(65);
+        private final AtomicLongArray coefficientBits = new AtomicLongArray(65);
+
+        private void reset() {
+            count.reset();
+            totalNanos.reset();
+            slow.reset();
+            for (int i = 0; i < 65; i++) {
+                nanos.set(i, 0);
+                termsIn.set(i, 0);
+                termsOut.set(i, 0);
+                coefficientBits.set(i, 0);
+            }
+        }
+    }
+}
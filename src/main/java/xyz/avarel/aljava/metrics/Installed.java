@@ -0,0 +1,10 @@
+package xyz.avarel.aljava.metrics;
+
+/**
+ * Holds the {@link Metrics} of the library, since interfaces can not have mutable fields.
+ */
+final class Installed {
+    static volatile Metrics metrics = Metrics.NONE;
+
+    private Installed() {}
+}
@@ -0,0 +1,62 @@
+package xyz.avarel.aljava.metrics;
+
+/**
+ * Receives a measurement for every parse, simplification, multiplication and solve.
+ * <p>
+ * A single implementation is installed for the whole library with {@link #install(Metrics)}.
+ * The default, {@link #NONE}, is never called, so uninstrumented code does not read the clock.
+ * Implementations are called from every thread that computes and must be thread-safe.
+ */
+public interface Metrics {
+    Metrics NONE = new Metrics() {};
+
+    enum Operation {
+        /**
+         * Parsing an expression or equation. The terms in are zero.
+         */
+        PARSE,
+        /**
+         * {@link xyz.avarel.aljava.Expression#simplify()}.
+         */
+        SIMPLIFY,
+        /**
+         * {@link xyz.avarel.aljava.Expression#times(xyz.avarel.aljava.Expression, boolean)}. The terms in
+         * are those of both factors.
+         */
+        MULTIPLY,
+        /**
+         * {@link xyz.avarel.aljava.Equation#solveFor(String)}. The terms out are the solutions.
+         */
+        SOLVE
+    }
+
+    /**
+     * @param nanos           How long the operation took.
+     * @param termsIn         The size of the input.
+     * @param termsOut        The size of the result.
+     * @param coefficientBits The {@link xyz.avarel.aljava.Fraction#bitLength()} of the largest
+     *                        coefficient of the result, or zero if there is none.
+     */
+    default void record(Operation operation, long nanos, int termsIn, int termsOut, int coefficientBits) {}
+
+    /**
+     * Installs the metrics for the whole library, replacing the previous ones.
+     */
+    static void install(Metrics metrics) {
+        Installed.metrics = metrics != null ? metrics : NONE;
+    }
+
+    /**
+     * @return The installed metrics, {@link #NONE} unless others were installed.
+     */
+    static Metrics get() {
+        return Installed.metrics;
+    }
+
+    /**
+     * @return If metrics other than {@link #NONE} are installed.
+     */
+    static boolean isEnabled() {
+        return Installed.metrics != NONE;
+    }
+}
@@ -0,0 +1,183 @@
+package xyz.avarel.aljava.parser;
+
+import xyz.avarel.aljava.Equation;
+import xyz.avarel.aljava.Expression;
+import xyz.avarel.aljava.exceptions.SyntaxException;
+import xyz.avarel.aljava.lexer.Lexer;
+import xyz.avarel.aljava.lexer.Position;
+import xyz.avarel.aljava.lexer.TokenType;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Parses input with one expression or equation per line, such as a corpus file.
+ * <p>
+ * The whole input goes through a single {@link Lexer} that reads it in buffered chunks and
+ * reports line breaks as tokens, so only the line being parsed is held in memory. A line
+ * that fails to parse becomes an error {@link Line} and parsing carries on with the next
+ * one. Blank lines are skipped.
+ */
+public final class BatchParser implements Iterator<BatchParser.Line>, Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Reader reader;
+    private final Parser parser;
+
+    /**
+     * An error the lexer ran into while looking for the next line.
+     */
+    private SyntaxException pending;
+
+    public BatchParser(Reader reader) {
+        this.reader = reader;
+        // Readers that support mark, such as a StringReader for a single line, need no buffer
+        Reader buffered = reader.markSupported() ? reader : new BufferedReader(reader, BUFFER_SIZE);
+        this.parser = new Parser(new Lexer(buffered, 2, true));
+    }
+
+    public BatchParser(String s) {
+        this(new StringReader(s));
+    }
+
+    /**
+     * Opens a UTF-8 file for parsing. The parser has to be closed to release the file.
+     */
+    public static BatchParser open(Path path) throws IOException {
+        return new BatchParser(new BufferedReader(new InputStreamReader(Files.newInputStream(path),
+                StandardCharsets.UTF_8), BUFFER_SIZE));
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (pending != null) {
+            return true;
+        }
+
+        try {
+            return parser.skipBlankLines().getType() != TokenType.EOF;
+        } catch (SyntaxException e) {
+            pending = e;
+            return true;
+        }
+    }
+
+    @Override
+    public Line next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        if (pending != null) {
+            SyntaxException e = pending;
+            pending = null;
+            parser.skipLine();
+            return new Line(e.getPosition(), null, e);
+        }
+
+        Position position = parser.skipBlankLines().getPosition();
+        try {
+            return new Line(position, parser.parseLine(), null);
+        } catch (SyntaxException e) {
+            parser.skipLine();
+            return new Line(position, null, e);
+        } catch (ArithmeticException | NumberFormatException e) {
+            parser.skipLine();
+            return new Line(position, null, new SyntaxException(e.getMessage(), position, e));
+        }
+    }
+
+    /**
+     * @return The lines in input order. Closing the stream closes this parser.
+     */
+    public Stream<Line> stream() {
+        Spliterator<Line> spliterator = Spliterators.spliteratorUnknownSize(this,
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * A parsed line, which is either an expression, an equation or an error.
+     */
+    public static final class Line {
+        private final Position position;
+        private final Object value;
+        private final SyntaxException error;
+
+        private Line(Position position, Object value, SyntaxException error) {
+            this.position = position;
+            this.value = value;
+            this.error = error;
+        }
+
+        /**
+         * @return The position of the first token of the line, or of the error if there is none.
+         */
+        public Position getPosition() {
+            return position;
+        }
+
+        public long getLineNumber() {
+            return position.getLineNumber();
+        }
+
+        public boolean isError() {
+            return error != null;
+        }
+
+        public boolean isEquation() {
+            return value instanceof Equation;
+        }
+
+        /**
+         * @throws IllegalStateException If the line is not an expression.
+         */
+        public Expression getExpression() {
+            if (!(value instanceof Expression)) {
+                throw new IllegalStateException("Line " + getLineNumber() + " is not an expression");
+            }
+            return (Expression) value;
+        }
+
+        /**
+         * @throws IllegalStateException If the line is not an equation.
+         */
+        public Equation getEquation() {
+            if (!(value instanceof Equation)) {
+                throw new IllegalStateException("Line " + getLineNumber() + " is not an equation");
+            }
+            return (Equation) value;
+        }
+
+        /**
+         * @return The reason the line could not be parsed, or {@code null}.
+         */
+        public SyntaxException getError() {
+            return error;
+        }
+
+        @Override
+        public String toString() {
+            return getLineNumber() + ": " + (error != null ? error.getMessage() : value);
+        }
+    }
+}
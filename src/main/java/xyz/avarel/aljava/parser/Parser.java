@@ -6,6 +6,7 @@ import xyz.avarel.aljava.exceptions.SyntaxException;
 import xyz.avarel.aljava.lexer.Lexer;
 import xyz.avarel.aljava.lexer.Token;
 import xyz.avarel.aljava.lexer.TokenType;
+import xyz.avarel.aljava.metrics.Metrics;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -91,6 +92,8 @@ public class Parser {
     }
 
     public Equation parseEquation() {
+        long start = Metrics.isEnabled() ? System.nanoTime() : 0;
+
         Expression lhs = parseExpression();
         eat(TokenType.EQUALS);
         Expression rhs = parseExpression();
@@ -102,10 +105,13 @@ public class Parser {
             }
         }
 
+        recordParse(start, lhs.getTerms().size() + rhs.getTerms().size());
         return new Equation(lhs, rhs);
     }
 
     public Expression parse() {
+        long start = Metrics.isEnabled() ? System.nanoTime() : 0;
+
         Expression value = parseExpression();
 
         if (!getTokens().isEmpty()) {
@@ -115,9 +121,76 @@ public class Parser {
             }
         }
 
+        recordParse(start, value.getTerms().size());
         return value;
     }
 
+    private static void recordParse(long start, int terms) {
+        Metrics metrics = Metrics.get();
+        if (metrics != Metrics.NONE && start != 0) {
+            metrics.record(Metrics.Operation.PARSE, System.nanoTime() - start, 0, terms, 0);
+        }
+    }
+
+    /**
+     * Skips blank lines, for lexers that emit {@link TokenType#NEWLINE} tokens.
+     *
+     * @return The first token of the next line, which is {@link TokenType#EOF} at the end.
+     */
+    Token skipBlankLines() {
+        while (nextIs(TokenType.NEWLINE)) eat();
+        return peek(0);
+    }
+
+    /**
+     * Parses an expression or equation that ends with a line.
+     *
+     * @return An {@link Expression} or an {@link Equation}.
+     */
+    Object parseLine() {
+        long start = Metrics.isEnabled() ? System.nanoTime() : 0;
+
+        Expression lhs = parseExpression();
+        Expression rhs = match(TokenType.EQUALS) ? parseExpression() : null;
+
+        if (!match(TokenType.NEWLINE) && !nextIs(TokenType.EOF)) {
+            Token t = peek(0);
+            throw new SyntaxException("Unexpected " + t, t.getPosition());
+        }
+
+        if (rhs == null) {
+            recordParse(start, lhs.getTerms().size());
+            return lhs;
+        }
+        recordParse(start, lhs.getTerms().size() + rhs.getTerms().size());
+        return new Equation(lhs, rhs);
+    }
+
+    /**
+     * Drops the rest of the line after an error, including tokens the lexer can not read.
+     */
+    void skipLine() {
+        while (true) {
+            Token token;
+            if (!tokens.isEmpty()) {
+                token = tokens.remove(0);
+            } else {
+                try {
+                    token = lexer.next();
+                } catch (SyntaxException e) {
+                    continue;
+                }
+            }
+
+            if (token.getType() == TokenType.NEWLINE) {
+                return;
+            } else if (token.getType() == TokenType.EOF) {
+                tokens.add(0, token);
+                return;
+            }
+        }
+    }
+
     public Expression parseExpression() {
         Expression value = parseTerm();
         while (true) {
@@ -150,7 +223,8 @@ public class Parser {
         } else if (match(TokenType.VARIABLE)) {
             value = new Expression(getLast().getString());
         } else {
-            throw new RuntimeException("Unexpected: " + getLast().getType());
+            Token token = peek(0);
+            throw new SyntaxException("Unexpected " + token.getType(), token.getPosition());
         }
 
         if (nextIs(TokenType.LEFT_PAREN)) {
@@ -0,0 +1,386 @@
+package xyz.avarel.aljava.polynomial;
+
+import xyz.avarel.aljava.ComputeBudget;
+import xyz.avarel.aljava.Fraction;
+
+import java.math.BigInteger;
+import java.util.*;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Buchberger's algorithm with the sugar selection strategy and the Gebauer–Möller criteria.
+ * <p>
+ * Polynomials are kept as sparse rows of integer coefficients, so reduction is fraction-free:
+ * the row being reduced is scaled by the reducer's leading coefficient instead of dividing,
+ * and the content is removed once the row is fully reduced. Reducers are looked up by a
+ * bit mask of the variables in their leading monomial before testing divisibility.
+ */
+final class Buchberger {
+    private final List<String> variables;
+    private final MonomialOrder order;
+    private final GroebnerBasis.Listener listener;
+
+    private final List<Row> rows = new ArrayList<>();
+    private final List<Integer> basis = new ArrayList<>();
+    private final PriorityQueue<Pair> pairs;
+
+    private int reductions;
+
+    Buchberger(List<String> variables, MonomialOrder order, GroebnerBasis.Listener listener) {
+        this.variables = variables;
+        this.order = order;
+        this.listener = listener;
+
+        // Lowest sugar first, then the smallest least common multiple, then the oldest
+        this.pairs = new PriorityQueue<>((a, b) -> {
+            int value = Integer.compare(a.sugar, b.sugar);
+            if (value == 0) value = order.compare(a.lcm, b.lcm);
+            if (value == 0) value = Integer.compare(a.j, b.j);
+            return value != 0 ? value : Integer.compare(a.i, b.i);
+        });
+    }
+
+    /**
+     * @return The reduced Gröbner basis, primitive with positive leading coefficients,
+     *         in descending order of leading monomials.
+     */
+    List<Polynomial> compute(List<Polynomial> generators) {
+        for (Polynomial generator : generators) {
+            Row row = reduce(Row.of(generator.withOrder(order)), activeRows(-1));
+            if (row.isZero()) continue;
+
+            if (add(row)) {
+                return Collections.singletonList(Polynomial.constant(Fraction.ONE, variables, order));
+            }
+        }
+
+        while (!pairs.isEmpty()) {
+            if (listener.isCancelled() || Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Gröbner basis computation was cancelled.");
+            }
+            ComputeBudget.checkpoint();
+
+            Pair pair = pairs.poll();
+            Row h = reduce(sPolynomial(pair), activeRows(-1));
+            reductions++;
+
+            if (!h.isZero() && add(h)) {
+                return Collections.singletonList(Polynomial.constant(Fraction.ONE, variables, order));
+            }
+
+            listener.progress(basis.size(), pairs.size(), reductions);
+        }
+
+        return interreduce();
+    }
+
+    /**
+     * Adds a new basis element and updates the critical pairs.
+     *
+     * @return If the element is a constant, so the ideal is the whole ring.
+     */
+    private boolean add(Row h) {
+        if (h.lead().isOne()) {
+            return true;
+        }
+
+        int index = rows.size();
+        rows.add(h);
+        Monomial lead = h.lead();
+
+        // Pairs of h with the basis, keeping one pair per chain of lcms dividing each other
+        LinkedList<Pair> candidates = new LinkedList<>();
+        for (int g : basis) {
+            candidates.add(new Pair(g, index, rows.get(g), h));
+        }
+
+        List<Pair> kept = new ArrayList<>();
+        while (!candidates.isEmpty()) {
+            Pair pair = candidates.removeFirst();
+            if (rows.get(pair.i).lead().isCoprime(lead)
+                    || !lcmDivides(candidates, pair.lcm) && !lcmDivides(kept, pair.lcm)) {
+                kept.add(pair);
+            }
+        }
+
+        // Product criterion: coprime leading monomials always reduce to zero
+        List<Pair> newPairs = new ArrayList<>();
+        for (Pair pair : kept) {
+            if (!rows.get(pair.i).lead().isCoprime(lead)) {
+                newPairs.add(pair);
+            }
+        }
+
+        // Chain criterion on the old pairs
+        List<Pair> old = new ArrayList<>(pairs);
+        pairs.clear();
+        for (Pair pair : old) {
+            boolean redundant = lead.divides(pair.lcm)
+                    && !rows.get(pair.i).lead().lcm(lead).equals(pair.lcm)
+                    && !rows.get(pair.j).lead().lcm(lead).equals(pair.lcm);
+            if (!redundant) {
+                pairs.add(pair);
+            }
+        }
+        pairs.addAll(newPairs);
+
+        basis.removeIf(g -> lead.divides(rows.get(g).lead()));
+        basis.add(index);
+        return false;
+    }
+
+    private static boolean lcmDivides(List<Pair> pairs, Monomial lcm) {
+        for (Pair pair : pairs) {
+            if (pair.lcm.divides(lcm)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Row sPolynomial(Pair pair) {
+        Row f = rows.get(pair.i);
+        Row g = rows.get(pair.j);
+
+        BigInteger d = f.lc().gcd(g.lc());
+        BigInteger a = g.lc().divide(d);
+        BigInteger b = f.lc().divide(d);
+
+        // a * (lcm / lm f) * f - b * (lcm / lm g) * g, whose leading terms cancel
+        Row s = Row.combine(f, 1, a, pair.lcm.div(f.lead()), g, 1, b, pair.lcm.div(g.lead()), order);
+        return s.withSugar(pair.sugar);
+    }
+
+    private List<Row> activeRows(int except) {
+        List<Row> result = new ArrayList<>(basis.size());
+        for (int g : basis) {
+            if (g != except) result.add(rows.get(g));
+        }
+        return result;
+    }
+
+    /**
+     * Fully reduces a row by the reducers, removing the content of the result.
+     */
+    Row reduce(Row f, List<Row> reducers) {
+        List<Monomial> doneMonomials = new ArrayList<>();
+        List<BigInteger> doneCoefficients = new ArrayList<>();
+        int sugar = f.sugar;
+
+        Row working = f;
+        int offset = 0;
+        while (offset < working.size()) {
+            Monomial t = working.monomials[offset];
+            long mask = mask(t);
+
+            Row reducer = null;
+            for (Row g : reducers) {
+                if ((g.mask & ~mask) == 0 && g.lead().divides(t)) {
+                    reducer = g;
+                    break;
+                }
+            }
+
+            if (reducer == null) {
+                doneMonomials.add(t);
+                doneCoefficients.add(working.coefficients[offset]);
+                offset++;
+                continue;
+            }
+
+            BigInteger c = working.coefficients[offset];
+            ComputeBudget.checkCoefficientBits(c.bitLength());
+            BigInteger d = reducer.lc().gcd(c);
+            BigInteger a = reducer.lc().divide(d);
+            BigInteger b = c.divide(d);
+            Monomial q = t.div(reducer.lead());
+
+            working = Row.combine(working, offset + 1, a, Monomial.one(t.size()), reducer, 1, b, q, order);
+            ComputeBudget.checkTerms((long) working.size() + doneMonomials.size());
+            ComputeBudget.checkpoint();
+            offset = 0;
+            sugar = Math.max(sugar, reducer.sugar + q.degree());
+
+            if (!a.equals(BigInteger.ONE)) {
+                for (int i = 0; i < doneCoefficients.size(); i++) {
+                    doneCoefficients.set(i, doneCoefficients.get(i).multiply(a));
+                }
+            }
+        }
+
+        return Row.primitive(doneMonomials.toArray(new Monomial[doneMonomials.size()]),
+                doneCoefficients.toArray(new BigInteger[doneCoefficients.size()]), sugar);
+    }
+
+    private List<Polynomial> interreduce() {
+        List<Row> reduced = new ArrayList<>();
+        for (int g : basis) {
+            reduced.add(reduce(rows.get(g), activeRows(g)));
+        }
+        reduced.sort((a, b) -> order.compare(b.lead(), a.lead()));
+
+        List<Polynomial> result = new ArrayList<>(reduced.size());
+        for (Row row : reduced) {
+            result.add(row.toPolynomial(variables, order));
+        }
+        return result;
+    }
+
+    static long mask(Monomial monomial) {
+        long mask = 0;
+        for (int i = 0; i < monomial.size(); i++) {
+            if (monomial.getExponent(i) != 0) {
+                mask |= 1L << (i & 63);
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * A critical pair of basis rows {@code i < j}.
+     */
+    private static final class Pair {
+        private final int i;
+        private final int j;
+        private final Monomial lcm;
+        private final int sugar;
+
+        private Pair(int i, int j, Row f, Row g) {
+            this.i = i;
+            this.j = j;
+            this.lcm = f.lead().lcm(g.lead());
+            this.sugar = Math.max(f.sugar - f.lead().degree(), g.sugar - g.lead().degree()) + lcm.degree();
+        }
+    }
+
+    /**
+     * Sparse polynomial with integer coefficients, terms in descending monomial order.
+     */
+    static final class Row {
+        private final Monomial[] monomials;
+        private final BigInteger[] coefficients;
+        private final int sugar;
+        private final long mask;
+
+        private Row(Monomial[] monomials, BigInteger[] coefficients, int sugar) {
+            this.monomials = monomials;
+            this.coefficients = coefficients;
+            this.sugar = sugar;
+            this.mask = monomials.length == 0 ? 0 : mask(monomials[0]);
+        }
+
+        /**
+         * @return The primitive row of a polynomial, with the total degree as its sugar.
+         */
+        static Row of(Polynomial polynomial) {
+            BigInteger lcm = BigInteger.ONE;
+            for (int i = 0; i < polynomial.size(); i++) {
+                BigInteger denominator = BigInteger.valueOf(polynomial.getCoefficient(i).getDenominator());
+                lcm = lcm.divide(lcm.gcd(denominator)).multiply(denominator);
+            }
+
+            Monomial[] monomials = new Monomial[polynomial.size()];
+            BigInteger[] coefficients = new BigInteger[polynomial.size()];
+            for (int i = 0; i < monomials.length; i++) {
+                Fraction coefficient = polynomial.getCoefficient(i);
+                monomials[i] = polynomial.getMonomial(i);
+                coefficients[i] = lcm.multiply(BigInteger.valueOf(coefficient.getNumerator()))
+                        .divide(BigInteger.valueOf(coefficient.getDenominator()));
+            }
+            return primitive(monomials, coefficients, polynomial.degree());
+        }
+
+        static Row primitive(Monomial[] monomials, BigInteger[] coefficients, int sugar) {
+            BigInteger content = BigInteger.ZERO;
+            for (BigInteger coefficient : coefficients) {
+                content = content.gcd(coefficient);
+                if (content.equals(BigInteger.ONE)) break;
+            }
+            if (coefficients.length > 0 && coefficients[0].signum() < 0) {
+                content = content.negate();
+            }
+
+            if (coefficients.length > 0 && !content.equals(BigInteger.ONE)) {
+                for (int i = 0; i < coefficients.length; i++) {
+                    coefficients[i] = coefficients[i].divide(content);
+                }
+            }
+            return new Row(monomials, coefficients, sugar);
+        }
+
+        /**
+         * Merges {@code a * ma * f[fFrom..] - b * mg * g[gFrom..]}.
+         */
+        static Row combine(Row f, int fFrom, BigInteger a, Monomial ma,
+                           Row g, int gFrom, BigInteger b, Monomial mg, MonomialOrder order) {
+            int capacity = f.size() - fFrom + g.size() - gFrom;
+            Monomial[] monomials = new Monomial[capacity];
+            BigInteger[] coefficients = new BigInteger[capacity];
+
+            boolean shiftF = !ma.isOne();
+            int i = fFrom, j = gFrom, length = 0;
+            Monomial x = i < f.size() ? (shiftF ? f.monomials[i].times(ma) : f.monomials[i]) : null;
+            Monomial y = j < g.size() ? g.monomials[j].times(mg) : null;
+
+            while (x != null || y != null) {
+                int value = x == null ? -1 : y == null ? 1 : order.compare(x, y);
+
+                if (value > 0) {
+                    monomials[length] = x;
+                    coefficients[length++] = f.coefficients[i].multiply(a);
+                    i++;
+                } else if (value < 0) {
+                    monomials[length] = y;
+                    coefficients[length++] = g.coefficients[j].multiply(b).negate();
+                    j++;
+                } else {
+                    BigInteger sum = f.coefficients[i].multiply(a).subtract(g.coefficients[j].multiply(b));
+                    if (sum.signum() != 0) {
+                        monomials[length] = x;
+                        coefficients[length++] = sum;
+                    }
+                    i++;
+                    j++;
+                }
+
+                if (value >= 0) x = i < f.size() ? (shiftF ? f.monomials[i].times(ma) : f.monomials[i]) : null;
+                if (value <= 0) y = j < g.size() ? g.monomials[j].times(mg) : null;
+            }
+
+            return new Row(Arrays.copyOf(monomials, length), Arrays.copyOf(coefficients, length),
+                    Math.max(f.sugar + ma.degree(), g.sugar + mg.degree()));
+        }
+
+        Row withSugar(int sugar) {
+            return new Row(monomials, coefficients, sugar);
+        }
+
+        int size() {
+            return monomials.length;
+        }
+
+        boolean isZero() {
+            return monomials.length == 0;
+        }
+
+        Monomial lead() {
+            return monomials[0];
+        }
+
+        BigInteger lc() {
+            return coefficients[0];
+        }
+
+        Polynomial toPolynomial(List<String> variables, MonomialOrder order) {
+            Map<Monomial, Fraction> terms = new HashMap<>();
+            for (int i = 0; i < monomials.length; i++) {
+                if (coefficients[i].bitLength() >= 32) {
+                    throw new ArithmeticException("Gröbner basis coefficient " + coefficients[i]
+                            + " does not fit in a fraction.");
+                }
+                terms.put(monomials[i], Fraction.valueOf(coefficients[i].intValue()));
+            }
+            return Polynomial.of(terms, variables, order);
+        }
+    }
+}
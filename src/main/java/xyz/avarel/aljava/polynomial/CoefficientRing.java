@@ -0,0 +1,82 @@
+package xyz.avarel.aljava.polynomial;
+
+import xyz.avarel.aljava.Fraction;
+
+/**
+ * A commutative ring whose elements are held in primitive longs, so that a {@link RingPolynomial}
+ * needs no object per coefficient.
+ * <p>
+ * Elements are in the ring's own internal representation, which need not be the integer they
+ * stand for; convert with {@link #valueOf(long)} and {@link #toLong(long)}.
+ */
+public interface CoefficientRing {
+    /**
+     * The integers, with {@link ArithmeticException}s on overflow.
+     */
+    CoefficientRing INTEGERS = new IntegerRing();
+
+    /**
+     * @param modulus An odd modulus between 3 and 2^62, which must be prime for {@link #inverse(long)} to always succeed.
+     * @return The integers modulo {@code modulus}, with Montgomery multiplication.
+     */
+    static CoefficientRing modulo(long modulus) {
+        return new MontgomeryRing(modulus);
+    }
+
+    /**
+     * @return The modulus of a ring of integers modulo {@code p}, or 0 for the integers.
+     */
+    long characteristic();
+
+    long zero();
+
+    long one();
+
+    long valueOf(long value);
+
+    /**
+     * @throws ArithmeticException If the denominator is not invertible.
+     */
+    long valueOf(Fraction value);
+
+    /**
+     * @return The canonical integer for an element, in {@code [0, p)} modulo {@code p}.
+     */
+    long toLong(long element);
+
+    long add(long a, long b);
+
+    long subtract(long a, long b);
+
+    long negate(long a);
+
+    long multiply(long a, long b);
+
+    /**
+     * @throws ArithmeticException If the element is not a unit.
+     */
+    long inverse(long a);
+
+    /**
+     * @return If every nonzero element is a unit.
+     */
+    boolean isField();
+
+    default long divide(long a, long b) {
+        return multiply(a, inverse(b));
+    }
+
+    default long pow(long base, long exponent) {
+        if (exponent < 0) {
+            return pow(inverse(base), -exponent);
+        }
+
+        long result = one();
+        while (exponent != 0) {
+            if ((exponent & 1) != 0) result = multiply(result, base);
+            base = multiply(base, base);
+            exponent >>= 1;
+        }
+        return result;
+    }
+}
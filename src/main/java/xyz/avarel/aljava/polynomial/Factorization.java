@@ -0,0 +1,171 @@
+package xyz.avarel.aljava.polynomial;
+
+import xyz.avarel.aljava.Fraction;
+
+import java.math.BigInteger;
+import java.util.*;
+
+/**
+ * Factorization over the rationals.
+ * <p>
+ * The content and the largest monomial dividing every term are split off first. A univariate
+ * remainder is then broken into square-free parts with Yun's algorithm, and each part is
+ * factored by {@link Zassenhaus}.
+ */
+final class Factorization {
+    private Factorization() {}
+
+    static List<Polynomial> factor(Polynomial polynomial) {
+        List<String> variables = polynomial.getVariables();
+        MonomialOrder order = polynomial.getOrder();
+
+        if (polynomial.isConstant()) {
+            return Collections.singletonList(polynomial);
+        }
+
+        List<Polynomial> result = new ArrayList<>();
+
+        Polynomial lex = polynomial.withOrder(MonomialOrder.LEX);
+        Fraction content = lex.content();
+        if (lex.leadingCoefficient().getNumerator() < 0) {
+            content = content.times(-1);
+        }
+        if (!content.equals(Fraction.ONE)) {
+            result.add(Polynomial.constant(content, variables, order));
+        }
+        lex = lex.times(content.reciprocal());
+
+        Monomial common = lex.getMonomial(0);
+        for (int i = 1; i < lex.size(); i++) {
+            common = common.gcd(lex.getMonomial(i));
+        }
+
+        List<Polynomial> factors = new ArrayList<>();
+        for (int i = 0; i < variables.size(); i++) {
+            int[] exponents = new int[variables.size()];
+            exponents[i] = 1;
+            Polynomial variable = Polynomial.of(Collections.singletonMap(new Monomial(exponents), Fraction.ONE),
+                    variables, MonomialOrder.LEX);
+            for (int j = 0; j < common.getExponent(i); j++) {
+                factors.add(variable);
+            }
+        }
+
+        if (!common.isOne()) {
+            Map<Monomial, Fraction> terms = new HashMap<>();
+            for (int i = 0; i < lex.size(); i++) {
+                terms.put(lex.getMonomial(i).div(common), lex.getCoefficient(i));
+            }
+            lex = Polynomial.of(terms, variables, MonomialOrder.LEX);
+        }
+
+        int variable = singleVariable(lex);
+        if (variable >= 0) {
+            for (Map.Entry<Polynomial, Integer> entry : squareFree(lex, variable).entrySet()) {
+                for (BigInteger[] factor : Zassenhaus.factor(toDense(entry.getKey(), variable))) {
+                    Polynomial irreducible = fromDense(factor, variable, variables);
+                    for (int i = 0; i < entry.getValue(); i++) {
+                        factors.add(irreducible);
+                    }
+                }
+            }
+        } else if (!lex.isConstant()) {
+            factors.add(lex);
+        }
+
+        factors.sort(Comparator.comparingInt((Polynomial factor) -> factor.degree()).thenComparing(Polynomial::toString));
+        for (Polynomial factor : factors) {
+            result.add(factor.withOrder(order));
+        }
+        return result;
+    }
+
+    /**
+     * Yun's algorithm: with {@code f = a1 * a2^2 * ... * ak^k} for square-free, pairwise coprime {@code ai},
+     * {@code gcd(f, f') = a2 * a3^2 * ...} and each {@code ai} falls out of one more GCD.
+     *
+     * @return The non-constant primitive {@code ai} mapped to {@code i}.
+     */
+    static Map<Polynomial, Integer> squareFree(Polynomial f, int variable) {
+        Map<Polynomial, Integer> result = new LinkedHashMap<>();
+
+        Polynomial derivative = f.derivative(variable);
+        Polynomial a = f.gcd(derivative);
+        Polynomial b = divideExactly(f, a);
+        Polynomial c = divideExactly(derivative, a);
+        Polynomial d = c.minus(b.derivative(variable));
+
+        for (int i = 1; !b.isConstant(); i++) {
+            a = b.gcd(d);
+            if (!a.isConstant()) {
+                result.put(primitive(a), i);
+            }
+
+            b = divideExactly(b, a);
+            c = divideExactly(d, a);
+            d = c.minus(b.derivative(variable));
+        }
+
+        return result;
+    }
+
+    private static Polynomial divideExactly(Polynomial a, Polynomial b) {
+        Polynomial[] result = a.divideAndRemainder(b);
+        if (!result[1].isZero()) {
+            throw new ArithmeticException("(" + b + ") does not divide (" + a + ")");
+        }
+        return result[0];
+    }
+
+    private static Polynomial primitive(Polynomial polynomial) {
+        Fraction content = polynomial.content();
+        if (polynomial.leadingCoefficient().getNumerator() < 0) {
+            content = content.times(-1);
+        }
+        return polynomial.times(content.reciprocal());
+    }
+
+    /**
+     * @return The only variable that occurs, or -1 if there is none or several.
+     */
+    private static int singleVariable(Polynomial polynomial) {
+        int variable = -1;
+        for (int i = 0; i < polynomial.size(); i++) {
+            Monomial monomial = polynomial.getMonomial(i);
+            for (int j = 0; j < monomial.size(); j++) {
+                if (monomial.getExponent(j) == 0) continue;
+
+                if (variable == -1) {
+                    variable = j;
+                } else if (variable != j) {
+                    return -1;
+                }
+            }
+        }
+        return variable;
+    }
+
+    private static BigInteger[] toDense(Polynomial polynomial, int variable) {
+        BigInteger[] result = new BigInteger[polynomial.degree(variable) + 1];
+        Arrays.fill(result, BigInteger.ZERO);
+        for (int i = 0; i < polynomial.size(); i++) {
+            Fraction coefficient = polynomial.getCoefficient(i);
+            result[polynomial.getMonomial(i).getExponent(variable)] = BigInteger.valueOf(coefficient.getNumerator());
+        }
+        return result;
+    }
+
+    private static Polynomial fromDense(BigInteger[] coefficients, int variable, List<String> variables) {
+        Map<Monomial, Fraction> terms = new HashMap<>();
+        for (int i = 0; i < coefficients.length; i++) {
+            if (coefficients[i].bitLength() >= 32) {
+                throw new ArithmeticException("Factor coefficient " + coefficients[i] + " does not fit in a fraction.");
+            }
+
+            int[] exponents = new int[variables.size()];
+            exponents[variable] = i;
+            terms.put(new Monomial(exponents), Fraction.valueOf(coefficients[i].intValue()));
+        }
+        return Polynomial.of(terms, variables, MonomialOrder.LEX);
+    }
+}
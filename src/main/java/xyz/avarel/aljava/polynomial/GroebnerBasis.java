@@ -0,0 +1,131 @@
+package xyz.avarel.aljava.polynomial;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The reduced Gröbner basis of the ideal generated by a list of polynomials.
+ * <p>
+ * Elements are primitive integer polynomials with positive leading coefficients rather than
+ * monic ones, which keeps them free of denominators but still unique for a given ideal and
+ * {@link MonomialOrder}. Under {@link MonomialOrder#LEX} the basis is triangular, the last
+ * elements only involving the last variables, which is what {@link PolynomialSystem} solves with.
+ *
+ * @see Buchberger
+ */
+public final class GroebnerBasis {
+    /**
+     * Observes a running computation. Both methods are called from the computing thread.
+     */
+    public interface Listener {
+        Listener NONE = new Listener() {};
+
+        /**
+         * Called after each critical pair has been reduced.
+         */
+        default void progress(int basisSize, int pendingPairs, int reductions) {}
+
+        /**
+         * Polled before each critical pair, returning true abandons the computation
+         * with a {@link java.util.concurrent.CancellationException}.
+         */
+        default boolean isCancelled() {
+            return false;
+        }
+    }
+
+    private final List<String> variables;
+    private final MonomialOrder order;
+    private final List<Polynomial> polynomials;
+
+    private GroebnerBasis(List<String> variables, MonomialOrder order, List<Polynomial> polynomials) {
+        this.variables = variables;
+        this.order = order;
+        this.polynomials = polynomials;
+    }
+
+    /**
+     * Computes the basis under the order of the first generator.
+     */
+    public static GroebnerBasis of(List<Polynomial> generators) {
+        return of(generators, Listener.NONE);
+    }
+
+    /**
+     * @throws java.util.concurrent.CancellationException If the listener cancels the computation
+     *         or the thread is interrupted.
+     */
+    public static GroebnerBasis of(List<Polynomial> generators, Listener listener) {
+        if (generators.isEmpty()) {
+            throw new IllegalArgumentException("Ideal needs at least one generator.");
+        }
+
+        List<String> variables = generators.get(0).getVariables();
+        MonomialOrder order = generators.get(0).getOrder();
+        for (Polynomial generator : generators) {
+            if (!variables.equals(generator.getVariables())) {
+                throw new IllegalArgumentException("Polynomials are over different variables: "
+                        + variables + " and " + generator.getVariables());
+            }
+        }
+
+        List<Polynomial> basis = new Buchberger(variables, order, listener).compute(generators);
+        return new GroebnerBasis(variables, order, Collections.unmodifiableList(new ArrayList<>(basis)));
+    }
+
+    public List<String> getVariables() {
+        return variables;
+    }
+
+    public MonomialOrder getOrder() {
+        return order;
+    }
+
+    /**
+     * @return The basis in descending order of leading monomials.
+     */
+    public List<Polynomial> getPolynomials() {
+        return polynomials;
+    }
+
+    /**
+     * @return If the ideal is the whole ring, so the generators have no common zero.
+     */
+    public boolean isUnit() {
+        return polynomials.size() == 1 && polynomials.get(0).isConstant() && !polynomials.get(0).isZero();
+    }
+
+    /**
+     * @return The normal form, which is the same for any two polynomials that differ by an element of the ideal.
+     */
+    public Polynomial reduce(Polynomial polynomial) {
+        return polynomial.withOrder(order).reduce(polynomials);
+    }
+
+    /**
+     * Ideal membership.
+     */
+    public boolean contains(Polynomial polynomial) {
+        return reduce(polynomial).isZero();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof GroebnerBasis) {
+            GroebnerBasis other = (GroebnerBasis) obj;
+            return order == other.order && polynomials.equals(other.polynomials);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return polynomials.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return polynomials.toString();
+    }
+}
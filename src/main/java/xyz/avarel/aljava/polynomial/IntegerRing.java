@@ -0,0 +1,79 @@
+package xyz.avarel.aljava.polynomial;
+
+import xyz.avarel.aljava.Fraction;
+
+/**
+ * The integers in a long, where elements are their own representation.
+ */
+final class IntegerRing implements CoefficientRing {
+    @Override
+    public long characteristic() {
+        return 0;
+    }
+
+    @Override
+    public long zero() {
+        return 0;
+    }
+
+    @Override
+    public long one() {
+        return 1;
+    }
+
+    @Override
+    public long valueOf(long value) {
+        return value;
+    }
+
+    @Override
+    public long valueOf(Fraction value) {
+        if (value.getNumerator() % value.getDenominator() != 0) {
+            throw new ArithmeticException(value + " is not an integer.");
+        }
+        return value.getNumerator() / value.getDenominator();
+    }
+
+    @Override
+    public long toLong(long element) {
+        return element;
+    }
+
+    @Override
+    public long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    @Override
+    public long subtract(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+
+    @Override
+    public long negate(long a) {
+        return Math.negateExact(a);
+    }
+
+    @Override
+    public long multiply(long a, long b) {
+        return Math.multiplyExact(a, b);
+    }
+
+    @Override
+    public long inverse(long a) {
+        if (a != 1 && a != -1) {
+            throw new ArithmeticException(a + " is not invertible in the integers.");
+        }
+        return a;
+    }
+
+    @Override
+    public boolean isField() {
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "Z";
+    }
+}
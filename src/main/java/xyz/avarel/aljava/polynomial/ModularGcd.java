@@ -0,0 +1,319 @@
+package xyz.avarel.aljava.polynomial;
+
+import xyz.avarel.aljava.Fraction;
+
+import java.math.BigInteger;
+import java.util.*;
+
+/**
+ * Brown's modular GCD algorithm.
+ * <p>
+ * The primitive parts of the inputs are mapped into {@link RingPolynomial}s over
+ * {@link CoefficientRing#modulo(long) Z/pZ} for word-sized primes, where
+ * the GCD is found by evaluating all but the first variable at points, taking univariate GCDs
+ * and interpolating back. The images are combined with the Chinese remainder theorem until
+ * the result stops changing, and the candidate is accepted once it divides both inputs.
+ * Coefficients never grow beyond the size of the answer, unlike Euclid's algorithm over the rationals.
+ */
+final class ModularGcd {
+    /**
+     * Give up after this many primes; each one carries 31 bits of the answer's coefficients.
+     */
+    private static final int MAX_PRIMES = 64;
+
+    private ModularGcd() {}
+
+    /**
+     * @return The GCD with a positive leading coefficient, scaled by the GCD of the contents.
+     */
+    static Polynomial gcd(Polynomial a, Polynomial b) {
+        MonomialOrder order = a.getOrder();
+        List<String> variables = a.getVariables();
+
+        if (a.isZero()) return normalize(b);
+        if (b.isZero()) return normalize(a);
+
+        Fraction contentA = a.content();
+        Fraction contentB = b.content();
+        Fraction content = Fraction.valueOf(gcd(contentA.getNumerator(), contentB.getNumerator()),
+                lcm(contentA.getDenominator(), contentB.getDenominator()));
+
+        Polynomial primitiveA = a.withOrder(MonomialOrder.LEX).times(contentA.reciprocal());
+        Polynomial primitiveB = b.withOrder(MonomialOrder.LEX).times(contentB.reciprocal());
+
+        if (primitiveA.isConstant() || primitiveB.isConstant()) {
+            return Polynomial.constant(content, variables, order);
+        }
+
+        long leadingA = primitiveA.leadingCoefficient().getNumerator();
+        long leadingB = primitiveB.leadingCoefficient().getNumerator();
+        long leadingGcd = gcd(Math.abs(leadingA), Math.abs(leadingB));
+
+        Map<Monomial, BigInteger> image = null;
+        Map<Monomial, BigInteger> previous = null;
+        BigInteger modulus = BigInteger.ONE;
+
+        long prime = Primes.LARGEST_PRIME + 1;
+        for (int i = 0; i < MAX_PRIMES; i++) {
+            prime = Primes.previousPrime(prime);
+            if (leadingA % prime == 0 || leadingB % prime == 0) {
+                continue;
+            }
+
+            CoefficientRing ring = CoefficientRing.modulo(prime);
+            RingPolynomial gcd = gcd(
+                    RingPolynomial.of(primitiveA, ring),
+                    RingPolynomial.of(primitiveB, ring),
+                    variables.size() - 1);
+
+            if (gcd.isConstant()) {
+                // The degree of an image can only be too large, never too small
+                return Polynomial.constant(content, variables, order);
+            }
+
+            gcd = gcd.times(leadingGcd);
+
+            int value = image == null ? -1 : MonomialOrder.LEX.compare(gcd.leadingMonomial(), leadingMonomial(image));
+            if (value < 0) {
+                // Every earlier prime was unlucky
+                image = new HashMap<>();
+                for (int j = 0; j < gcd.size(); j++) {
+                    image.put(gcd.getMonomial(j), BigInteger.valueOf(gcd.getCoefficient(j)));
+                }
+                modulus = BigInteger.valueOf(prime);
+                previous = null;
+            } else if (value > 0) {
+                continue;
+            } else {
+                image = chineseRemainder(image, modulus, gcd);
+                modulus = modulus.multiply(BigInteger.valueOf(prime));
+            }
+
+            Map<Monomial, BigInteger> symmetric = symmetric(image, modulus);
+            if (symmetric.equals(previous)) {
+                Polynomial candidate = primitive(symmetric, variables);
+                if (candidate != null
+                        && primitiveA.divideAndRemainder(candidate)[1].isZero()
+                        && primitiveB.divideAndRemainder(candidate)[1].isZero()) {
+                    return candidate.times(content).withOrder(order);
+                }
+            }
+            previous = symmetric;
+        }
+
+        throw new ArithmeticException("GCD of (" + a + ") and (" + b + ") did not converge.");
+    }
+
+    /**
+     * Brown's algorithm over {@code Z/pZ}, for polynomials in lexicographic order in the
+     * variables up to {@code last}.
+     *
+     * @return The monic GCD.
+     */
+    static RingPolynomial gcd(RingPolynomial a, RingPolynomial b, int last) {
+        if (a.isZero()) return b.monic();
+        if (b.isZero()) return a.monic();
+        if (last <= 0) return univariateGcd(a, b);
+
+        CoefficientRing ring = a.getRing();
+        List<String> variables = a.getVariables();
+        long p = ring.characteristic();
+
+        // Split off the contents, which are polynomials in the last variable
+        RingPolynomial contentA = content(a, last);
+        RingPolynomial contentB = content(b, last);
+        RingPolynomial content = univariateGcd(contentA, contentB);
+
+        a = a.divideExactly(contentA);
+        b = b.divideExactly(contentB);
+
+        if (a.isConstant() || b.isConstant()) {
+            return content;
+        }
+
+        RingPolynomial leadingA = a.coefficientsOver(last).get(0);
+        RingPolynomial leadingB = b.coefficientsOver(last).get(0);
+        RingPolynomial leadingGcd = univariateGcd(leadingA, leadingB);
+
+        // Interpolation needs one more point than the degree of the scaled GCD in the last variable
+        int bound = leadingGcd.degree(last) + Math.min(a.degree(last), b.degree(last));
+
+        int[] exponents = new int[variables.size()];
+        exponents[last] = 1;
+        RingPolynomial x = RingPolynomial.monomial(new Monomial(exponents), 1, ring, variables, MonomialOrder.LEX);
+
+        RingPolynomial interpolant = null;
+        RingPolynomial points = null;
+
+        for (long alpha = 1; alpha < p; alpha++) {
+            if (leadingA.evaluateUnivariate(last, alpha) == 0 || leadingB.evaluateUnivariate(last, alpha) == 0) {
+                continue;
+            }
+
+            RingPolynomial image = gcd(a.evaluate(last, alpha), b.evaluate(last, alpha), last - 1)
+                    .times(leadingGcd.evaluateUnivariate(last, alpha));
+            RingPolynomial factor = x.minus(RingPolynomial.constant(alpha, ring, variables, MonomialOrder.LEX));
+
+            int value = interpolant == null ? -1
+                    : MonomialOrder.LEX.compare(image.leadingMonomial(), withoutVariable(interpolant.leadingMonomial(), last));
+
+            if (value < 0) {
+                // Every earlier point was unlucky
+                interpolant = image;
+                points = factor;
+            } else if (value > 0) {
+                continue;
+            } else {
+                // Newton interpolation: H + (image - H(alpha)) * q / q(alpha)
+                long scale = ring.toLong(ring.inverse(ring.valueOf(points.evaluateUnivariate(last, alpha))));
+                RingPolynomial correction = image.minus(interpolant.evaluate(last, alpha));
+                interpolant = interpolant.plus(correction.times(points).times(scale));
+                points = points.times(factor);
+            }
+
+            if (points.degree(last) > bound) {
+                RingPolynomial candidate = interpolant.divideExactly(content(interpolant, last));
+                if (a.divideExactly(candidate) != null && b.divideExactly(candidate) != null) {
+                    return candidate.times(content).monic();
+                }
+            }
+        }
+
+        throw new ArithmeticException("Ran out of evaluation points in " + ring);
+    }
+
+    /**
+     * @return The monic GCD of two polynomials in the same single variable.
+     */
+    static RingPolynomial univariateGcd(RingPolynomial a, RingPolynomial b) {
+        while (!b.isZero()) {
+            RingPolynomial remainder = a.divideAndRemainder(b)[1];
+            a = b;
+            b = remainder;
+        }
+        return a.monic();
+    }
+
+    /**
+     * @return The monic GCD of the coefficients when viewed as a polynomial over {@code Z/pZ[last]}.
+     */
+    private static RingPolynomial content(RingPolynomial polynomial, int last) {
+        RingPolynomial content = null;
+        for (RingPolynomial coefficient : polynomial.coefficientsOver(last)) {
+            content = content == null ? coefficient.monic() : univariateGcd(content, coefficient);
+            if (content.isConstant()) {
+                break;
+            }
+        }
+        return content;
+    }
+
+    private static Monomial withoutVariable(Monomial monomial, int variable) {
+        int[] exponents = monomial.getExponents();
+        exponents[variable] = 0;
+        return new Monomial(exponents);
+    }
+
+    private static Monomial leadingMonomial(Map<Monomial, BigInteger> terms) {
+        Monomial leading = null;
+        for (Monomial monomial : terms.keySet()) {
+            if (leading == null || MonomialOrder.LEX.compare(monomial, leading) > 0) {
+                leading = monomial;
+            }
+        }
+        return leading;
+    }
+
+    /**
+     * @return The coefficients {@code h'} with {@code h' = h (mod m)} and {@code h' = image (mod p)}.
+     */
+    private static Map<Monomial, BigInteger> chineseRemainder(Map<Monomial, BigInteger> h, BigInteger m, RingPolynomial image) {
+        CoefficientRing ring = image.getRing();
+        BigInteger bigP = BigInteger.valueOf(ring.characteristic());
+        long inverse = ring.inverse(ring.valueOf(m.mod(bigP).longValue()));
+
+        Map<Monomial, Long> residues = new HashMap<>();
+        for (int i = 0; i < image.size(); i++) {
+            residues.put(image.getMonomial(i), image.getCoefficient(i));
+        }
+
+        Map<Monomial, BigInteger> result = new HashMap<>();
+        for (Monomial monomial : union(h.keySet(), residues.keySet())) {
+            BigInteger value = h.getOrDefault(monomial, BigInteger.ZERO);
+            long residue = residues.getOrDefault(monomial, 0L);
+
+            long t = ring.multiply(ring.subtract(ring.valueOf(residue), ring.valueOf(value.mod(bigP).longValue())), inverse);
+            BigInteger combined = value.add(m.multiply(BigInteger.valueOf(ring.toLong(t))));
+            if (combined.signum() != 0) {
+                result.put(monomial, combined);
+            }
+        }
+        return result;
+    }
+
+    private static Set<Monomial> union(Set<Monomial> a, Set<Monomial> b) {
+        Set<Monomial> result = new HashSet<>(a);
+        result.addAll(b);
+        return result;
+    }
+
+    private static Map<Monomial, BigInteger> symmetric(Map<Monomial, BigInteger> terms, BigInteger modulus) {
+        BigInteger half = modulus.shiftRight(1);
+
+        Map<Monomial, BigInteger> result = new HashMap<>();
+        for (Map.Entry<Monomial, BigInteger> entry : terms.entrySet()) {
+            BigInteger value = entry.getValue();
+            result.put(entry.getKey(), value.compareTo(half) > 0 ? value.subtract(modulus) : value);
+        }
+        return result;
+    }
+
+    /**
+     * @return The primitive part with a positive leading coefficient, or null if it does not fit in a {@link Fraction}.
+     */
+    private static Polynomial primitive(Map<Monomial, BigInteger> terms, List<String> variables) {
+        BigInteger content = BigInteger.ZERO;
+        for (BigInteger value : terms.values()) {
+            content = content.gcd(value);
+        }
+        if (terms.get(leadingMonomial(terms)).signum() < 0) {
+            content = content.negate();
+        }
+
+        Map<Monomial, Fraction> result = new HashMap<>();
+        for (Map.Entry<Monomial, BigInteger> entry : terms.entrySet()) {
+            BigInteger value = entry.getValue().divide(content);
+            if (value.bitLength() >= 32) {
+                return null;
+            }
+            result.put(entry.getKey(), Fraction.valueOf(value.intValue()));
+        }
+        return Polynomial.of(result, variables, MonomialOrder.LEX);
+    }
+
+    private static Polynomial normalize(Polynomial polynomial) {
+        if (!polynomial.isZero() && polynomial.withOrder(MonomialOrder.LEX).leadingCoefficient().getNumerator() < 0) {
+            return polynomial.negate();
+        }
+        return polynomial;
+    }
+
+    static int gcd(int a, int b) {
+        return (int) gcd((long) a, (long) b);
+    }
+
+    static long gcd(long a, long b) {
+        a = Math.abs(a);
+        b = Math.abs(b);
+        while (b != 0) {
+            long c = b;
+            b = a % b;
+            a = c;
+        }
+        return a;
+    }
+
+    static int lcm(int a, int b) {
+        return Math.toIntExact((long) a / gcd(a, b) * b);
+    }
+}
@@ -0,0 +1,128 @@
+package xyz.avarel.aljava.polynomial;
+
+import java.util.Arrays;
+
+/**
+ * A power product {@code x0^e0 * x1^e1 * ...} over the variables of a {@link Polynomial}.
+ * <p>
+ * Monomials are immutable and cache their hash and total degree, so they can be
+ * used directly as keys while collecting like terms.
+ */
+public final class Monomial {
+    private final int[] exponents;
+    private final int degree;
+    private final int hash;
+
+    public Monomial(int... exponents) {
+        this.exponents = exponents;
+
+        int degree = 0;
+        for (int exponent : exponents) {
+            if (exponent < 0) {
+                throw new ArithmeticException("Monomials can not have negative exponents.");
+            }
+            degree += exponent;
+        }
+        this.degree = degree;
+        this.hash = Arrays.hashCode(exponents);
+    }
+
+    public static Monomial one(int variables) {
+        return new Monomial(new int[variables]);
+    }
+
+    public int size() {
+        return exponents.length;
+    }
+
+    public int getExponent(int variable) {
+        return exponents[variable];
+    }
+
+    public int[] getExponents() {
+        return exponents.clone();
+    }
+
+    public int degree() {
+        return degree;
+    }
+
+    public boolean isOne() {
+        return degree == 0;
+    }
+
+    public Monomial times(Monomial other) {
+        int[] result = new int[exponents.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = exponents[i] + other.exponents[i];
+        }
+        return new Monomial(result);
+    }
+
+    public boolean divides(Monomial other) {
+        for (int i = 0; i < exponents.length; i++) {
+            if (exponents[i] > other.exponents[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @throws ArithmeticException If {@code other} does not divide this monomial.
+     */
+    public Monomial div(Monomial other) {
+        int[] result = new int[exponents.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = exponents[i] - other.exponents[i];
+        }
+        return new Monomial(result);
+    }
+
+    public Monomial lcm(Monomial other) {
+        int[] result = new int[exponents.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = Math.max(exponents[i], other.exponents[i]);
+        }
+        return new Monomial(result);
+    }
+
+    public Monomial gcd(Monomial other) {
+        int[] result = new int[exponents.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = Math.min(exponents[i], other.exponents[i]);
+        }
+        return new Monomial(result);
+    }
+
+    /**
+     * @return If no variable appears in both monomials.
+     */
+    public boolean isCoprime(Monomial other) {
+        for (int i = 0; i < exponents.length; i++) {
+            if (exponents[i] != 0 && other.exponents[i] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof Monomial) {
+            Monomial other = (Monomial) obj;
+            return hash == other.hash && Arrays.equals(exponents, other.exponents);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(exponents);
+    }
+}
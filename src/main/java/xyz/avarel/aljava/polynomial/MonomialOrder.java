@@ -0,0 +1,45 @@
+package xyz.avarel.aljava.polynomial;
+
+import java.util.Comparator;
+
+/**
+ * A total order on {@link Monomial}s compatible with multiplication.
+ * <p>
+ * Any admissible order can be plugged in; the common ones are provided as constants.
+ * Variables are compared in the order of {@link Polynomial#getVariables()}.
+ */
+public interface MonomialOrder extends Comparator<Monomial> {
+    /**
+     * Lexicographic order, the first variable dominates.
+     */
+    MonomialOrder LEX = (a, b) -> {
+        for (int i = 0; i < a.size(); i++) {
+            int value = Integer.compare(a.getExponent(i), b.getExponent(i));
+            if (value != 0) return value;
+        }
+        return 0;
+    };
+
+    /**
+     * Graded lexicographic order, total degree first with ties broken lexicographically.
+     */
+    MonomialOrder GRLEX = (a, b) -> {
+        int value = Integer.compare(a.degree(), b.degree());
+        return value != 0 ? value : LEX.compare(a, b);
+    };
+
+    /**
+     * Graded reverse lexicographic order, total degree first, then the monomial with the
+     * smaller exponent in the last differing variable is larger.
+     */
+    MonomialOrder GREVLEX = (a, b) -> {
+        int value = Integer.compare(a.degree(), b.degree());
+        if (value != 0) return value;
+
+        for (int i = a.size() - 1; i >= 0; i--) {
+            value = Integer.compare(b.getExponent(i), a.getExponent(i));
+            if (value != 0) return value;
+        }
+        return 0;
+    };
+}
@@ -0,0 +1,174 @@
+package xyz.avarel.aljava.polynomial;
+
+import xyz.avarel.aljava.Fraction;
+
+import java.math.BigInteger;
+
+/**
+ * The integers modulo an odd {@code p < 2^62} in Montgomery form.
+ * <p>
+ * An element {@code a} is stored as {@code aR mod p} with {@code R = 2^64}. The product of two
+ * stored elements is brought back into range by Montgomery reduction, which only needs
+ * multiplications, a shift and one conditional subtraction instead of a division by {@code p}.
+ */
+final class MontgomeryRing implements CoefficientRing {
+    private final long modulus;
+    /**
+     * {@code -p^-1 mod 2^64}
+     */
+    private final long negativeInverse;
+    /**
+     * {@code R mod p}, the representation of 1.
+     */
+    private final long one;
+    /**
+     * {@code R^2 mod p}, for converting into Montgomery form.
+     */
+    private final long rSquared;
+    private final boolean field;
+
+    MontgomeryRing(long modulus) {
+        if (modulus < 3 || modulus >= 1L << 62 || (modulus & 1) == 0) {
+            throw new IllegalArgumentException("Modulus " + modulus + " must be odd and between 3 and 2^62.");
+        }
+        this.modulus = modulus;
+
+        // Newton's iteration doubles the correct low bits each step: 3 -> 6 -> 12 -> 24 -> 48 -> 96
+        long inverse = modulus;
+        for (int i = 0; i < 5; i++) {
+            inverse *= 2 - modulus * inverse;
+        }
+        this.negativeInverse = -inverse;
+
+        BigInteger p = BigInteger.valueOf(modulus);
+        this.one = BigInteger.ONE.shiftLeft(64).mod(p).longValue();
+        this.rSquared = BigInteger.ONE.shiftLeft(128).mod(p).longValue();
+        this.field = modulus <= Primes.LARGEST_PRIME ? Primes.isPrime(modulus) : p.isProbablePrime(64);
+    }
+
+    @Override
+    public long characteristic() {
+        return modulus;
+    }
+
+    /**
+     * @return {@code (hi * 2^64 + lo) / R mod p}, for {@code hi < p}.
+     */
+    private long reduce(long hi, long lo) {
+        long m = lo * negativeInverse;
+        // lo + m * p is a multiple of 2^64, carrying out exactly when lo is nonzero
+        long result = hi + unsignedMultiplyHigh(m, modulus) + (lo != 0 ? 1 : 0);
+        return result >= modulus ? result - modulus : result;
+    }
+
+    @Override
+    public long zero() {
+        return 0;
+    }
+
+    @Override
+    public long one() {
+        return one;
+    }
+
+    @Override
+    public long valueOf(long value) {
+        return multiply(Math.floorMod(value, modulus), rSquared);
+    }
+
+    @Override
+    public long valueOf(Fraction value) {
+        return divide(valueOf(value.getNumerator()), valueOf(value.getDenominator()));
+    }
+
+    @Override
+    public long toLong(long element) {
+        return reduce(0, element);
+    }
+
+    @Override
+    public long add(long a, long b) {
+        long sum = a + b;
+        return sum >= modulus ? sum - modulus : sum;
+    }
+
+    @Override
+    public long subtract(long a, long b) {
+        long difference = a - b;
+        return difference < 0 ? difference + modulus : difference;
+    }
+
+    @Override
+    public long negate(long a) {
+        return a == 0 ? 0 : modulus - a;
+    }
+
+    @Override
+    public long multiply(long a, long b) {
+        return reduce(multiplyHigh(a, b), a * b);
+    }
+
+    @Override
+    public long inverse(long a) {
+        // Extended Euclid on the plain value, then back into Montgomery form
+        long t = 0, newT = 1;
+        long r = modulus, newR = toLong(a);
+        while (newR != 0) {
+            long q = r / newR;
+
+            long temp = t - q * newT;
+            t = newT;
+            newT = temp;
+
+            temp = r - q * newR;
+            r = newR;
+            newR = temp;
+        }
+
+        if (r != 1) {
+            throw new ArithmeticException(toLong(a) + " is not invertible modulo " + modulus);
+        }
+        return valueOf(t);
+    }
+
+    @Override
+    public boolean isField() {
+        return field;
+    }
+
+    /**
+     * High 64 bits of the signed 128-bit product, as {@code Math.multiplyHigh} in later JDKs.
+     */
+    static long multiplyHigh(long x, long y) {
+        long x1 = x >> 32;
+        long x2 = x & 0xFFFFFFFFL;
+        long y1 = y >> 32;
+        long y2 = y & 0xFFFFFFFFL;
+
+        long z2 = x2 * y2;
+        long t = x1 * y2 + (z2 >>> 32);
+        long z1 = (t & 0xFFFFFFFFL) + x2 * y1;
+        long z0 = t >> 32;
+
+        return x1 * y1 + z0 + (z1 >> 32);
+    }
+
+    static long unsignedMultiplyHigh(long x, long y) {
+        return multiplyHigh(x, y) + ((x >> 63) & y) + ((y >> 63) & x);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof MontgomeryRing && ((MontgomeryRing) obj).modulus == modulus;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(modulus);
+    }
+
+    @Override
+    public String toString() {
+        return "Z/" + modulus + "Z";
+    }
+}
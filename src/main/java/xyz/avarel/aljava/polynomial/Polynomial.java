@@ -0,0 +1,524 @@
+package xyz.avarel.aljava.polynomial;
+
+import xyz.avarel.aljava.Expression;
+import xyz.avarel.aljava.Fraction;
+import xyz.avarel.aljava.Term;
+import xyz.avarel.aljava.Variable;
+
+import java.util.*;
+
+/**
+ * Sparse distributed polynomial with rational coefficients.
+ * <p>
+ * Terms are kept combined, free of zero coefficients and sorted in descending
+ * {@link MonomialOrder}, so the leading term is always the first one. Unlike
+ * {@link Expression}, the representation is canonical and exponents can not be negative.
+ */
+public final class Polynomial {
+    private final List<String> variables;
+    private final MonomialOrder order;
+    private final Monomial[] monomials;
+    private final Fraction[] coefficients;
+
+    private Polynomial(List<String> variables, MonomialOrder order, Monomial[] monomials, Fraction[] coefficients) {
+        this.variables = variables;
+        this.order = order;
+        this.monomials = monomials;
+        this.coefficients = coefficients;
+    }
+
+    public static Polynomial zero(List<String> variables, MonomialOrder order) {
+        return new Polynomial(variables, order, new Monomial[0], new Fraction[0]);
+    }
+
+    public static Polynomial constant(Fraction value, List<String> variables, MonomialOrder order) {
+        return of(Collections.singletonMap(Monomial.one(variables.size()), value), variables, order);
+    }
+
+    public static Polynomial of(Expression expression) {
+        return of(expression, variablesOf(expression), MonomialOrder.LEX);
+    }
+
+    public static Polynomial of(Expression expression, List<String> variables, MonomialOrder order) {
+        Map<String, Integer> indices = new HashMap<>();
+        for (int i = 0; i < variables.size(); i++) {
+            indices.put(variables.get(i), i);
+        }
+
+        Map<Monomial, Fraction> terms = new HashMap<>();
+        for (Term term : expression.getTerms()) {
+            Term simplified = term.simplify();
+
+            int[] exponents = new int[variables.size()];
+            for (Variable variable : simplified.getVariables()) {
+                Integer index = indices.get(variable.getName());
+                if (index == null) {
+                    throw new IllegalArgumentException("Variable (" + variable.getName() + ") is not one of " + variables);
+                } else if (variable.getDegree() < 0) {
+                    throw new ArithmeticException("Expression (" + expression + ") is not a polynomial.");
+                }
+                exponents[index] += variable.getDegree();
+            }
+
+            terms.merge(new Monomial(exponents), simplified.coefficient(), Fraction::plus);
+        }
+
+        return of(terms, variables, order);
+    }
+
+    /**
+     * @param terms Coefficients by monomial, zero coefficients are dropped.
+     */
+    public static Polynomial of(Map<Monomial, Fraction> terms, List<String> variables, MonomialOrder order) {
+        List<Monomial> keys = new ArrayList<>(terms.size());
+        for (Map.Entry<Monomial, Fraction> entry : terms.entrySet()) {
+            if (entry.getValue().getNumerator() != 0) {
+                keys.add(entry.getKey());
+            }
+        }
+        keys.sort(order.reversed());
+
+        Monomial[] monomials = keys.toArray(new Monomial[keys.size()]);
+        Fraction[] coefficients = new Fraction[monomials.length];
+        for (int i = 0; i < monomials.length; i++) {
+            coefficients[i] = terms.get(monomials[i]).reduce();
+        }
+
+        return new Polynomial(variables, order, monomials, coefficients);
+    }
+
+    /**
+     * @return The variables of all the expressions, in alphabetic order as per convention.
+     */
+    public static List<String> variablesOf(Expression... expressions) {
+        Set<String> names = new TreeSet<>();
+        for (Expression expression : expressions) {
+            for (Term term : expression.getTerms()) {
+                for (Variable variable : term.getVariables()) {
+                    if (variable.getDegree() != 0) {
+                        names.add(variable.getName());
+                    }
+                }
+            }
+        }
+        return Collections.unmodifiableList(new ArrayList<>(names));
+    }
+
+    public List<String> getVariables() {
+        return variables;
+    }
+
+    public MonomialOrder getOrder() {
+        return order;
+    }
+
+    public int size() {
+        return monomials.length;
+    }
+
+    public boolean isZero() {
+        return monomials.length == 0;
+    }
+
+    public boolean isConstant() {
+        return monomials.length == 0 || (monomials.length == 1 && monomials[0].isOne());
+    }
+
+    public Monomial getMonomial(int index) {
+        return monomials[index];
+    }
+
+    public Fraction getCoefficient(int index) {
+        return coefficients[index];
+    }
+
+    public Monomial leadingMonomial() {
+        if (isZero()) {
+            throw new ArithmeticException("Zero polynomial has no leading term.");
+        }
+        return monomials[0];
+    }
+
+    public Fraction leadingCoefficient() {
+        if (isZero()) {
+            throw new ArithmeticException("Zero polynomial has no leading term.");
+        }
+        return coefficients[0];
+    }
+
+    /**
+     * @return The total degree, or -1 for the zero polynomial.
+     */
+    public int degree() {
+        int degree = -1;
+        for (Monomial monomial : monomials) {
+            degree = Math.max(degree, monomial.degree());
+        }
+        return degree;
+    }
+
+    public int degree(int variable) {
+        int degree = -1;
+        for (Monomial monomial : monomials) {
+            degree = Math.max(degree, monomial.getExponent(variable));
+        }
+        return degree;
+    }
+
+    public Polynomial plus(Polynomial other) {
+        checkCompatible(other);
+
+        Monomial[] newMonomials = new Monomial[monomials.length + other.monomials.length];
+        Fraction[] newCoefficients = new Fraction[newMonomials.length];
+
+        // Both term lists are sorted, merge them
+        int i = 0, j = 0, length = 0;
+        while (i < monomials.length || j < other.monomials.length) {
+            int value = i == monomials.length ? -1
+                    : j == other.monomials.length ? 1
+                    : order.compare(monomials[i], other.monomials[j]);
+
+            if (value > 0) {
+                newMonomials[length] = monomials[i];
+                newCoefficients[length++] = coefficients[i++];
+            } else if (value < 0) {
+                newMonomials[length] = other.monomials[j];
+                newCoefficients[length++] = other.coefficients[j++];
+            } else {
+                Fraction sum = coefficients[i].plus(other.coefficients[j]);
+                if (sum.getNumerator() != 0) {
+                    newMonomials[length] = monomials[i];
+                    newCoefficients[length++] = sum;
+                }
+                i++;
+                j++;
+            }
+        }
+
+        return new Polynomial(variables, order,
+                Arrays.copyOf(newMonomials, length), Arrays.copyOf(newCoefficients, length));
+    }
+
+    public Polynomial minus(Polynomial other) {
+        return plus(other.negate());
+    }
+
+    public Polynomial negate() {
+        return times(Fraction.MINUS_ONE);
+    }
+
+    public Polynomial times(Fraction factor) {
+        if (factor.getNumerator() == 0) {
+            return zero(variables, order);
+        }
+
+        Fraction[] newCoefficients = new Fraction[coefficients.length];
+        for (int i = 0; i < coefficients.length; i++) {
+            newCoefficients[i] = coefficients[i].times(factor);
+        }
+        return new Polynomial(variables, order, monomials, newCoefficients);
+    }
+
+    public Polynomial times(Monomial monomial, Fraction factor) {
+        if (factor.getNumerator() == 0) {
+            return zero(variables, order);
+        }
+
+        // Multiplying by a monomial preserves the order of the terms
+        Monomial[] newMonomials = new Monomial[monomials.length];
+        Fraction[] newCoefficients = new Fraction[coefficients.length];
+        for (int i = 0; i < monomials.length; i++) {
+            newMonomials[i] = monomials[i].times(monomial);
+            newCoefficients[i] = coefficients[i].times(factor);
+        }
+        return new Polynomial(variables, order, newMonomials, newCoefficients);
+    }
+
+    public Polynomial times(Polynomial other) {
+        checkCompatible(other);
+
+        Map<Monomial, Fraction> terms = new HashMap<>();
+        for (int i = 0; i < monomials.length; i++) {
+            for (int j = 0; j < other.monomials.length; j++) {
+                terms.merge(monomials[i].times(other.monomials[j]),
+                        coefficients[i].times(other.coefficients[j]), Fraction::plus);
+            }
+        }
+        return of(terms, variables, order);
+    }
+
+    /**
+     * @return This polynomial scaled so that the leading coefficient is 1.
+     */
+    public Polynomial monic() {
+        if (isZero() || leadingCoefficient().equals(Fraction.ONE)) {
+            return this;
+        }
+        return times(leadingCoefficient().reciprocal());
+    }
+
+    /**
+     * @return The positive rational {@code c} such that this polynomial divided by {@code c}
+     *         has coprime integer coefficients, or 0 for the zero polynomial.
+     */
+    public Fraction content() {
+        int numerator = 0;
+        int denominator = 1;
+        for (Fraction coefficient : coefficients) {
+            numerator = ModularGcd.gcd(numerator, coefficient.getNumerator());
+            denominator = ModularGcd.lcm(denominator, coefficient.getDenominator());
+        }
+        return Fraction.valueOf(numerator, denominator);
+    }
+
+    public Polynomial withOrder(MonomialOrder order) {
+        if (order == this.order) {
+            return this;
+        }
+
+        Map<Monomial, Fraction> terms = new HashMap<>();
+        for (int i = 0; i < monomials.length; i++) {
+            terms.put(monomials[i], coefficients[i]);
+        }
+        return of(terms, variables, order);
+    }
+
+    /**
+     * Greatest common divisor, computed with Brown's modular algorithm.
+     *
+     * @return The primitive GCD with a positive leading coefficient in lexicographic order,
+     *         multiplied by the GCD of the two contents.
+     */
+    public Polynomial gcd(Polynomial other) {
+        checkCompatible(other);
+        return ModularGcd.gcd(this, other);
+    }
+
+    /**
+     * Factors into irreducible polynomials over the rationals.
+     * <p>
+     * Polynomials in a single variable are factored completely with {@link Zassenhaus}'s algorithm
+     * after a square-free decomposition. In several variables only the content and monomial
+     * factors are split off, and the rest is returned as one factor.
+     *
+     * @return The factors, whose product is this polynomial: a rational constant if it is not 1, followed by
+     *         the primitive factors with positive leading coefficients, repeated by multiplicity, in ascending degree.
+     */
+    public List<Polynomial> factor() {
+        return Factorization.factor(this);
+    }
+
+    /**
+     * @return The partial derivative with respect to a variable.
+     */
+    public Polynomial derivative(int variable) {
+        Map<Monomial, Fraction> terms = new HashMap<>();
+        for (int i = 0; i < monomials.length; i++) {
+            int[] exponents = monomials[i].getExponents();
+            if (exponents[variable] == 0) {
+                continue;
+            }
+
+            Fraction coefficient = coefficients[i].times(exponents[variable]);
+            exponents[variable]--;
+            terms.put(new Monomial(exponents), coefficient);
+        }
+        return of(terms, variables, order);
+    }
+
+    /**
+     * Substitutes a value for a variable, leaving its exponent at zero.
+     */
+    public Polynomial evaluate(int variable, Fraction value) {
+        Map<Monomial, Fraction> terms = new HashMap<>();
+        for (int i = 0; i < monomials.length; i++) {
+            int[] exponents = monomials[i].getExponents();
+            Fraction coefficient = coefficients[i].times(value.pow(exponents[variable]));
+            exponents[variable] = 0;
+
+            terms.merge(new Monomial(exponents), coefficient, Fraction::plus);
+        }
+        return of(terms, variables, order);
+    }
+
+    /**
+     * Divides by a polynomial under this polynomial's monomial order.
+     *
+     * @return {@code {quotient, remainder}}
+     */
+    public Polynomial[] divideAndRemainder(Polynomial divisor) {
+        return divideAndRemainder(Collections.singletonList(divisor));
+    }
+
+    /**
+     * Multivariate division by a list of divisors. The leading term of every intermediate
+     * dividend is cancelled by the first divisor whose leading monomial divides it, and
+     * moved to the remainder if there is none.
+     * <p>
+     * The dividend is never materialized: pending products {@code q * g} are kept in a heap
+     * ordered by monomial and merged with this polynomial's terms one monomial at a time,
+     * so memory stays proportional to the quotients and remainder.
+     *
+     * @return The quotients in the order of the divisors, followed by the remainder.
+     */
+    public Polynomial[] divideAndRemainder(List<Polynomial> divisors) {
+        int count = divisors.size();
+
+        List<List<Monomial>> quotientMonomials = new ArrayList<>(count);
+        List<List<Fraction>> quotientCoefficients = new ArrayList<>(count);
+        for (Polynomial divisor : divisors) {
+            checkCompatible(divisor);
+            if (divisor.isZero()) {
+                throw new ArithmeticException("Division by zero");
+            }
+            quotientMonomials.add(new ArrayList<>());
+            quotientCoefficients.add(new ArrayList<>());
+        }
+
+        List<Monomial> remainderMonomials = new ArrayList<>();
+        List<Fraction> remainderCoefficients = new ArrayList<>();
+
+        PriorityQueue<Product> heap = new PriorityQueue<>((a, b) -> order.compare(b.monomial, a.monomial));
+
+        int next = 0;
+        while (next < monomials.length || !heap.isEmpty()) {
+            Monomial monomial;
+            if (heap.isEmpty()) {
+                monomial = monomials[next];
+            } else if (next == monomials.length) {
+                monomial = heap.peek().monomial;
+            } else {
+                Monomial top = heap.peek().monomial;
+                monomial = order.compare(monomials[next], top) >= 0 ? monomials[next] : top;
+            }
+
+            Fraction coefficient = Fraction.ZERO;
+            if (next < monomials.length && monomials[next].equals(monomial)) {
+                coefficient = coefficients[next++];
+            }
+
+            while (!heap.isEmpty() && heap.peek().monomial.equals(monomial)) {
+                Product product = heap.poll();
+                Polynomial divisor = divisors.get(product.divisor);
+
+                coefficient = coefficient.minus(quotientCoefficients.get(product.divisor).get(product.quotient)
+                        .times(divisor.coefficients[product.index]));
+
+                if (++product.index < divisor.monomials.length) {
+                    product.monomial = quotientMonomials.get(product.divisor).get(product.quotient)
+                            .times(divisor.monomials[product.index]);
+                    heap.add(product);
+                }
+            }
+
+            if (coefficient.getNumerator() == 0) {
+                continue;
+            }
+
+            boolean divided = false;
+            for (int i = 0; i < count; i++) {
+                Polynomial divisor = divisors.get(i);
+                if (divisor.monomials[0].divides(monomial)) {
+                    Monomial quotient = monomial.div(divisor.monomials[0]);
+
+                    List<Monomial> quotients = quotientMonomials.get(i);
+                    quotients.add(quotient);
+                    quotientCoefficients.get(i).add(coefficient.div(divisor.coefficients[0]));
+
+                    if (divisor.monomials.length > 1) {
+                        heap.add(new Product(quotient.times(divisor.monomials[1]), i, quotients.size() - 1, 1));
+                    }
+
+                    divided = true;
+                    break;
+                }
+            }
+
+            if (!divided) {
+                remainderMonomials.add(monomial);
+                remainderCoefficients.add(coefficient);
+            }
+        }
+
+        Polynomial[] result = new Polynomial[count + 1];
+        for (int i = 0; i < count; i++) {
+            result[i] = fromSorted(quotientMonomials.get(i), quotientCoefficients.get(i));
+        }
+        result[count] = fromSorted(remainderMonomials, remainderCoefficients);
+        return result;
+    }
+
+    /**
+     * @return The remainder of the division by the divisors.
+     */
+    public Polynomial reduce(List<Polynomial> divisors) {
+        Polynomial[] result = divideAndRemainder(divisors);
+        return result[result.length - 1];
+    }
+
+    public Expression toExpression() {
+        List<Term> terms = new ArrayList<>(monomials.length);
+        for (int i = 0; i < monomials.length; i++) {
+            List<Variable> newVariables = new ArrayList<>();
+            for (int j = 0; j < variables.size(); j++) {
+                int exponent = monomials[i].getExponent(j);
+                if (exponent != 0) {
+                    newVariables.add(new Variable(variables.get(j), exponent));
+                }
+            }
+            terms.add(new Term(coefficients[i], newVariables));
+        }
+        return new Expression(terms).simplify();
+    }
+
+    private Polynomial fromSorted(List<Monomial> monomials, List<Fraction> coefficients) {
+        return new Polynomial(variables, order,
+                monomials.toArray(new Monomial[monomials.size()]),
+                coefficients.toArray(new Fraction[coefficients.size()]));
+    }
+
+    private void checkCompatible(Polynomial other) {
+        if (!variables.equals(other.variables)) {
+            throw new IllegalArgumentException("Polynomials are over different variables: "
+                    + variables + " and " + other.variables);
+        }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof Polynomial) {
+            Polynomial other = (Polynomial) obj;
+            return variables.equals(other.variables)
+                    && Arrays.equals(monomials, other.monomials)
+                    && Arrays.equals(coefficients, other.coefficients);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(monomials) + Arrays.hashCode(coefficients);
+    }
+
+    @Override
+    public String toString() {
+        return toExpression().toString();
+    }
+
+    /**
+     * The pending product of a quotient term and the {@code index}-th term of a divisor.
+     */
+    private static final class Product {
+        private Monomial monomial;
+        private final int divisor;
+        private final int quotient;
+        private int index;
+
+        private Product(Monomial monomial, int divisor, int quotient, int index) {
+            this.monomial = monomial;
+            this.divisor = divisor;
+            this.quotient = quotient;
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package xyz.avarel.aljava.polynomial;
+
+import xyz.avarel.aljava.Equation;
+import xyz.avarel.aljava.Expression;
+import xyz.avarel.aljava.RealRoots;
+import xyz.avarel.aljava.Solution;
+
+import java.util.*;
+
+/**
+ * A system of polynomial {@link Equation}s, solved through its lexicographic {@link GroebnerBasis}.
+ */
+public class PolynomialSystem {
+    /**
+     * Relative size below which a numerically evaluated value counts as zero.
+     */
+    private static final double TOLERANCE = 1e-9;
+
+    private final List<String> variables;
+    private final List<Polynomial> polynomials;
+
+    public PolynomialSystem(List<Equation> equations) {
+        Expression[] sides = new Expression[equations.size() * 2];
+        for (int i = 0; i < equations.size(); i++) {
+            sides[2 * i] = equations.get(i).getLhs();
+            sides[2 * i + 1] = equations.get(i).getRhs();
+        }
+        this.variables = Polynomial.variablesOf(sides);
+
+        List<Polynomial> polynomials = new ArrayList<>(equations.size());
+        for (Equation equation : equations) {
+            // Everything is moved to the left hand side: lhs - rhs = 0
+            polynomials.add(Polynomial.of(equation.getLhs().minus(equation.getRhs()), variables, MonomialOrder.LEX));
+        }
+        this.polynomials = Collections.unmodifiableList(polynomials);
+    }
+
+    public List<String> getVariables() {
+        return variables;
+    }
+
+    public List<Polynomial> getPolynomials() {
+        return polynomials;
+    }
+
+    public GroebnerBasis groebnerBasis(MonomialOrder order) {
+        return groebnerBasis(order, GroebnerBasis.Listener.NONE);
+    }
+
+    public GroebnerBasis groebnerBasis(MonomialOrder order, GroebnerBasis.Listener listener) {
+        List<Polynomial> generators = new ArrayList<>(polynomials.size());
+        for (Polynomial polynomial : polynomials) {
+            generators.add(polynomial.withOrder(order));
+        }
+        return GroebnerBasis.of(generators, listener);
+    }
+
+    public List<Map<String, Solution>> solve() {
+        return solve(GroebnerBasis.Listener.NONE);
+    }
+
+    /**
+     * Solves by back-substitution into the lexicographic basis, from the last variable to the first.
+     * Values are exact while the later variables are rational; once one takes an irrational
+     * value, the earlier variables are found numerically with {@link RealRoots}.
+     *
+     * @return Every real solution, empty if there is none.
+     * @throws ArithmeticException If there are infinitely many solutions.
+     */
+    public List<Map<String, Solution>> solve(GroebnerBasis.Listener listener) {
+        GroebnerBasis basis = groebnerBasis(MonomialOrder.LEX, listener);
+
+        List<Map<String, Solution>> result = new ArrayList<>();
+        if (!basis.isUnit()) {
+            backSubstitute(basis.getPolynomials(), variables.size() - 1, new Solution[variables.size()], result);
+        }
+        return result;
+    }
+
+    private void backSubstitute(List<Polynomial> basis, int variable, Solution[] values, List<Map<String, Solution>> result) {
+        for (int i = variable + 1; i < values.length; i++) {
+            if (values[i].getKind() != Solution.Kind.RATIONAL) {
+                backSubstituteNumerically(basis, variable, values, result);
+                return;
+            }
+        }
+
+        // The elements that are polynomials in this and the later variables, whose values are known
+        Polynomial univariate = null;
+        for (Polynomial polynomial : basis) {
+            if (polynomial.degree(variable) <= 0 || involvesEarlier(polynomial, variable)) {
+                continue;
+            }
+
+            for (int i = variable + 1; i < values.length; i++) {
+                polynomial = polynomial.evaluate(i, values[i].toFraction());
+            }
+            univariate = univariate == null ? polynomial : univariate.gcd(polynomial);
+        }
+
+        if (univariate == null || univariate.isZero()) {
+            throw new ArithmeticException("System has infinitely many solutions in (" + variables.get(variable) + ").");
+        } else if (univariate.isConstant()) {
+            // This partial solution does not extend
+            return;
+        }
+
+        if (variable == 0) {
+            for (Solution solution : new Equation(univariate.toExpression(), 0).solveFor(variables.get(0))) {
+                if (solution.getKind() == Solution.Kind.NONE) continue;
+
+                values[0] = solution;
+                result.add(toMap(values));
+            }
+            values[0] = null;
+            return;
+        }
+
+        for (Polynomial factor : new LinkedHashSet<>(univariate.factor())) {
+            if (factor.isConstant()) {
+                continue;
+            }
+
+            // Linear factors give rational values, the rest radicals or numeric ones
+            for (Solution solution : new Equation(factor.toExpression(), 0).solveFor(variables.get(variable))) {
+                if (solution.getKind() == Solution.Kind.NONE) continue;
+
+                values[variable] = solution;
+                backSubstitute(basis, variable - 1, values, result);
+            }
+            values[variable] = null;
+        }
+    }
+
+    /**
+     * Back-substitution once a later variable is irrational. The roots of the element of least
+     * degree in this variable are kept where every other element vanishes too.
+     */
+    private void backSubstituteNumerically(List<Polynomial> basis, int variable, Solution[] values, List<Map<String, Solution>> result) {
+        List<double[]> candidates = new ArrayList<>();
+        double[] lowest = null;
+        for (Polynomial polynomial : basis) {
+            if (polynomial.degree(variable) <= 0 || involvesEarlier(polynomial, variable)) {
+                continue;
+            }
+
+            double[] coefficients = evaluate(polynomial, variable, values);
+            int degree = degree(coefficients);
+            if (degree < 0) {
+                // Vanishes at these values, like a zero in the gcd
+                continue;
+            } else if (degree == 0) {
+                // This partial solution does not extend
+                return;
+            }
+
+            candidates.add(coefficients);
+            if (lowest == null || degree < degree(lowest)) {
+                lowest = coefficients;
+            }
+        }
+
+        if (lowest == null) {
+            throw new ArithmeticException("System has infinitely many solutions in (" + variables.get(variable) + ").");
+        }
+
+        roots:
+        for (double root : RealRoots.of(lowest)) {
+            for (double[] candidate : candidates) {
+                if (!vanishes(candidate, root)) continue roots;
+            }
+
+            values[variable] = Solution.numeric(root);
+            if (variable == 0) {
+                result.add(toMap(values));
+            } else {
+                backSubstitute(basis, variable - 1, values, result);
+            }
+        }
+        values[variable] = null;
+    }
+
+    /**
+     * @return The coefficients in a variable by ascending degree, with the later variables
+     *         replaced by their values. Coefficients lost to cancellation are zero.
+     */
+    private static double[] evaluate(Polynomial polynomial, int variable, Solution[] values) {
+        double[] coefficients = new double[polynomial.degree(variable) + 1];
+        double[] magnitudes = new double[coefficients.length];
+
+        for (int i = 0; i < polynomial.size(); i++) {
+            Monomial monomial = polynomial.getMonomial(i);
+            double term = polynomial.getCoefficient(i).toDouble();
+            for (int j = variable + 1; j < values.length; j++) {
+                term *= Math.pow(values[j].toDouble(), monomial.getExponent(j));
+            }
+
+            coefficients[monomial.getExponent(variable)] += term;
+            magnitudes[monomial.getExponent(variable)] += Math.abs(term);
+        }
+
+        for (int i = 0; i < coefficients.length; i++) {
+            if (Math.abs(coefficients[i]) <= TOLERANCE * magnitudes[i]) {
+                coefficients[i] = 0;
+            }
+        }
+        return coefficients;
+    }
+
+    /**
+     * @return The degree, or {@code -1} if every coefficient is zero.
+     */
+    private static int degree(double[] coefficients) {
+        int degree = coefficients.length - 1;
+        while (degree >= 0 && coefficients[degree] == 0) {
+            degree--;
+        }
+        return degree;
+    }
+
+    private static boolean vanishes(double[] coefficients, double x) {
+        double value = 0;
+        double magnitude = 0;
+        for (int i = coefficients.length - 1; i >= 0; i--) {
+            value = value * x + coefficients[i];
+            magnitude = magnitude * Math.abs(x) + Math.abs(coefficients[i]);
+        }
+        return Math.abs(value) <= TOLERANCE * magnitude;
+    }
+
+    private Map<String, Solution> toMap(Solution[] values) {
+        Map<String, Solution> map = new LinkedHashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            map.put(variables.get(i), values[i]);
+        }
+        return map;
+    }
+
+    private static boolean involvesEarlier(Polynomial polynomial, int variable) {
+        for (int i = 0; i < variable; i++) {
+            if (polynomial.degree(i) > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return polynomials.toString();
+    }
+}
@@ -0,0 +1,77 @@
+package xyz.avarel.aljava.polynomial;
+
+/**
+ * Word-sized primes for the moduli of {@link CoefficientRing#modulo(long)}.
+ */
+final class Primes {
+    /**
+     * The largest prime below 2^31.
+     */
+    static final long LARGEST_PRIME = 2147483647L;
+
+    private Primes() {}
+
+    /**
+     * @return The largest prime strictly below {@code bound}.
+     */
+    static long previousPrime(long bound) {
+        for (long n = bound - 1; n >= 2; n--) {
+            if (isPrime(n)) {
+                return n;
+            }
+        }
+        throw new ArithmeticException("No prime below " + bound);
+    }
+
+    /**
+     * Deterministic Miller-Rabin for values below 2^31.
+     */
+    static boolean isPrime(long n) {
+        if (n < 2) return false;
+        for (long small : new long[] { 2, 3, 5, 7 }) {
+            if (n % small == 0) return n == small;
+        }
+
+        long d = n - 1;
+        int s = 0;
+        while ((d & 1) == 0) {
+            d >>= 1;
+            s++;
+        }
+
+        // Bases 2, 7 and 61 are sufficient for every n < 4,759,123,141
+        for (long a : new long[] { 2, 7, 61 }) {
+            if (a % n == 0) continue;
+
+            long x = pow(a, d, n);
+            if (x == 1 || x == n - 1) continue;
+
+            boolean composite = true;
+            for (int i = 1; i < s; i++) {
+                x = x * x % n;
+                if (x == n - 1) {
+                    composite = false;
+                    break;
+                }
+            }
+            if (composite) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Plain modular power for the primality test, which runs before any ring exists.
+     */
+    private static long pow(long base, long exponent, long n) {
+        long result = 1;
+        base %= n;
+        while (exponent > 0) {
+            if ((exponent & 1) == 1) {
+                result = result * base % n;
+            }
+            base = base * base % n;
+            exponent >>= 1;
+        }
+        return result;
+    }
+}
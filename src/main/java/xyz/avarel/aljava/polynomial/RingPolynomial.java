@@ -0,0 +1,615 @@
+package xyz.avarel.aljava.polynomial;
+
+import xyz.avarel.aljava.Expression;
+import xyz.avarel.aljava.Fraction;
+import xyz.avarel.aljava.Term;
+import xyz.avarel.aljava.Variable;
+
+import java.util.*;
+
+/**
+ * Sparse distributed polynomial over a {@link CoefficientRing}, with the coefficients in a
+ * primitive long array instead of one {@link Fraction} per term.
+ * <p>
+ * Like {@link Polynomial}, terms are combined, free of zeros and sorted in descending
+ * {@link MonomialOrder}.
+ */
+public final class RingPolynomial {
+    private final CoefficientRing ring;
+    private final List<String> variables;
+    private final MonomialOrder order;
+    private final Monomial[] monomials;
+    private final long[] coefficients;
+
+    private RingPolynomial(CoefficientRing ring, List<String> variables, MonomialOrder order,
+                           Monomial[] monomials, long[] coefficients) {
+        this.ring = ring;
+        this.variables = variables;
+        this.order = order;
+        this.monomials = monomials;
+        this.coefficients = coefficients;
+    }
+
+    public static RingPolynomial zero(CoefficientRing ring, List<String> variables, MonomialOrder order) {
+        return new RingPolynomial(ring, variables, order, new Monomial[0], new long[0]);
+    }
+
+    /**
+     * @param value The plain integer value, not the ring's representation.
+     */
+    public static RingPolynomial constant(long value, CoefficientRing ring, List<String> variables, MonomialOrder order) {
+        return monomial(Monomial.one(variables.size()), value, ring, variables, order);
+    }
+
+    public static RingPolynomial monomial(Monomial monomial, long value, CoefficientRing ring,
+                                          List<String> variables, MonomialOrder order) {
+        long coefficient = ring.valueOf(value);
+        if (coefficient == ring.zero()) {
+            return zero(ring, variables, order);
+        }
+        return new RingPolynomial(ring, variables, order, new Monomial[] { monomial }, new long[] { coefficient });
+    }
+
+    public static RingPolynomial of(Expression expression, CoefficientRing ring) {
+        return of(Polynomial.of(expression), ring);
+    }
+
+    /**
+     * @throws ArithmeticException If a coefficient has no image in the ring.
+     */
+    public static RingPolynomial of(Polynomial polynomial, CoefficientRing ring) {
+        Monomial[] monomials = new Monomial[polynomial.size()];
+        long[] coefficients = new long[polynomial.size()];
+
+        int length = 0;
+        for (int i = 0; i < polynomial.size(); i++) {
+            long coefficient = ring.valueOf(polynomial.getCoefficient(i));
+            if (coefficient != ring.zero()) {
+                monomials[length] = polynomial.getMonomial(i);
+                coefficients[length++] = coefficient;
+            }
+        }
+
+        // Already sorted, the images of distinct monomials stay distinct
+        return new RingPolynomial(ring, polynomial.getVariables(), polynomial.getOrder(),
+                Arrays.copyOf(monomials, length), Arrays.copyOf(coefficients, length));
+    }
+
+    public CoefficientRing getRing() {
+        return ring;
+    }
+
+    public List<String> getVariables() {
+        return variables;
+    }
+
+    public MonomialOrder getOrder() {
+        return order;
+    }
+
+    public int size() {
+        return monomials.length;
+    }
+
+    public boolean isZero() {
+        return monomials.length == 0;
+    }
+
+    public boolean isConstant() {
+        return monomials.length == 0 || (monomials.length == 1 && monomials[0].isOne());
+    }
+
+    public Monomial getMonomial(int index) {
+        return monomials[index];
+    }
+
+    /**
+     * @return The coefficient as a plain integer.
+     */
+    public long getCoefficient(int index) {
+        return ring.toLong(coefficients[index]);
+    }
+
+    public Monomial leadingMonomial() {
+        if (isZero()) {
+            throw new ArithmeticException("Zero polynomial has no leading term.");
+        }
+        return monomials[0];
+    }
+
+    /**
+     * @return The leading coefficient as a plain integer.
+     */
+    public long leadingCoefficient() {
+        if (isZero()) {
+            throw new ArithmeticException("Zero polynomial has no leading term.");
+        }
+        return ring.toLong(coefficients[0]);
+    }
+
+    /**
+     * @return The total degree, or -1 for the zero polynomial.
+     */
+    public int degree() {
+        int degree = -1;
+        for (Monomial monomial : monomials) {
+            degree = Math.max(degree, monomial.degree());
+        }
+        return degree;
+    }
+
+    /**
+     * @return The degree in a variable, or -1 for the zero polynomial.
+     */
+    public int degree(int variable) {
+        int degree = -1;
+        for (Monomial monomial : monomials) {
+            degree = Math.max(degree, monomial.getExponent(variable));
+        }
+        return degree;
+    }
+
+    public RingPolynomial plus(RingPolynomial other) {
+        checkCompatible(other);
+
+        Monomial[] newMonomials = new Monomial[monomials.length + other.monomials.length];
+        long[] newCoefficients = new long[newMonomials.length];
+
+        int i = 0, j = 0, length = 0;
+        while (i < monomials.length || j < other.monomials.length) {
+            int value = i == monomials.length ? -1
+                    : j == other.monomials.length ? 1
+                    : order.compare(monomials[i], other.monomials[j]);
+
+            if (value > 0) {
+                newMonomials[length] = monomials[i];
+                newCoefficients[length++] = coefficients[i++];
+            } else if (value < 0) {
+                newMonomials[length] = other.monomials[j];
+                newCoefficients[length++] = other.coefficients[j++];
+            } else {
+                long sum = ring.add(coefficients[i], other.coefficients[j]);
+                if (sum != ring.zero()) {
+                    newMonomials[length] = monomials[i];
+                    newCoefficients[length++] = sum;
+                }
+                i++;
+                j++;
+            }
+        }
+
+        return new RingPolynomial(ring, variables, order,
+                Arrays.copyOf(newMonomials, length), Arrays.copyOf(newCoefficients, length));
+    }
+
+    public RingPolynomial minus(RingPolynomial other) {
+        return plus(other.negate());
+    }
+
+    public RingPolynomial negate() {
+        long[] newCoefficients = new long[coefficients.length];
+        for (int i = 0; i < coefficients.length; i++) {
+            newCoefficients[i] = ring.negate(coefficients[i]);
+        }
+        return new RingPolynomial(ring, variables, order, monomials, newCoefficients);
+    }
+
+    /**
+     * @param value The plain integer value, not the ring's representation.
+     */
+    public RingPolynomial times(long value) {
+        long factor = ring.valueOf(value);
+
+        Monomial[] newMonomials = new Monomial[monomials.length];
+        long[] newCoefficients = new long[coefficients.length];
+        int length = 0;
+        for (int i = 0; i < coefficients.length; i++) {
+            long product = ring.multiply(coefficients[i], factor);
+            if (product != ring.zero()) {
+                newMonomials[length] = monomials[i];
+                newCoefficients[length++] = product;
+            }
+        }
+        return new RingPolynomial(ring, variables, order,
+                Arrays.copyOf(newMonomials, length), Arrays.copyOf(newCoefficients, length));
+    }
+
+    /**
+     * Multiplies with a heap of the next pending product of each term of this polynomial,
+     * which yields the result terms already in order.
+     */
+    public RingPolynomial times(RingPolynomial other) {
+        checkCompatible(other);
+        if (isZero() || other.isZero()) {
+            return zero(ring, variables, order);
+        }
+
+        PriorityQueue<Product> heap = new PriorityQueue<>(monomials.length, (a, b) -> order.compare(b.monomial, a.monomial));
+        for (int i = 0; i < monomials.length; i++) {
+            heap.add(new Product(monomials[i].times(other.monomials[0]), i));
+        }
+
+        List<Monomial> newMonomials = new ArrayList<>();
+        long[] newCoefficients = new long[Math.min(monomials.length * other.monomials.length, 16)];
+
+        while (!heap.isEmpty()) {
+            Monomial monomial = heap.peek().monomial;
+            long coefficient = ring.zero();
+
+            while (!heap.isEmpty() && heap.peek().monomial.equals(monomial)) {
+                Product product = heap.poll();
+                coefficient = ring.add(coefficient, ring.multiply(coefficients[product.index], other.coefficients[product.next]));
+
+                if (++product.next < other.monomials.length) {
+                    product.monomial = monomials[product.index].times(other.monomials[product.next]);
+                    heap.add(product);
+                }
+            }
+
+            if (coefficient != ring.zero()) {
+                if (newMonomials.size() == newCoefficients.length) {
+                    newCoefficients = Arrays.copyOf(newCoefficients, newCoefficients.length * 2);
+                }
+                newCoefficients[newMonomials.size()] = coefficient;
+                newMonomials.add(monomial);
+            }
+        }
+
+        return new RingPolynomial(ring, variables, order,
+                newMonomials.toArray(new Monomial[newMonomials.size()]),
+                Arrays.copyOf(newCoefficients, newMonomials.size()));
+    }
+
+    public RingPolynomial pow(int n) {
+        if (n < 0) {
+            throw new ArithmeticException("Polynomials can not be raised to a negative power.");
+        }
+
+        RingPolynomial result = constant(1, ring, variables, order);
+        RingPolynomial base = this;
+        while (n != 0) {
+            if ((n & 1) != 0) result = result.times(base);
+            n >>= 1;
+            if (n != 0) base = base.times(base);
+        }
+        return result;
+    }
+
+    /**
+     * @throws ArithmeticException If the ring is not a field.
+     */
+    public RingPolynomial monic() {
+        if (!ring.isField()) {
+            throw new ArithmeticException("Polynomials over " + ring + " can not be made monic.");
+        } else if (isZero()) {
+            return this;
+        }
+
+        long inverse = ring.inverse(coefficients[0]);
+        long[] newCoefficients = new long[coefficients.length];
+        for (int i = 0; i < coefficients.length; i++) {
+            newCoefficients[i] = ring.multiply(coefficients[i], inverse);
+        }
+        return new RingPolynomial(ring, variables, order, monomials, newCoefficients);
+    }
+
+    public RingPolynomial derivative(int variable) {
+        Monomial[] newMonomials = new Monomial[monomials.length];
+        long[] newCoefficients = new long[monomials.length];
+        int length = 0;
+
+        for (int i = 0; i < monomials.length; i++) {
+            int[] exponents = monomials[i].getExponents();
+            if (exponents[variable] == 0) continue;
+
+            // The exponent can vanish in the ring, as p * x^(p-1) does modulo p
+            long coefficient = ring.multiply(coefficients[i], ring.valueOf(exponents[variable]));
+            if (coefficient == ring.zero()) continue;
+
+            exponents[variable]--;
+            newMonomials[length] = new Monomial(exponents);
+            newCoefficients[length++] = coefficient;
+        }
+
+        // Lowering one exponent can reorder the terms under a degree-first order
+        return fromUnsorted(Arrays.copyOf(newMonomials, length), Arrays.copyOf(newCoefficients, length));
+    }
+
+    /**
+     * Substitutes a value for a variable, leaving its exponent at zero.
+     *
+     * @param value The plain integer value, not the ring's representation.
+     */
+    public RingPolynomial evaluate(int variable, long value) {
+        long element = ring.valueOf(value);
+
+        Map<Monomial, Integer> positions = new HashMap<>();
+        Monomial[] newMonomials = new Monomial[monomials.length];
+        long[] newCoefficients = new long[monomials.length];
+        int length = 0;
+
+        for (int i = 0; i < monomials.length; i++) {
+            int[] exponents = monomials[i].getExponents();
+            long coefficient = ring.multiply(coefficients[i], ring.pow(element, exponents[variable]));
+            exponents[variable] = 0;
+            Monomial monomial = new Monomial(exponents);
+
+            Integer position = positions.get(monomial);
+            if (position == null) {
+                positions.put(monomial, length);
+                newMonomials[length] = monomial;
+                newCoefficients[length++] = coefficient;
+            } else {
+                newCoefficients[position] = ring.add(newCoefficients[position], coefficient);
+            }
+        }
+
+        return fromUnsorted(Arrays.copyOf(newMonomials, length), Arrays.copyOf(newCoefficients, length));
+    }
+
+    /**
+     * @param value The plain integer value, not the ring's representation.
+     * @return The plain value of a polynomial in a single variable.
+     */
+    long evaluateUnivariate(int variable, long value) {
+        long element = ring.valueOf(value);
+        long result = ring.zero();
+        for (int i = 0; i < monomials.length; i++) {
+            result = ring.add(result, ring.multiply(coefficients[i], ring.pow(element, monomials[i].getExponent(variable))));
+        }
+        return ring.toLong(result);
+    }
+
+    /**
+     * Views a polynomial in lexicographic order as one in the variables before {@code variable},
+     * with coefficients that are polynomials in {@code variable} alone. Later variables must not appear.
+     *
+     * @return The coefficients in descending lexicographic order of their monomials.
+     */
+    List<RingPolynomial> coefficientsOver(int variable) {
+        if (order != MonomialOrder.LEX) {
+            throw new IllegalStateException("Coefficients over a variable need lexicographic order.");
+        }
+
+        List<RingPolynomial> result = new ArrayList<>();
+
+        // Sorted with the coefficient variable last, so every coefficient is a contiguous run
+        int start = 0;
+        while (start < monomials.length) {
+            int end = start + 1;
+            while (end < monomials.length && samePrefix(monomials[start], monomials[end], variable)) {
+                end++;
+            }
+
+            Monomial[] newMonomials = new Monomial[end - start];
+            for (int i = start; i < end; i++) {
+                int[] exponents = new int[variables.size()];
+                exponents[variable] = monomials[i].getExponent(variable);
+                newMonomials[i - start] = new Monomial(exponents);
+            }
+            result.add(new RingPolynomial(ring, variables, order, newMonomials, Arrays.copyOfRange(coefficients, start, end)));
+
+            start = end;
+        }
+        return result;
+    }
+
+    private static boolean samePrefix(Monomial a, Monomial b, int length) {
+        for (int i = 0; i < length; i++) {
+            if (a.getExponent(i) != b.getExponent(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Division with a heap of the pending products of the divisor with the quotient terms,
+     * as in {@link Polynomial#divideAndRemainder(Polynomial)}.
+     *
+     * @return {@code {quotient, remainder}}
+     * @throws ArithmeticException If the leading coefficient of the divisor is not a unit.
+     */
+    public RingPolynomial[] divideAndRemainder(RingPolynomial divisor) {
+        checkCompatible(divisor);
+        if (divisor.isZero()) {
+            throw new ArithmeticException("Division by zero");
+        }
+
+        long inverseLeading = ring.inverse(divisor.coefficients[0]);
+        Monomial leading = divisor.monomials[0];
+
+        List<Monomial> quotientMonomials = new ArrayList<>();
+        long[] quotientCoefficients = new long[16];
+        List<Monomial> remainderMonomials = new ArrayList<>();
+        long[] remainderCoefficients = new long[16];
+
+        PriorityQueue<Product> heap = new PriorityQueue<>((a, b) -> order.compare(b.monomial, a.monomial));
+
+        int next = 0;
+        while (next < monomials.length || !heap.isEmpty()) {
+            Monomial monomial;
+            if (heap.isEmpty()) {
+                monomial = monomials[next];
+            } else if (next == monomials.length) {
+                monomial = heap.peek().monomial;
+            } else {
+                Monomial top = heap.peek().monomial;
+                monomial = order.compare(monomials[next], top) >= 0 ? monomials[next] : top;
+            }
+
+            long coefficient = ring.zero();
+            if (next < monomials.length && monomials[next].equals(monomial)) {
+                coefficient = coefficients[next++];
+            }
+
+            while (!heap.isEmpty() && heap.peek().monomial.equals(monomial)) {
+                Product product = heap.poll();
+                coefficient = ring.subtract(coefficient,
+                        ring.multiply(quotientCoefficients[product.index], divisor.coefficients[product.next]));
+
+                if (++product.next < divisor.monomials.length) {
+                    product.monomial = quotientMonomials.get(product.index).times(divisor.monomials[product.next]);
+                    heap.add(product);
+                }
+            }
+
+            if (coefficient == ring.zero()) {
+                continue;
+            }
+
+            if (leading.divides(monomial)) {
+                Monomial quotient = monomial.div(leading);
+                quotientCoefficients = append(quotientCoefficients, quotientMonomials.size(), ring.multiply(coefficient, inverseLeading));
+                quotientMonomials.add(quotient);
+                if (divisor.monomials.length > 1) {
+                    Product product = new Product(quotient.times(divisor.monomials[1]), quotientMonomials.size() - 1);
+                    product.next = 1;
+                    heap.add(product);
+                }
+            } else {
+                remainderCoefficients = append(remainderCoefficients, remainderMonomials.size(), coefficient);
+                remainderMonomials.add(monomial);
+            }
+        }
+
+        return new RingPolynomial[] {
+                new RingPolynomial(ring, variables, order,
+                        quotientMonomials.toArray(new Monomial[quotientMonomials.size()]),
+                        Arrays.copyOf(quotientCoefficients, quotientMonomials.size())),
+                new RingPolynomial(ring, variables, order,
+                        remainderMonomials.toArray(new Monomial[remainderMonomials.size()]),
+                        Arrays.copyOf(remainderCoefficients, remainderMonomials.size()))
+        };
+    }
+
+    /**
+     * @return The quotient of an exact division, or null if there is a remainder.
+     */
+    RingPolynomial divideExactly(RingPolynomial divisor) {
+        RingPolynomial[] result = divideAndRemainder(divisor);
+        return result[1].isZero() ? result[0] : null;
+    }
+
+    private static long[] append(long[] array, int length, long value) {
+        if (length == array.length) {
+            array = Arrays.copyOf(array, length * 2);
+        }
+        array[length] = value;
+        return array;
+    }
+
+    /**
+     * @return The polynomial with every coefficient replaced by its plain integer value.
+     */
+    public Polynomial toPolynomial() {
+        Map<Monomial, Fraction> terms = new HashMap<>();
+        for (int i = 0; i < monomials.length; i++) {
+            terms.put(monomials[i], Fraction.valueOf(Math.toIntExact(ring.toLong(coefficients[i]))));
+        }
+        return Polynomial.of(terms, variables, order);
+    }
+
+    public Expression toExpression() {
+        List<Term> terms = new ArrayList<>(monomials.length);
+        for (int i = 0; i < monomials.length; i++) {
+            List<Variable> newVariables = new ArrayList<>();
+            for (int j = 0; j < variables.size(); j++) {
+                int exponent = monomials[i].getExponent(j);
+                if (exponent != 0) {
+                    newVariables.add(new Variable(variables.get(j), exponent));
+                }
+            }
+            Fraction coefficient = Fraction.valueOf(Math.toIntExact(ring.toLong(coefficients[i])));
+            terms.add(new Term(coefficient, newVariables));
+        }
+        return new Expression(terms).simplify();
+    }
+
+    private RingPolynomial fromUnsorted(Monomial[] monomials, long[] coefficients) {
+        Integer[] indices = new Integer[monomials.length];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = i;
+        }
+        Arrays.sort(indices, (a, b) -> order.compare(monomials[b], monomials[a]));
+
+        Monomial[] sortedMonomials = new Monomial[monomials.length];
+        long[] sortedCoefficients = new long[monomials.length];
+        int length = 0;
+        for (int index : indices) {
+            if (coefficients[index] != ring.zero()) {
+                sortedMonomials[length] = monomials[index];
+                sortedCoefficients[length++] = coefficients[index];
+            }
+        }
+        return new RingPolynomial(ring, variables, order,
+                Arrays.copyOf(sortedMonomials, length), Arrays.copyOf(sortedCoefficients, length));
+    }
+
+    private void checkCompatible(RingPolynomial other) {
+        if (!ring.equals(other.ring)) {
+            throw new IllegalArgumentException("Polynomials are over different rings: " + ring + " and " + other.ring);
+        } else if (!variables.equals(other.variables)) {
+            throw new IllegalArgumentException("Polynomials are over different variables: "
+                    + variables + " and " + other.variables);
+        }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof RingPolynomial) {
+            RingPolynomial other = (RingPolynomial) obj;
+            return ring.equals(other.ring)
+                    && variables.equals(other.variables)
+                    && Arrays.equals(monomials, other.monomials)
+                    && Arrays.equals(coefficients, other.coefficients);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(monomials) + Arrays.hashCode(coefficients);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < monomials.length; i++) {
+            if (i > 0) sb.append(" + ");
+
+            long coefficient = ring.toLong(coefficients[i]);
+            boolean constant = monomials[i].isOne();
+            if (coefficient != 1 || constant) {
+                sb.append(coefficient);
+            }
+
+            boolean first = coefficient == 1 && !constant;
+            for (int j = 0; j < variables.size(); j++) {
+                int exponent = monomials[i].getExponent(j);
+                if (exponent == 0) continue;
+
+                if (!first) sb.append('*');
+                first = false;
+                sb.append(variables.get(j));
+                if (exponent != 1) sb.append('^').append(exponent);
+            }
+        }
+        return sb.length() == 0 ? "0" : sb.toString();
+    }
+
+    /**
+     * The pending product of the {@code index}-th term with the {@code next}-th term of the other polynomial,
+     * or of the {@code index}-th quotient term with the {@code next}-th term of the divisor.
+     */
+    private static final class Product {
+        private Monomial monomial;
+        private final int index;
+        private int next;
+
+        private Product(Monomial monomial, int index) {
+            this.monomial = monomial;
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,568 @@
+package xyz.avarel.aljava.polynomial;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Zassenhaus factorization of square-free univariate integer polynomials.
+ * <p>
+ * The polynomial is factored modulo a small prime with distinct-degree and Cantor–Zassenhaus
+ * equal-degree factorization, the modular factors are Hensel lifted until the modulus exceeds
+ * twice the Mignotte bound, and the true factors are recovered by trial division of products of
+ * subsets of the lifted factors.
+ * <p>
+ * Polynomials are dense coefficient arrays in ascending order of degree, without trailing zeros.
+ * Those modulo {@code p} hold elements of {@link CoefficientRing#modulo(long)}, in its own representation.
+ */
+final class Zassenhaus {
+    /**
+     * How many suitable primes to try before settling on the one giving the fewest modular factors.
+     */
+    private static final int PRIME_CANDIDATES = 5;
+
+    private Zassenhaus() {}
+
+    /**
+     * @param f A primitive, square-free polynomial of positive degree with a positive leading coefficient.
+     * @return The primitive irreducible factors of {@code f}.
+     */
+    static List<BigInteger[]> factor(BigInteger[] f) {
+        int n = f.length - 1;
+        if (n <= 1) {
+            return new ArrayList<>(Arrays.asList(new BigInteger[][] { f }));
+        }
+
+        // Choose a prime keeping f square-free, preferring the one that splits it the least
+        CoefficientRing bestRing = null;
+        List<long[]> bestFactors = null;
+        long p = 2;
+        for (int found = 0; found < PRIME_CANDIDATES; ) {
+            p = nextOddPrime(p);
+            if (f[n].mod(BigInteger.valueOf(p)).signum() == 0) continue;
+
+            CoefficientRing ring = CoefficientRing.modulo(p);
+            long[] image = reduce(f, ring);
+            if (degree(gcd(image, derivative(image, ring), ring)) != 0) continue;
+
+            List<long[]> factors = factorModular(monic(image, ring), ring);
+            if (bestFactors == null || factors.size() < bestFactors.size()) {
+                bestRing = ring;
+                bestFactors = factors;
+            }
+            found++;
+
+            if (factors.size() == 1) break;
+        }
+
+        if (bestFactors.size() == 1) {
+            return new ArrayList<>(Arrays.asList(new BigInteger[][] { f }));
+        }
+
+        // Lift until the modulus covers every coefficient of lc(f) times a factor, in both signs
+        BigInteger bound = mignotteBound(f).shiftLeft(1).add(BigInteger.ONE);
+        BigInteger prime = BigInteger.valueOf(bestRing.characteristic());
+        BigInteger modulus = prime;
+        int exponent = 1;
+        while (modulus.compareTo(bound) <= 0) {
+            modulus = modulus.multiply(prime);
+            exponent++;
+        }
+
+        List<BigInteger[]> lifted = lift(f, bestFactors, bestRing, exponent, modulus);
+        return recombine(f, lifted, modulus);
+    }
+
+    /**
+     * Distinct-degree followed by equal-degree factorization of a monic square-free polynomial.
+     */
+    static List<long[]> factorModular(long[] f, CoefficientRing ring) {
+        long p = ring.characteristic();
+        List<long[]> result = new ArrayList<>();
+        Random random = new Random(p);
+
+        long[] x = { ring.zero(), ring.one() };
+        long[] h = x;
+        long[] rest = f;
+        for (int d = 1; 2 * d <= degree(rest); d++) {
+            h = powMod(h, BigInteger.valueOf(p), rest, ring);
+
+            // x^(p^d) - x is the product of every monic irreducible polynomial whose degree divides d
+            long[] g = gcd(subtract(h, x, ring), rest, ring);
+            if (degree(g) > 0) {
+                splitEqualDegree(g, d, ring, random, result);
+                rest = divide(rest, g, ring)[0];
+                h = divide(h, rest, ring)[1];
+            }
+        }
+        if (degree(rest) > 0) {
+            result.add(rest);
+        }
+        return result;
+    }
+
+    private static void splitEqualDegree(long[] f, int d, CoefficientRing ring, Random random, List<long[]> result) {
+        long p = ring.characteristic();
+        if (degree(f) == d) {
+            result.add(f);
+            return;
+        }
+
+        // For random a, gcd(a^((p^d - 1)/2) - 1, f) is a proper factor about half of the time
+        BigInteger exponent = BigInteger.valueOf(p).pow(d).subtract(BigInteger.ONE).shiftRight(1);
+        while (true) {
+            long[] a = new long[degree(f)];
+            for (int i = 0; i < a.length; i++) {
+                a[i] = ring.valueOf((long) (random.nextDouble() * p));
+            }
+            a = trim(a);
+            if (degree(a) <= 0) continue;
+
+            long[] b = subtract(powMod(a, exponent, f, ring), new long[] { ring.one() }, ring);
+            long[] g = gcd(b, f, ring);
+            if (degree(g) > 0 && degree(g) < degree(f)) {
+                splitEqualDegree(g, d, ring, random, result);
+                splitEqualDegree(divide(f, g, ring)[0], d, ring, random, result);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Lifts {@code f = lc(f) * g1 * ... * gr (mod p)} to a factorization modulo {@code p^k}, one factor at a time.
+     *
+     * @return The lifted monic factors.
+     */
+    private static List<BigInteger[]> lift(BigInteger[] f, List<long[]> factors, CoefficientRing ring, int k, BigInteger modulus) {
+        List<BigInteger[]> result = new ArrayList<>();
+        BigInteger[] rest = f;
+
+        for (int i = 0; i < factors.size() - 1; i++) {
+            long[] u = factors.get(i);
+            long[] w = new long[] { ring.valueOf(f[f.length - 1].mod(BigInteger.valueOf(ring.characteristic())).longValue()) };
+            for (int j = i + 1; j < factors.size(); j++) {
+                w = multiply(w, factors.get(j), ring);
+            }
+
+            BigInteger[][] pair = liftPair(rest, u, w, ring, k, modulus);
+            result.add(pair[0]);
+            rest = pair[1];
+        }
+
+        result.add(monic(rest, modulus));
+        return result;
+    }
+
+    /**
+     * Linear Hensel lifting of {@code f = u * w (mod p)} with {@code u} monic.
+     *
+     * @return {@code {u, w}} with {@code f = u * w (mod p^k)}.
+     */
+    private static BigInteger[][] liftPair(BigInteger[] f, long[] u1, long[] w1, CoefficientRing ring, int k, BigInteger modulus) {
+        long[][] bezout = extendedGcd(u1, w1, ring);
+        long[] s = bezout[0];
+        long[] t = bezout[1];
+
+        BigInteger[] u = toBig(u1, ring);
+        BigInteger[] w = toBig(w1, ring);
+        // Fix the leading coefficient of w so that f - uw always drops in degree
+        w[w.length - 1] = f[f.length - 1];
+
+        BigInteger prime = BigInteger.valueOf(ring.characteristic());
+        BigInteger m = prime;
+        for (int step = 1; step < k; step++) {
+            BigInteger[] difference = reduce(subtract(f, multiply(u, w)), modulus);
+            long[] e = new long[difference.length];
+            for (int i = 0; i < e.length; i++) {
+                e[i] = ring.valueOf(difference[i].divide(m).mod(prime).longValue());
+            }
+            e = trim(e);
+
+            // Solve a * w1 + b * u1 = e with deg b < deg w1
+            long[][] qr = divide(multiply(s, e, ring), w1, ring);
+            long[] b = qr[1];
+            long[] a = add(multiply(t, e, ring), multiply(qr[0], u1, ring), ring);
+
+            u = reduce(add(u, scale(toBig(a, ring), m)), modulus);
+            w = reduce(add(w, scale(toBig(b, ring), m)), modulus);
+            m = m.multiply(prime);
+        }
+
+        return new BigInteger[][] { u, w };
+    }
+
+    /**
+     * Tries products of subsets of the lifted factors, smallest subsets first.
+     */
+    private static List<BigInteger[]> recombine(BigInteger[] f, List<BigInteger[]> lifted, BigInteger modulus) {
+        List<BigInteger[]> result = new ArrayList<>();
+        List<BigInteger[]> remaining = new ArrayList<>(lifted);
+
+        for (int size = 1; 2 * size <= remaining.size(); size++) {
+            int[] subset = new int[size];
+            for (int i = 0; i < size; i++) subset[i] = i;
+
+            while (subset != null) {
+                BigInteger[] candidate = new BigInteger[] { f[f.length - 1] };
+                for (int index : subset) {
+                    candidate = reduce(multiply(candidate, remaining.get(index)), modulus);
+                }
+                candidate = primitive(symmetric(candidate, modulus));
+
+                BigInteger[] quotient = candidate.length > 1 ? divideExactly(f, candidate) : null;
+                if (quotient != null) {
+                    result.add(candidate);
+                    f = quotient;
+                    for (int i = size - 1; i >= 0; i--) {
+                        remaining.remove(subset[i]);
+                    }
+
+                    // Start over with the same size on what is left
+                    subset = 2 * size <= remaining.size() ? firstSubset(size) : null;
+                } else {
+                    subset = nextSubset(subset, remaining.size());
+                }
+            }
+        }
+
+        result.add(primitive(f));
+        return result;
+    }
+
+    private static int[] firstSubset(int size) {
+        int[] subset = new int[size];
+        for (int i = 0; i < size; i++) subset[i] = i;
+        return subset;
+    }
+
+    private static int[] nextSubset(int[] subset, int n) {
+        int k = subset.length;
+        int i = k - 1;
+        while (i >= 0 && subset[i] == n - k + i) i--;
+        if (i < 0) return null;
+
+        subset[i]++;
+        for (int j = i + 1; j < k; j++) {
+            subset[j] = subset[j - 1] + 1;
+        }
+        return subset;
+    }
+
+    /**
+     * @return A bound on the coefficients of {@code lc(f)} times any factor of {@code f}.
+     */
+    private static BigInteger mignotteBound(BigInteger[] f) {
+        BigInteger normSquared = BigInteger.ZERO;
+        for (BigInteger c : f) {
+            normSquared = normSquared.add(c.multiply(c));
+        }
+        BigInteger norm = sqrtCeiling(normSquared);
+        return norm.shiftLeft(f.length - 1).multiply(f[f.length - 1].abs());
+    }
+
+    private static BigInteger sqrtCeiling(BigInteger n) {
+        BigInteger r = BigInteger.ONE.shiftLeft(n.bitLength() / 2 + 1);
+        // Newton's method from above
+        while (true) {
+            BigInteger next = r.add(n.divide(r)).shiftRight(1);
+            if (next.compareTo(r) >= 0) break;
+            r = next;
+        }
+        return r.multiply(r).compareTo(n) < 0 ? r.add(BigInteger.ONE) : r;
+    }
+
+    private static long nextOddPrime(long p) {
+        do {
+            p++;
+        } while (p == 2 || !Primes.isPrime(p));
+        return p;
+    }
+
+    // Dense arithmetic over Z/pZ
+
+    static int degree(long[] a) {
+        return a.length - 1;
+    }
+
+    static long[] trim(long[] a) {
+        int length = a.length;
+        while (length > 0 && a[length - 1] == 0) length--;
+        return length == a.length ? a : Arrays.copyOf(a, length);
+    }
+
+    static long[] reduce(BigInteger[] a, CoefficientRing ring) {
+        BigInteger prime = BigInteger.valueOf(ring.characteristic());
+        long[] result = new long[a.length];
+        for (int i = 0; i < a.length; i++) {
+            result[i] = ring.valueOf(a[i].mod(prime).longValue());
+        }
+        return trim(result);
+    }
+
+    static long[] add(long[] a, long[] b, CoefficientRing ring) {
+        long[] result = Arrays.copyOf(a, Math.max(a.length, b.length));
+        for (int i = 0; i < b.length; i++) {
+            result[i] = ring.add(result[i], b[i]);
+        }
+        return trim(result);
+    }
+
+    static long[] subtract(long[] a, long[] b, CoefficientRing ring) {
+        long[] result = Arrays.copyOf(a, Math.max(a.length, b.length));
+        for (int i = 0; i < b.length; i++) {
+            result[i] = ring.subtract(result[i], b[i]);
+        }
+        return trim(result);
+    }
+
+    static long[] multiply(long[] a, long[] b, CoefficientRing ring) {
+        if (a.length == 0 || b.length == 0) return new long[0];
+
+        long[] result = new long[a.length + b.length - 1];
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == ring.zero()) continue;
+            for (int j = 0; j < b.length; j++) {
+                result[i + j] = ring.add(result[i + j], ring.multiply(a[i], b[j]));
+            }
+        }
+        return trim(result);
+    }
+
+    /**
+     * @return {@code {quotient, remainder}}
+     */
+    static long[][] divide(long[] a, long[] b, CoefficientRing ring) {
+        if (b.length == 0) {
+            throw new ArithmeticException("Division by zero");
+        }
+        if (a.length < b.length) {
+            return new long[][] { new long[0], a };
+        }
+
+        long[] remainder = a.clone();
+        long[] quotient = new long[a.length - b.length + 1];
+        long inverse = ring.inverse(b[b.length - 1]);
+
+        for (int i = quotient.length - 1; i >= 0; i--) {
+            long q = ring.multiply(remainder[i + b.length - 1], inverse);
+            quotient[i] = q;
+            if (q == ring.zero()) continue;
+            for (int j = 0; j < b.length; j++) {
+                remainder[i + j] = ring.subtract(remainder[i + j], ring.multiply(q, b[j]));
+            }
+        }
+
+        return new long[][] { trim(quotient), trim(Arrays.copyOf(remainder, b.length - 1)) };
+    }
+
+    static long[] monic(long[] a, CoefficientRing ring) {
+        if (a.length == 0 || a[a.length - 1] == ring.one()) return a;
+
+        long inverse = ring.inverse(a[a.length - 1]);
+        long[] result = new long[a.length];
+        for (int i = 0; i < a.length; i++) {
+            result[i] = ring.multiply(a[i], inverse);
+        }
+        return result;
+    }
+
+    static long[] gcd(long[] a, long[] b, CoefficientRing ring) {
+        while (b.length != 0) {
+            long[] r = divide(a, b, ring)[1];
+            a = b;
+            b = r;
+        }
+        return monic(a, ring);
+    }
+
+    /**
+     * @return {@code {s, t}} with {@code s * a + t * b = 1 (mod p)}, for coprime {@code a} and {@code b}.
+     */
+    static long[][] extendedGcd(long[] a, long[] b, CoefficientRing ring) {
+        long[] r0 = a, r1 = b;
+        long[] s0 = { ring.one() }, s1 = {};
+        long[] t0 = {}, t1 = { ring.one() };
+
+        while (r1.length != 0) {
+            long[][] qr = divide(r0, r1, ring);
+            long[] temp;
+
+            r0 = r1;
+            r1 = qr[1];
+
+            temp = subtract(s0, multiply(qr[0], s1, ring), ring);
+            s0 = s1;
+            s1 = temp;
+
+            temp = subtract(t0, multiply(qr[0], t1, ring), ring);
+            t0 = t1;
+            t1 = temp;
+        }
+
+        if (degree(r0) != 0) {
+            throw new ArithmeticException("Modular factors are not coprime.");
+        }
+
+        long inverse = ring.inverse(r0[0]);
+        return new long[][] { scale(s0, inverse, ring), scale(t0, inverse, ring) };
+    }
+
+    static long[] derivative(long[] a, CoefficientRing ring) {
+        if (a.length <= 1) return new long[0];
+
+        long[] result = new long[a.length - 1];
+        for (int i = 1; i < a.length; i++) {
+            result[i - 1] = ring.multiply(a[i], ring.valueOf(i));
+        }
+        return trim(result);
+    }
+
+    static long[] powMod(long[] base, BigInteger exponent, long[] modulus, CoefficientRing ring) {
+        long[] result = { ring.one() };
+        base = divide(base, modulus, ring)[1];
+        for (int i = exponent.bitLength() - 1; i >= 0; i--) {
+            result = divide(multiply(result, result, ring), modulus, ring)[1];
+            if (exponent.testBit(i)) {
+                result = divide(multiply(result, base, ring), modulus, ring)[1];
+            }
+        }
+        return result;
+    }
+
+    private static long[] scale(long[] a, long factor, CoefficientRing ring) {
+        long[] result = new long[a.length];
+        for (int i = 0; i < a.length; i++) {
+            result[i] = ring.multiply(a[i], factor);
+        }
+        return trim(result);
+    }
+
+    // Dense arithmetic over the integers
+
+    private static BigInteger[] toBig(long[] a, CoefficientRing ring) {
+        BigInteger[] result = new BigInteger[a.length];
+        for (int i = 0; i < a.length; i++) {
+            result[i] = BigInteger.valueOf(ring.toLong(a[i]));
+        }
+        return result;
+    }
+
+    private static BigInteger[] trim(BigInteger[] a) {
+        int length = a.length;
+        while (length > 0 && a[length - 1].signum() == 0) length--;
+        return length == a.length ? a : Arrays.copyOf(a, length);
+    }
+
+    private static BigInteger[] add(BigInteger[] a, BigInteger[] b) {
+        BigInteger[] result = new BigInteger[Math.max(a.length, b.length)];
+        for (int i = 0; i < result.length; i++) {
+            BigInteger x = i < a.length ? a[i] : BigInteger.ZERO;
+            BigInteger y = i < b.length ? b[i] : BigInteger.ZERO;
+            result[i] = x.add(y);
+        }
+        return trim(result);
+    }
+
+    private static BigInteger[] subtract(BigInteger[] a, BigInteger[] b) {
+        BigInteger[] result = new BigInteger[Math.max(a.length, b.length)];
+        for (int i = 0; i < result.length; i++) {
+            BigInteger x = i < a.length ? a[i] : BigInteger.ZERO;
+            BigInteger y = i < b.length ? b[i] : BigInteger.ZERO;
+            result[i] = x.subtract(y);
+        }
+        return trim(result);
+    }
+
+    private static BigInteger[] multiply(BigInteger[] a, BigInteger[] b) {
+        if (a.length == 0 || b.length == 0) return new BigInteger[0];
+
+        BigInteger[] result = new BigInteger[a.length + b.length - 1];
+        Arrays.fill(result, BigInteger.ZERO);
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < b.length; j++) {
+                result[i + j] = result[i + j].add(a[i].multiply(b[j]));
+            }
+        }
+        return trim(result);
+    }
+
+    private static BigInteger[] scale(BigInteger[] a, BigInteger factor) {
+        BigInteger[] result = new BigInteger[a.length];
+        for (int i = 0; i < a.length; i++) {
+            result[i] = a[i].multiply(factor);
+        }
+        return trim(result);
+    }
+
+    private static BigInteger[] reduce(BigInteger[] a, BigInteger modulus) {
+        BigInteger[] result = new BigInteger[a.length];
+        for (int i = 0; i < a.length; i++) {
+            result[i] = a[i].mod(modulus);
+        }
+        return trim(result);
+    }
+
+    private static BigInteger[] symmetric(BigInteger[] a, BigInteger modulus) {
+        BigInteger half = modulus.shiftRight(1);
+        BigInteger[] result = new BigInteger[a.length];
+        for (int i = 0; i < a.length; i++) {
+            result[i] = a[i].compareTo(half) > 0 ? a[i].subtract(modulus) : a[i];
+        }
+        return result;
+    }
+
+    private static BigInteger[] monic(BigInteger[] a, BigInteger modulus) {
+        BigInteger inverse = a[a.length - 1].modInverse(modulus);
+        return reduce(scale(a, inverse), modulus);
+    }
+
+    /**
+     * @return The polynomial divided by its content, with a positive leading coefficient.
+     */
+    static BigInteger[] primitive(BigInteger[] a) {
+        BigInteger content = BigInteger.ZERO;
+        for (BigInteger c : a) {
+            content = content.gcd(c);
+        }
+        if (a[a.length - 1].signum() < 0) {
+            content = content.negate();
+        }
+
+        BigInteger[] result = new BigInteger[a.length];
+        for (int i = 0; i < a.length; i++) {
+            result[i] = a[i].divide(content);
+        }
+        return result;
+    }
+
+    /**
+     * @return The quotient over the integers, or null if {@code b} does not divide {@code a}.
+     */
+    static BigInteger[] divideExactly(BigInteger[] a, BigInteger[] b) {
+        if (a.length < b.length) return null;
+
+        // Cheap rejection on the constant terms first
+        if (b[0].signum() != 0 && a[0].mod(b[0].abs()).signum() != 0) return null;
+
+        BigInteger[] remainder = a.clone();
+        BigInteger[] quotient = new BigInteger[a.length - b.length + 1];
+        BigInteger leading = b[b.length - 1];
+
+        for (int i = quotient.length - 1; i >= 0; i--) {
+            BigInteger[] qr = remainder[i + b.length - 1].divideAndRemainder(leading);
+            if (qr[1].signum() != 0) return null;
+
+            quotient[i] = qr[0];
+            for (int j = 0; j < b.length; j++) {
+                remainder[i + j] = remainder[i + j].subtract(qr[0].multiply(b[j]));
+            }
+        }
+
+        for (int i = 0; i < b.length - 1; i++) {
+            if (remainder[i].signum() != 0) return null;
+        }
+        return trim(quotient);
+    }
+}
@@ -0,0 +1,153 @@
+package xyz.avarel.aljava.polynomial;
+
+import xyz.avarel.aljava.Expression;
+import xyz.avarel.aljava.Fraction;
+import xyz.avarel.aljava.Term;
+import xyz.avarel.aljava.Variable;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Probabilistic identity testing by the Schwartz–Zippel lemma.
+ * <p>
+ * Expressions are evaluated term by term, as they are and without simplifying, at random
+ * points in {@link CoefficientRing#modulo(long) Z/pZ} for random primes between 2^30 and 2^31.
+ * A nonzero polynomial of degree {@code d} vanishes at a random point modulo {@code p} with
+ * probability at most {@code d / p}, so a handful of evaluations bound the chance of wrongly
+ * answering "zero" by the error bound.
+ * A "not zero" answer is always correct.
+ */
+public final class ZeroTest {
+    public static final double DEFAULT_ERROR_BOUND = 1e-12;
+
+    private static final long SMALLEST_PRIME = 1L << 30;
+
+    private final double errorBound;
+    /**
+     * The source of the points, or {@code null} to use the generator of the calling thread.
+     */
+    private final Random random;
+
+    public ZeroTest() {
+        this(DEFAULT_ERROR_BOUND);
+    }
+
+    /**
+     * A test that draws its points from {@link ThreadLocalRandom}, so that threads sharing it
+     * do not contend on one generator.
+     */
+    public ZeroTest(double errorBound) {
+        this(errorBound, null);
+    }
+
+    /**
+     * @param errorBound The largest allowed probability of a wrong answer, in {@code (0, 1)}.
+     * @param random     The source of the points, for reproducible tests, or {@code null}.
+     */
+    public ZeroTest(double errorBound, Random random) {
+        if (!(errorBound > 0 && errorBound < 1)) {
+            throw new IllegalArgumentException("Error bound " + errorBound + " is not in (0, 1).");
+        }
+
+        this.errorBound = errorBound;
+        this.random = random;
+    }
+
+    public double getErrorBound() {
+        return errorBound;
+    }
+
+    public boolean isZero(Expression expression) {
+        return probablyEquals(expression, new Expression());
+    }
+
+    public boolean probablyEquals(Expression a, Expression b) {
+        // Multiplying through by the most negative powers clears every denominator
+        int degree = degreeBound(a.getTerms(), b.getTerms());
+
+        int trials = (int) Math.ceil(Math.log(errorBound) / Math.log((double) Math.max(degree, 1) / SMALLEST_PRIME));
+
+        Random random = this.random != null ? this.random : ThreadLocalRandom.current();
+
+        for (int i = 0; i < trials; ) {
+            long p = Primes.previousPrime(SMALLEST_PRIME + 1 + (long) (random.nextDouble() * SMALLEST_PRIME));
+            CoefficientRing ring = CoefficientRing.modulo(p);
+            Map<String, Long> point = new HashMap<>();
+
+            try {
+                if (evaluate(a.getTerms(), point, ring, random) != evaluate(b.getTerms(), point, ring, random)) {
+                    return false;
+                }
+                i++;
+            } catch (ArithmeticException e) {
+                // A denominator was divisible by p, try another prime
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The value in the ring's representation, which is unique for each residue.
+     */
+    private static long evaluate(List<Term> terms, Map<String, Long> point, CoefficientRing ring, Random random) {
+        long p = ring.characteristic();
+        long sum = ring.zero();
+        for (Term term : terms) {
+            Fraction coefficient = term.coefficient();
+            long product = ring.valueOf(coefficient);
+
+            for (Variable variable : term.getVariables()) {
+                Long value = point.get(variable.getName());
+                if (value == null) {
+                    // Nonzero, so negative powers stay defined
+                    value = ring.valueOf(1 + (long) (random.nextDouble() * (p - 1)));
+                    point.put(variable.getName(), value);
+                }
+
+                product = ring.multiply(product, ring.pow(value, variable.getDegree()));
+            }
+
+            sum = ring.add(sum, product);
+        }
+        return sum;
+    }
+
+    /**
+     * @return The largest positive total degree of the terms of both, plus the most negative
+     *         exponent of each variable, which is the degree once every denominator is cleared.
+     */
+    private static int degreeBound(List<Term> a, List<Term> b) {
+        Map<String, Integer> negative = new HashMap<>();
+        int positive = Math.max(degreeBound(a, negative), degreeBound(b, negative));
+
+        int bound = positive;
+        for (int degree : negative.values()) {
+            bound += degree;
+        }
+        return bound;
+    }
+
+    /**
+     * @param negative Receives the most negative exponent of each variable, as a positive number.
+     * @return The largest positive total degree of the terms.
+     */
+    private static int degreeBound(List<Term> terms, Map<String, Integer> negative) {
+        int bound = 0;
+        for (Term term : terms) {
+            int positive = 0;
+            for (Variable variable : term.getVariables()) {
+                if (variable.getDegree() > 0) {
+                    positive += variable.getDegree();
+                } else {
+                    negative.merge(variable.getName(), -variable.getDegree(), Math::max);
+                }
+            }
+            bound = Math.max(bound, positive);
+        }
+        return bound;
+    }
+}
@@ -0,0 +1,48 @@
+package xyz.avarel.aljava.render;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Per-thread buffers reused between renderings into strings.
+ */
+final class Buffers {
+    /**
+     * Buffers that grew beyond this many chars are let go instead of kept for the thread.
+     */
+    private static final int MAX_RETAINED = 1 << 16;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    private Buffers() {}
+
+    interface Rendering {
+        void render(StringBuilder out) throws IOException;
+    }
+
+    static String render(Rendering rendering) {
+        StringBuilder sb = BUFFER.get();
+        sb.setLength(0);
+
+        try {
+            rendering.render(sb);
+        } catch (IOException e) {
+            // A StringBuilder never throws
+            throw new UncheckedIOException(e);
+        }
+
+        String result = sb.toString();
+        if (sb.capacity() > MAX_RETAINED) {
+            BUFFER.remove();
+        }
+        return result;
+    }
+
+    static void appendInt(Appendable out, int value) throws IOException {
+        if (out instanceof StringBuilder) {
+            ((StringBuilder) out).append(value);
+        } else {
+            out.append(Integer.toString(value));
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package xyz.avarel.aljava.render;
+
+import xyz.avarel.aljava.Variable;
+
+import java.io.IOException;
+
+/**
+ * Infix without spaces and with every product written out, so that the parser reads it
+ * back. Variables with negative degrees are written as divisors.
+ */
+final class InfixRenderer implements Renderer {
+    @Override
+    public void zero(Appendable out) throws IOException {
+        out.append('0');
+    }
+
+    @Override
+    public void sign(Appendable out, boolean negative, boolean leading) throws IOException {
+        if (negative) {
+            out.append('-');
+        } else if (!leading) {
+            out.append('+');
+        }
+    }
+
+    @Override
+    public void coefficient(Appendable out, int numerator, int denominator) throws IOException {
+        Buffers.appendInt(out, numerator);
+        if (denominator != 1) {
+            out.append('/');
+            Buffers.appendInt(out, denominator);
+        }
+    }
+
+    @Override
+    public void variable(Appendable out, Variable variable, boolean separated) throws IOException {
+        int degree = variable.getDegree();
+        if (degree < 0) {
+            if (!separated) out.append('1');
+            out.append('/');
+            degree = -degree;
+        } else if (separated) {
+            out.append('*');
+        }
+
+        out.append(variable.getName());
+        if (degree != 1) {
+            out.append('^');
+            Buffers.appendInt(out, degree);
+        }
+    }
+
+    @Override
+    public void relation(Appendable out) throws IOException {
+        out.append('=');
+    }
+
+    @Override
+    public boolean divisorsLast() {
+        return true;
+    }
+}
@@ -0,0 +1,114 @@
+package xyz.avarel.aljava.render;
+
+import xyz.avarel.aljava.Variable;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Presentation MathML, as one {@code <math>} element.
+ */
+final class MathMLRenderer implements Renderer {
+    private static final Map<String, Character> GREEK_LETTERS = new HashMap<>();
+
+    static {
+        String[] names = {
+                "alpha", "beta", "gamma", "delta", "epsilon", "zeta", "eta", "theta", "iota", "kappa",
+                "lambda", "mu", "nu", "xi", "omicron", "pi", "rho", "varsigma", "sigma", "tau",
+                "upsilon", "phi", "chi", "psi", "omega"
+        };
+        for (int i = 0; i < names.length; i++) {
+            GREEK_LETTERS.put(names[i], (char) ('α' + i));
+            if (i != 17) {
+                // The capitals skip the final sigma
+                GREEK_LETTERS.put(Character.toUpperCase(names[i].charAt(0)) + names[i].substring(1), (char) ('Α' + i));
+            }
+        }
+        GREEK_LETTERS.put("varepsilon", 'ε');
+        GREEK_LETTERS.put("vartheta", 'ϑ');
+        GREEK_LETTERS.put("varrho", 'ϱ');
+        GREEK_LETTERS.put("varphi", 'φ');
+        GREEK_LETTERS.put("phi", 'ϕ');
+        GREEK_LETTERS.put("epsilon", 'ϵ');
+    }
+
+    @Override
+    public void begin(Appendable out) throws IOException {
+        out.append("<math><mrow>");
+    }
+
+    @Override
+    public void end(Appendable out) throws IOException {
+        out.append("</mrow></math>");
+    }
+
+    @Override
+    public void zero(Appendable out) throws IOException {
+        out.append("<mn>0</mn>");
+    }
+
+    @Override
+    public void sign(Appendable out, boolean negative, boolean leading) throws IOException {
+        if (negative) {
+            out.append("<mo>-</mo>");
+        } else if (!leading) {
+            out.append("<mo>+</mo>");
+        }
+    }
+
+    @Override
+    public void coefficient(Appendable out, int numerator, int denominator) throws IOException {
+        if (denominator == 1) {
+            number(out, numerator);
+        } else {
+            out.append("<mfrac>");
+            number(out, numerator);
+            number(out, denominator);
+            out.append("</mfrac>");
+        }
+    }
+
+    @Override
+    public void variable(Appendable out, Variable variable, boolean separated) throws IOException {
+        if (separated) {
+            out.append("<mo>&#x2062;</mo>");
+        }
+
+        int degree = variable.getDegree();
+        if (degree != 1) {
+            out.append("<msup>");
+        }
+
+        out.append("<mi>");
+        Character letter = GREEK_LETTERS.get(variable.getName());
+        if (letter != null) {
+            out.append(letter);
+        } else {
+            out.append(variable.getName());
+        }
+        out.append("</mi>");
+
+        if (degree != 1) {
+            if (degree < 0) {
+                out.append("<mrow><mo>-</mo>");
+                number(out, -degree);
+                out.append("</mrow>");
+            } else {
+                number(out, degree);
+            }
+            out.append("</msup>");
+        }
+    }
+
+    @Override
+    public void relation(Appendable out) throws IOException {
+        out.append("<mo>=</mo>");
+    }
+
+    private static void number(Appendable out, int value) throws IOException {
+        out.append("<mn>");
+        Buffers.appendInt(out, value);
+        out.append("</mn>");
+    }
+}
@@ -0,0 +1,92 @@
+package xyz.avarel.aljava.render;
+
+import xyz.avarel.aljava.Equation;
+import xyz.avarel.aljava.Expression;
+import xyz.avarel.aljava.Variable;
+
+import java.io.IOException;
+
+/**
+ * An output format for {@link Expression}s and {@link Equation}s.
+ * <p>
+ * The walk over the terms is shared by every format, which only supplies how each piece is
+ * written: the sign of a term, its coefficient without the sign, and its variables in the
+ * order of the term, or with the negative degrees last if {@link #divisorsLast()}.
+ */
+public interface Renderer {
+    Renderer TEX = new TexRenderer();
+    Renderer MATHML = new MathMLRenderer();
+
+    /**
+     * Compact infix that the parser reads back, such as {@code -3/4*x^2+y/z-1}.
+     */
+    Renderer INFIX = new InfixRenderer();
+
+    /**
+     * Writes what comes before the rendering.
+     */
+    default void begin(Appendable out) throws IOException {}
+
+    /**
+     * Writes what comes after the rendering.
+     */
+    default void end(Appendable out) throws IOException {}
+
+    void zero(Appendable out) throws IOException;
+
+    /**
+     * @param leading Whether this is the first term, where a positive sign is left out.
+     */
+    void sign(Appendable out, boolean negative, boolean leading) throws IOException;
+
+    /**
+     * @param numerator   Positive, as the sign has been written.
+     * @param denominator Positive.
+     */
+    void coefficient(Appendable out, int numerator, int denominator) throws IOException;
+
+    /**
+     * @param separated Whether a coefficient or variable of the same term was written before.
+     */
+    void variable(Appendable out, Variable variable, boolean separated) throws IOException;
+
+    void relation(Appendable out) throws IOException;
+
+    /**
+     * @return Whether variables with negative degrees are written after the others, for
+     *         formats that write them as divisors.
+     */
+    default boolean divisorsLast() {
+        return false;
+    }
+
+    default String render(Expression expression) {
+        return Buffers.render(out -> render(expression, out));
+    }
+
+    default String render(Equation equation) {
+        return Buffers.render(out -> render(equation, out));
+    }
+
+    /**
+     * @return {@code out}
+     */
+    default <A extends Appendable> A render(Expression expression, A out) throws IOException {
+        begin(out);
+        Walk.expression(this, expression, out);
+        end(out);
+        return out;
+    }
+
+    /**
+     * @return {@code out}
+     */
+    default <A extends Appendable> A render(Equation equation, A out) throws IOException {
+        begin(out);
+        Walk.expression(this, equation.getLhs(), out);
+        relation(out);
+        Walk.expression(this, equation.getRhs(), out);
+        end(out);
+        return out;
+    }
+}
@@ -0,0 +1,47 @@
+package xyz.avarel.aljava.render;
+
+import xyz.avarel.aljava.Variable;
+
+import java.io.IOException;
+
+/**
+ * The same TeX as {@link xyz.avarel.aljava.TexElement#toTex()} for simplified expressions.
+ */
+final class TexRenderer implements Renderer {
+    @Override
+    public void zero(Appendable out) throws IOException {
+        out.append('0');
+    }
+
+    @Override
+    public void sign(Appendable out, boolean negative, boolean leading) throws IOException {
+        if (!leading) {
+            out.append(negative ? " - " : " + ");
+        } else if (negative) {
+            out.append('-');
+        }
+    }
+
+    @Override
+    public void coefficient(Appendable out, int numerator, int denominator) throws IOException {
+        if (denominator == 1) {
+            Buffers.appendInt(out, numerator);
+        } else {
+            out.append("\\frac{");
+            Buffers.appendInt(out, numerator);
+            out.append("}{");
+            Buffers.appendInt(out, denominator);
+            out.append('}');
+        }
+    }
+
+    @Override
+    public void variable(Appendable out, Variable variable, boolean separated) throws IOException {
+        variable.appendTex(out);
+    }
+
+    @Override
+    public void relation(Appendable out) throws IOException {
+        out.append(" = ");
+    }
+}
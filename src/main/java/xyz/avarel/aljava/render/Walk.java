@@ -0,0 +1,71 @@
+package xyz.avarel.aljava.render;
+
+import xyz.avarel.aljava.Expression;
+import xyz.avarel.aljava.Fraction;
+import xyz.avarel.aljava.Term;
+import xyz.avarel.aljava.Variable;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * The tree walk behind every format.
+ */
+final class Walk {
+    private Walk() {}
+
+    static void expression(Renderer renderer, Expression expression, Appendable out) throws IOException {
+        List<Term> terms = expression.getTerms();
+        if (terms.isEmpty()) {
+            renderer.zero(out);
+            return;
+        }
+
+        for (int i = 0; i < terms.size(); i++) {
+            term(renderer, terms.get(i), i == 0, out);
+        }
+    }
+
+    private static void term(Renderer renderer, Term term, boolean leading, Appendable out) throws IOException {
+        Fraction coefficient = term.coefficient();
+        int numerator = coefficient.getNumerator();
+        int denominator = coefficient.getDenominator();
+        List<Variable> variables = term.getVariables();
+
+        boolean hasVariables = false;
+        for (Variable variable : variables) {
+            hasVariables |= variable.getDegree() != 0;
+        }
+
+        renderer.sign(out, numerator < 0, leading);
+
+        boolean separated = false;
+        if (!hasVariables || Math.abs((long) numerator) != denominator) {
+            renderer.coefficient(out, Math.abs(numerator), denominator);
+            separated = true;
+        }
+
+        if (!renderer.divisorsLast()) {
+            for (Variable variable : variables) {
+                if (variable.getDegree() != 0) {
+                    renderer.variable(out, variable, separated);
+                    separated = true;
+                }
+            }
+            return;
+        }
+
+        for (Variable variable : variables) {
+            if (variable.getDegree() > 0) {
+                renderer.variable(out, variable, separated);
+                separated = true;
+            }
+        }
+        for (Variable variable : variables) {
+            if (variable.getDegree() < 0) {
+                renderer.variable(out, variable, separated);
+                separated = true;
+            }
+        }
+    }
+}
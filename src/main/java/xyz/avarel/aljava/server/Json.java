@@ -0,0 +1,187 @@
+package xyz.avarel.aljava.server;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Just enough JSON for the server protocol: requests are objects whose values are strings,
+ * numbers, booleans or null, and responses may also hold lists of strings.
+ */
+final class Json {
+    private final String source;
+    private int pos;
+
+    private Json(String source) {
+        this.source = source;
+    }
+
+    /**
+     * @return The members of the object, with strings, {@link BigDecimal}s, booleans and nulls as values.
+     * @throws IllegalArgumentException If the source is not a flat JSON object.
+     */
+    static Map<String, Object> parseObject(String source) {
+        Json json = new Json(source);
+        Map<String, Object> members = json.object();
+        json.skipWhitespace();
+        if (json.pos != source.length()) {
+            throw json.error("Unexpected content after the object");
+        }
+        return members;
+    }
+
+    static void write(StringBuilder sb, Object value) {
+        if (value == null) {
+            sb.append("null");
+        } else if (value instanceof String) {
+            writeString(sb, (String) value);
+        } else if (value instanceof Number || value instanceof Boolean) {
+            sb.append(value);
+        } else if (value instanceof List) {
+            sb.append('[');
+            List<?> list = (List<?>) value;
+            for (int i = 0; i < list.size(); i++) {
+                if (i != 0) sb.append(',');
+                write(sb, list.get(i));
+            }
+            sb.append(']');
+        } else {
+            throw new IllegalArgumentException("Can not write " + value.getClass().getSimpleName() + " as JSON");
+        }
+    }
+
+    private static void writeString(StringBuilder sb, String s) {
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        sb.append('"');
+    }
+
+    private Map<String, Object> object() {
+        expect('{');
+        Map<String, Object> members = new LinkedHashMap<>();
+
+        skipWhitespace();
+        if (peek() == '}') {
+            pos++;
+            return members;
+        }
+
+        while (true) {
+            skipWhitespace();
+            String key = string();
+            expect(':');
+            members.put(key, value());
+
+            skipWhitespace();
+            char c = next();
+            if (c == '}') return members;
+            if (c != ',') throw error("Expected ',' or '}'");
+        }
+    }
+
+    private Object value() {
+        skipWhitespace();
+        char c = peek();
+        switch (c) {
+            case '"': return string();
+            case 't': literal("true"); return Boolean.TRUE;
+            case 'f': literal("false"); return Boolean.FALSE;
+            case 'n': literal("null"); return null;
+            default:
+                if (c == '-' || c >= '0' && c <= '9') return number();
+                throw error("Unexpected '" + c + "'");
+        }
+    }
+
+    private String string() {
+        expect('"');
+        StringBuilder sb = new StringBuilder();
+        while (true) {
+            char c = next();
+            if (c == '"') return sb.toString();
+            if (c != '\\') {
+                sb.append(c);
+                continue;
+            }
+
+            c = next();
+            switch (c) {
+                case '"': case '\\': case '/': sb.append(c); break;
+                case 'b': sb.append('\b'); break;
+                case 'f': sb.append('\f'); break;
+                case 'n': sb.append('\n'); break;
+                case 'r': sb.append('\r'); break;
+                case 't': sb.append('\t'); break;
+                case 'u':
+                    if (pos + 4 > source.length()) throw error("Truncated escape");
+                    try {
+                        sb.append((char) Integer.parseInt(source.substring(pos, pos + 4), 16));
+                    } catch (NumberFormatException e) {
+                        throw error("Invalid escape");
+                    }
+                    pos += 4;
+                    break;
+                default: throw error("Invalid escape");
+            }
+        }
+    }
+
+    private BigDecimal number() {
+        int start = pos;
+        while (pos < source.length() && "+-.eE0123456789".indexOf(source.charAt(pos)) >= 0) {
+            pos++;
+        }
+        try {
+            return new BigDecimal(source.substring(start, pos));
+        } catch (NumberFormatException e) {
+            throw error("Invalid number");
+        }
+    }
+
+    private void literal(String word) {
+        if (!source.startsWith(word, pos)) throw error("Expected " + word);
+        pos += word.length();
+    }
+
+    private void expect(char c) {
+        skipWhitespace();
+        if (next() != c) throw error("Expected '" + c + "'");
+    }
+
+    private char peek() {
+        if (pos >= source.length()) throw error("Unexpected end");
+        return source.charAt(pos);
+    }
+
+    private char next() {
+        char c = peek();
+        pos++;
+        return c;
+    }
+
+    private void skipWhitespace() {
+        while (pos < source.length() && Character.isWhitespace(source.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("Malformed JSON: " + message + " at " + pos);
+    }
+}
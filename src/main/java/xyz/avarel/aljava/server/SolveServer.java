@@ -0,0 +1,369 @@
+package xyz.avarel.aljava.server;
+
+import xyz.avarel.aljava.ComputeBudget;
+import xyz.avarel.aljava.Equation;
+import xyz.avarel.aljava.Expression;
+import xyz.avarel.aljava.Solution;
+import xyz.avarel.aljava.exceptions.MathException;
+import xyz.avarel.aljava.lexer.Lexer;
+import xyz.avarel.aljava.parser.Parser;
+import xyz.avarel.aljava.render.Renderer;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Answers newline-delimited JSON requests over a pair of streams, such as stdin and stdout,
+ * or over localhost sockets.
+ * <p>
+ * A request is an object such as {@code {"id": 1, "op": "solve", "input": "x^2 = 4", "variable": "x"}}.
+ * The op is {@code simplify}, {@code solve} or {@code render}, and an optional {@code format} is
+ * {@code text}, {@code tex}, {@code mathml} or {@code infix}. Every request is answered with
+ * {@code {"id": ..., "result": ...}} or {@code {"id": ..., "error": "..."}}, in the order the
+ * answers are ready rather than the order of the requests.
+ * <p>
+ * Requests of a connection run concurrently on the executor, up to a limit after which reading
+ * waits. A request that takes longer than the timeout is answered with an error and its
+ * thread is interrupted, and lines longer than the request limit are rejected without being
+ * parsed. Each request also runs within a {@link ComputeBudget}, so that oversized work stops
+ * early and interrupted work stops at the next check.
+ */
+public final class SolveServer implements Closeable {
+    public static final long DEFAULT_TIMEOUT_MILLIS = 10_000;
+    public static final int DEFAULT_MAX_REQUEST_LENGTH = 1 << 16;
+    public static final int DEFAULT_MAX_TERMS = 10_000;
+    public static final int DEFAULT_MAX_DEGREE = 1_000;
+
+    private final ExecutorService executor;
+    private final ScheduledExecutorService timer;
+    private final ComputeBudget budget;
+    private final long timeoutMillis;
+    private final int maxConcurrent;
+    private final int maxRequestLength;
+
+    /**
+     * Runs requests on a pool with a thread per processor, with the default limits.
+     */
+    public SolveServer() {
+        this(Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), daemonThreads("aljava-worker")),
+                DEFAULT_TIMEOUT_MILLIS, 4 * Runtime.getRuntime().availableProcessors(), DEFAULT_MAX_REQUEST_LENGTH);
+    }
+
+    /**
+     * @param executor         Runs the requests. It is shut down when the server is closed.
+     * @param timeoutMillis    How long a request may take.
+     * @param maxConcurrent    How many requests of a connection may be queued or running at once.
+     * @param maxRequestLength The longest request line, in chars.
+     */
+    public SolveServer(ExecutorService executor, long timeoutMillis, int maxConcurrent, int maxRequestLength) {
+        this(executor, ComputeBudget.UNLIMITED
+                        .withMaxTerms(DEFAULT_MAX_TERMS)
+                        .withMaxDegree(DEFAULT_MAX_DEGREE)
+                        .withTimeout(timeoutMillis, TimeUnit.MILLISECONDS),
+                timeoutMillis, maxConcurrent, maxRequestLength);
+    }
+
+    /**
+     * @param budget Limits each request.
+     */
+    public SolveServer(ExecutorService executor, ComputeBudget budget, long timeoutMillis, int maxConcurrent, int maxRequestLength) {
+        if (timeoutMillis <= 0 || maxConcurrent < 1 || maxRequestLength < 1) {
+            throw new IllegalArgumentException("Limits must be positive");
+        }
+        this.executor = executor;
+        this.budget = budget;
+        this.timeoutMillis = timeoutMillis;
+        this.maxConcurrent = maxConcurrent;
+        this.maxRequestLength = maxRequestLength;
+
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, daemonThreads("aljava-timeout"));
+        timer.setRemoveOnCancelPolicy(true);
+        this.timer = timer;
+    }
+
+    /**
+     * Serves {@code System.in} and {@code System.out}, or localhost connections with {@code --port <port>}.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        try (SolveServer server = new SolveServer()) {
+            if (args.length == 2 && args[0].equals("--port")) {
+                try (ServerSocket socket = new ServerSocket(Integer.parseInt(args[1]), 50, InetAddress.getLoopbackAddress())) {
+                    server.serve(socket);
+                }
+            } else {
+                server.serve(System.in, System.out);
+            }
+        }
+    }
+
+    /**
+     * Accepts connections until the socket is closed, serving each on its own thread.
+     */
+    public void serve(ServerSocket serverSocket) throws IOException {
+        while (true) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (SocketException e) {
+                if (serverSocket.isClosed()) return;
+                throw e;
+            }
+
+            Thread thread = new Thread(() -> {
+                try (Socket s = socket) {
+                    serve(s.getInputStream(), s.getOutputStream());
+                } catch (IOException | InterruptedException e) {
+                    // The connection is gone, there is no one left to tell
+                }
+            }, "aljava-connection");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * Answers the requests read from the input until it ends, and waits for the answers
+     * that are still running.
+     */
+    public void serve(InputStream in, OutputStream out) throws IOException, InterruptedException {
+        Reader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        Semaphore permits = new Semaphore(maxConcurrent);
+
+        StringBuilder line = new StringBuilder();
+        while (true) {
+            int length = readLine(reader, line);
+            if (length < 0) break;
+
+            if (length > maxRequestLength) {
+                write(writer, error(null, "Request is longer than " + maxRequestLength + " chars"));
+                continue;
+            } else if (line.toString().trim().isEmpty()) {
+                continue;
+            }
+
+            Map<String, Object> request;
+            try {
+                request = Json.parseObject(line.toString());
+            } catch (IllegalArgumentException e) {
+                write(writer, error(null, e.getMessage()));
+                continue;
+            }
+
+            permits.acquire();
+            new Pending(request.get("id"), writer, permits).start(request);
+        }
+
+        // Wait for the requests that are still running
+        permits.acquire(maxConcurrent);
+        permits.release(maxConcurrent);
+    }
+
+    /**
+     * Reads a line into the builder, keeping at most one char past the limit.
+     *
+     * @return The length of the whole line, or -1 at the end of the input.
+     */
+    private int readLine(Reader reader, StringBuilder line) throws IOException {
+        line.setLength(0);
+        int length = 0;
+        int c;
+        while ((c = reader.read()) != -1 && c != '\n') {
+            if (length++ <= maxRequestLength) {
+                line.append((char) c);
+            }
+        }
+        return c == -1 && length == 0 ? -1 : length;
+    }
+
+    /**
+     * A request that is answered by whichever finishes first, its task or its timeout.
+     */
+    private final class Pending {
+        private final Object id;
+        private final Writer writer;
+        private final Semaphore permits;
+        private final AtomicBoolean answered = new AtomicBoolean();
+
+        private volatile Future<?> task;
+        private volatile Future<?> timeout;
+
+        private Pending(Object id, Writer writer, Semaphore permits) {
+            this.id = id;
+            this.writer = writer;
+            this.permits = permits;
+        }
+
+        private void start(Map<String, Object> request) {
+            timeout = timer.schedule(() -> {
+                if (answer(error(id, "Timed out after " + timeoutMillis + " ms"))) {
+                    Future<?> task = this.task;
+                    if (task != null) task.cancel(true);
+                }
+            }, timeoutMillis, TimeUnit.MILLISECONDS);
+
+            try {
+                task = executor.submit(() -> {
+                    String response;
+                    try {
+                        response = result(id, budget.run(() -> handle(request)));
+                    } catch (MathException | ArithmeticException | IllegalArgumentException e) {
+                        response = error(id, e.getMessage());
+                    } catch (RuntimeException e) {
+                        response = error(id, e.toString());
+                    } catch (StackOverflowError e) {
+                        response = error(id, "Input is nested too deeply");
+                    }
+
+                    if (answer(response)) {
+                        timeout.cancel(false);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                answer(error(id, "Server is shutting down"));
+                timeout.cancel(false);
+            }
+        }
+
+        /**
+         * @return If this was the first answer.
+         */
+        private boolean answer(String response) {
+            if (!answered.compareAndSet(false, true)) {
+                return false;
+            }
+            try {
+                write(writer, response);
+            } catch (IOException e) {
+                // The client is gone, the remaining requests drain without output
+            } finally {
+                permits.release();
+            }
+            return true;
+        }
+    }
+
+    private static Object handle(Map<String, Object> request) {
+        String op = string(request, "op", null);
+        String input = string(request, "input", null);
+        String format = string(request, "format", "text");
+
+        switch (op) {
+            case "simplify":
+                if (input.contains("=")) {
+                    return render(parseEquation(input).simplify(), format);
+                }
+                return render(parseExpression(input).simplify(), format);
+            case "render":
+                if (input.contains("=")) {
+                    return render(parseEquation(input), format);
+                }
+                return render(parseExpression(input), format);
+            case "solve":
+                String variable = string(request, "variable", "x");
+                List<String> solutions = new ArrayList<>();
+                for (Solution solution : parseEquation(input).simplify().solveFor(variable)) {
+                    switch (format) {
+                        case "text": solutions.add(solution.toString()); break;
+                        case "tex": solutions.add(solution.toTex()); break;
+                        default: throw new IllegalArgumentException("Solutions can not be written as " + format);
+                    }
+                }
+                return solutions;
+            default:
+                throw new IllegalArgumentException("Unknown op " + op);
+        }
+    }
+
+    private static Expression parseExpression(String input) {
+        return new Parser(new Lexer(input)).parse();
+    }
+
+    private static Equation parseEquation(String input) {
+        return new Parser(new Lexer(input)).parseEquation();
+    }
+
+    private static String render(Expression expression, String format) {
+        switch (format) {
+            case "text": return expression.toString();
+            case "tex": return Renderer.TEX.render(expression);
+            case "mathml": return Renderer.MATHML.render(expression);
+            case "infix": return Renderer.INFIX.render(expression);
+            default: throw new IllegalArgumentException("Unknown format " + format);
+        }
+    }
+
+    private static String render(Equation equation, String format) {
+        switch (format) {
+            case "text": return equation.toString();
+            case "tex": return Renderer.TEX.render(equation);
+            case "mathml": return Renderer.MATHML.render(equation);
+            case "infix": return Renderer.INFIX.render(equation);
+            default: throw new IllegalArgumentException("Unknown format " + format);
+        }
+    }
+
+    /**
+     * @param fallback The value if the member is missing, or {@code null} if it is required.
+     */
+    private static String string(Map<String, Object> request, String key, String fallback) {
+        Object value = request.get(key);
+        if (value == null) {
+            if (fallback == null) throw new IllegalArgumentException("Missing \"" + key + "\"");
+            return fallback;
+        } else if (!(value instanceof String)) {
+            throw new IllegalArgumentException("\"" + key + "\" must be a string");
+        }
+        return (String) value;
+    }
+
+    private static String result(Object id, Object result) {
+        StringBuilder sb = new StringBuilder("{\"id\":");
+        Json.write(sb, id);
+        sb.append(",\"result\":");
+        Json.write(sb, result);
+        return sb.append('}').toString();
+    }
+
+    private static String error(Object id, String message) {
+        StringBuilder sb = new StringBuilder("{\"id\":");
+        Json.write(sb, id);
+        sb.append(",\"error\":");
+        Json.write(sb, message != null ? message : "Unknown error");
+        return sb.append('}').toString();
+    }
+
+    private static void write(Writer writer, String response) throws IOException {
+        synchronized (writer) {
+            writer.write(response);
+            writer.write('\n');
+            writer.flush();
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Stops the executor and the timeouts. Requests that are still running are interrupted.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        timer.shutdownNow();
+    }
+}
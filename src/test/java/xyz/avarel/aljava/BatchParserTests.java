@@ -0,0 +1,73 @@
+package xyz.avarel.aljava;
+
+import org.junit.Assert;
+import org.junit.Test;
+import xyz.avarel.aljava.lexer.Lexer;
+import xyz.avarel.aljava.parser.BatchParser;
+import xyz.avarel.aljava.parser.Parser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class BatchParserTests {
+    @Test
+    public void lines() {
+        BatchParser parser = new BatchParser("x^2 + 2x + 1\r\n\n\t2x = 4\n  y*x - 3");
+
+        BatchParser.Line line = parser.next();
+        Assert.assertEquals(1, line.getLineNumber());
+        Assert.assertEquals(new Parser(new Lexer("x^2 + 2x + 1")).parse(), line.getExpression());
+
+        line = parser.next();
+        Assert.assertEquals(3, line.getLineNumber());
+        Assert.assertTrue(line.isEquation());
+        Assert.assertEquals("2", line.getEquation().solveFor("x").get(0).toString());
+
+        line = parser.next();
+        Assert.assertEquals(4, line.getLineNumber());
+        Assert.assertEquals(3, line.getPosition().getLineIndex());
+        Assert.assertFalse(line.isError());
+
+        Assert.assertFalse(parser.hasNext());
+    }
+
+    @Test
+    public void recovery() {
+        List<BatchParser.Line> lines = new BatchParser("x + 1\nx + $ + 2\n2 + * 3\n= 4\n$\nx = y + 1")
+                .stream().collect(Collectors.toList());
+
+        Assert.assertEquals(6, lines.size());
+        Assert.assertEquals(Arrays.asList(false, true, true, true, true, false),
+                lines.stream().map(BatchParser.Line::isError).collect(Collectors.toList()));
+
+        Assert.assertEquals(2, lines.get(1).getError().getPosition().getLineNumber());
+        Assert.assertEquals(5, lines.get(4).getLineNumber());
+        Assert.assertEquals(6, lines.get(5).getLineNumber());
+        Assert.assertTrue(lines.get(5).isEquation());
+    }
+
+    @Test
+    public void file() throws IOException {
+        Path path = Files.createTempFile("batch", ".txt");
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            sb.append(i).append("x + y^").append(i % 7 + 1).append('\n');
+        }
+        Files.write(path, sb.toString().getBytes(StandardCharsets.UTF_8));
+
+        try (BatchParser parser = BatchParser.open(path)) {
+            long count = 0;
+            while (parser.hasNext()) {
+                BatchParser.Line line = parser.next();
+                Assert.assertFalse(line.toString(), line.isError());
+                count++;
+            }
+            Assert.assertEquals(5000, count);
+        }
+    }
+}
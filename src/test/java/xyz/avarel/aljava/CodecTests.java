@@ -0,0 +1,97 @@
+package xyz.avarel.aljava;
+
+import org.junit.Assert;
+import org.junit.Test;
+import xyz.avarel.aljava.codec.BinaryCodec;
+import xyz.avarel.aljava.exceptions.CodecException;
+import xyz.avarel.aljava.lexer.Lexer;
+import xyz.avarel.aljava.parser.Parser;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+public class CodecTests {
+    private static Expression parse(String str) {
+        return new Parser(new Lexer(str)).parse().simplify();
+    }
+
+    @Test
+    public void expression() {
+        Expression expression = parse("-3x^2/4 + y/z^2 + alpha*x - 7");
+        ByteBuffer buffer = ByteBuffer.wrap(BinaryCodec.encode(expression));
+
+        Assert.assertEquals(expression, BinaryCodec.decodeExpression(buffer));
+        Assert.assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    public void equation() {
+        Equation equation = new Parser(new Lexer("x^2 + 2x*y = y - 1/3")).parseEquation();
+        Equation decoded = BinaryCodec.decodeEquation(ByteBuffer.wrap(BinaryCodec.encode(equation)));
+
+        Assert.assertEquals(equation.getLhs(), decoded.getLhs());
+        Assert.assertEquals(equation.getRhs(), decoded.getRhs());
+    }
+
+    @Test
+    public void solutions() {
+        List<Solution> solutions = Arrays.asList(
+                Solution.rational(Fraction.valueOf(-2, 3)),
+                Solution.radical(Fraction.valueOf(1, 2), Fraction.valueOf(3, 2), 5),
+                Solution.numeric(Math.PI),
+                Solution.symbolic(parse("2y - z")),
+                Solution.allReals(),
+                Solution.none());
+
+        List<Solution> decoded = BinaryCodec.decodeSolutions(ByteBuffer.wrap(BinaryCodec.encode(solutions)));
+        Assert.assertEquals(solutions.size(), decoded.size());
+        for (int i = 0; i < solutions.size(); i++) {
+            Assert.assertEquals(solutions.get(i).getKind(), decoded.get(i).getKind());
+            Assert.assertEquals(solutions.get(i).toString(), decoded.get(i).toString());
+        }
+    }
+
+    @Test
+    public void consecutive() {
+        byte[] a = BinaryCodec.encode(parse("x + 1"));
+        byte[] b = BinaryCodec.encode(parse("x*x*x*x*x*x + x*x*x + x"));
+        ByteBuffer buffer = ByteBuffer.allocateDirect(a.length + b.length);
+        buffer.put(a).put(b).flip();
+
+        Assert.assertEquals(parse("x + 1"), BinaryCodec.decodeExpression(buffer));
+        Assert.assertEquals(parse("x^6 + x^3 + x"), BinaryCodec.decodeExpression(buffer));
+
+        // The name of x is stored once however often it appears
+        Assert.assertTrue(b.length < a.length + 12);
+    }
+
+    @Test
+    public void malformed() {
+        byte[] bytes = BinaryCodec.encode(parse("x^2 + 3y"));
+
+        assertMalformed(Arrays.copyOf(bytes, bytes.length - 1));
+
+        byte[] version = bytes.clone();
+        version[2] = (byte) (BinaryCodec.VERSION + 1);
+        assertMalformed(version);
+
+        byte[] magic = bytes.clone();
+        magic[0] = 'X';
+        assertMalformed(magic);
+
+        try {
+            BinaryCodec.decodeEquation(ByteBuffer.wrap(bytes));
+            Assert.fail("Expected CodecException");
+        } catch (CodecException ignored) {
+        }
+    }
+
+    private static void assertMalformed(byte[] bytes) {
+        try {
+            BinaryCodec.decodeExpression(ByteBuffer.wrap(bytes));
+            Assert.fail("Expected CodecException");
+        } catch (CodecException ignored) {
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package xyz.avarel.aljava;
+
+import org.junit.Assert;
+import org.junit.Test;
+import xyz.avarel.aljava.lexer.Lexer;
+import xyz.avarel.aljava.parser.Parser;
+import xyz.avarel.aljava.polynomial.CoefficientRing;
+import xyz.avarel.aljava.polynomial.RingPolynomial;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+public class CoefficientRingTests {
+    private static Expression parse(String str) {
+        return new Parser(new Lexer(str)).parse();
+    }
+
+    @Test
+    public void montgomery() {
+        long p = (1L << 61) - 1;
+        CoefficientRing ring = CoefficientRing.modulo(p);
+        BigInteger modulus = BigInteger.valueOf(p);
+
+        Random random = new Random(0);
+        for (int i = 0; i < 1000; i++) {
+            long a = random.nextLong() & Long.MAX_VALUE;
+            long b = random.nextLong() & Long.MAX_VALUE;
+
+            long product = ring.toLong(ring.multiply(ring.valueOf(a), ring.valueOf(b)));
+            Assert.assertEquals(BigInteger.valueOf(a).multiply(BigInteger.valueOf(b)).mod(modulus).longValue(), product);
+
+            long sum = ring.toLong(ring.add(ring.valueOf(a), ring.valueOf(b)));
+            Assert.assertEquals(BigInteger.valueOf(a).add(BigInteger.valueOf(b)).mod(modulus).longValue(), sum);
+        }
+    }
+
+    @Test
+    public void inverse() {
+        CoefficientRing ring = CoefficientRing.modulo(1_000_000_007);
+        Assert.assertTrue(ring.isField());
+
+        long three = ring.valueOf(3);
+        Assert.assertEquals(1, ring.toLong(ring.multiply(three, ring.inverse(three))));
+        Assert.assertEquals(333333336, ring.toLong(ring.valueOf(new Fraction(1, 3))));
+        Assert.assertEquals(1_000_000_006, ring.toLong(ring.valueOf(-1)));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void notInvertible() {
+        CoefficientRing ring = CoefficientRing.modulo(15);
+        Assert.assertFalse(ring.isField());
+        ring.inverse(ring.valueOf(5));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void integerOverflow() {
+        CoefficientRing.INTEGERS.multiply(Long.MAX_VALUE, 2);
+    }
+
+    @Test
+    public void frobenius() {
+        RingPolynomial result = parse("x + 1").over(CoefficientRing.modulo(7)).pow(7);
+        Assert.assertEquals(parse("x^7 + 1").over(CoefficientRing.modulo(7)), result);
+        Assert.assertEquals("x^7 + 1", result.toString());
+    }
+
+    @Test
+    public void polynomial() {
+        CoefficientRing ring = CoefficientRing.modulo(5);
+        RingPolynomial a = parse("3x*y + 4").over(ring);
+        RingPolynomial b = parse("2x*y + 1").over(ring);
+
+        // 6x^2y^2 + 11xy + 4 = x^2y^2 + xy + 4 (mod 5)
+        Assert.assertEquals(parse("x^2*y^2 + x*y + 4"), a.times(b).toExpression());
+        Assert.assertTrue(a.plus(b).isZero());
+        Assert.assertEquals(parse("x*y + 3"), a.minus(b).toExpression());
+        Assert.assertEquals(parse("x^2 + x + 4"), a.times(b).evaluate(1, 1).toExpression());
+
+        RingPolynomial integers = parse("3x*y + 4").over(CoefficientRing.INTEGERS);
+        Assert.assertEquals(parse("9x^2*y^2 + 24x*y + 16"), integers.pow(2).toExpression());
+    }
+
+    @Test
+    public void division() {
+        CoefficientRing ring = CoefficientRing.modulo(7);
+        RingPolynomial a = parse("x^3 + 2x + 5").over(ring);
+        RingPolynomial b = parse("3x + 1").over(ring);
+
+        RingPolynomial[] result = a.divideAndRemainder(b);
+        Assert.assertEquals(a, result[0].times(b).plus(result[1]));
+        Assert.assertTrue(result[1].isConstant());
+        Assert.assertEquals(7, ring.characteristic());
+    }
+}
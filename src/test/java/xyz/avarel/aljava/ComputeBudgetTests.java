@@ -0,0 +1,86 @@
+package xyz.avarel.aljava;
+
+import org.junit.Assert;
+import org.junit.Test;
+import xyz.avarel.aljava.exceptions.BudgetExceededException;
+import xyz.avarel.aljava.lexer.Lexer;
+import xyz.avarel.aljava.parser.Parser;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+public class ComputeBudgetTests {
+    private static Expression parse(String str) {
+        return new Parser(new Lexer(str)).parse();
+    }
+
+    private static BudgetExceededException.Limit exceeded(ComputeBudget budget, Supplier<?> task) {
+        try {
+            budget.run(task);
+        } catch (BudgetExceededException e) {
+            return e.getLimit();
+        }
+        Assert.fail("Expected BudgetExceededException");
+        return null;
+    }
+
+    @Test
+    public void terms() {
+        ComputeBudget budget = ComputeBudget.UNLIMITED.withMaxTerms(1000);
+        Expression sum = parse("x + y + z + w");
+
+        Assert.assertEquals(BudgetExceededException.Limit.TERMS, exceeded(budget, () -> sum.pow(200)));
+        Assert.assertEquals(35, (int) budget.run(() -> sum.pow(4).getTerms().size()));
+        Assert.assertFalse(ComputeBudget.isActive());
+    }
+
+    @Test
+    public void degree() {
+        ComputeBudget budget = ComputeBudget.UNLIMITED.withMaxDegree(100);
+
+        Assert.assertEquals(BudgetExceededException.Limit.DEGREE, exceeded(budget, () -> parse("x + 1").pow(101)));
+        Assert.assertEquals(BudgetExceededException.Limit.DEGREE,
+                exceeded(budget, () -> new Parser(new Lexer("x^60 * x^60 = 1")).parseEquation().solveFor("x")));
+    }
+
+    @Test
+    public void coefficientBits() {
+        ComputeBudget budget = ComputeBudget.UNLIMITED.withMaxCoefficientBits(10);
+
+        Assert.assertEquals(BudgetExceededException.Limit.COEFFICIENT_BITS,
+                exceeded(budget, () -> parse("3x + 1").pow(8)));
+    }
+
+    @Test
+    public void deadline() {
+        ComputeBudget budget = ComputeBudget.UNLIMITED.withTimeout(50, TimeUnit.MILLISECONDS);
+
+        long start = System.nanoTime();
+        Assert.assertEquals(BudgetExceededException.Limit.DEADLINE,
+                exceeded(budget, () -> parse("x + y + z + w + v").pow(200)));
+        Assert.assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(10));
+    }
+
+    @Test
+    public void cancelled() {
+        Thread.currentThread().interrupt();
+        try {
+            Assert.assertEquals(BudgetExceededException.Limit.CANCELLED,
+                    exceeded(ComputeBudget.UNLIMITED, () -> parse("x + 1").pow(3)));
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    public void nested() {
+        ComputeBudget outer = ComputeBudget.UNLIMITED.withMaxTerms(10);
+        ComputeBudget inner = ComputeBudget.UNLIMITED.withMaxTerms(1000).withMaxDegree(50);
+
+        Assert.assertEquals(BudgetExceededException.Limit.TERMS,
+                exceeded(outer, () -> inner.run(() -> parse("x + y + 1").pow(3))));
+
+        // Without a budget nothing is limited
+        Assert.assertEquals(35, parse("x + y + z + w").pow(4).getTerms().size());
+    }
+}
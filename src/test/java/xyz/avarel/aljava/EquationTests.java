@@ -0,0 +1,144 @@
+package xyz.avarel.aljava;
+
+import org.junit.Assert;
+import org.junit.Test;
+import xyz.avarel.aljava.lexer.Lexer;
+import xyz.avarel.aljava.parser.Parser;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class EquationTests {
+    private static Equation parse(String str) {
+        return new Parser(new Lexer(str)).parseEquation();
+    }
+
+    @Test
+    public void linear() {
+        List<Solution> solutions = parse("2x - 3 = 4").solveFor("x");
+
+        Assert.assertEquals(Collections.singletonList(Solution.rational(new Fraction(7, 2))), solutions);
+        Assert.assertEquals(Solution.Kind.RATIONAL, solutions.get(0).getKind());
+        Assert.assertEquals(3.5, solutions.get(0).toDouble(), 0);
+    }
+
+    @Test
+    public void symbolic() {
+        Solution solution = parse("x + y = 3").solveFor("x").get(0);
+
+        Assert.assertEquals(Solution.Kind.SYMBOLIC, solution.getKind());
+        Assert.assertEquals(new Expression(3).minus("y"), solution.toExpression());
+    }
+
+    @Test
+    public void unbounded() {
+        Assert.assertEquals(Collections.singletonList(Solution.allReals()), parse("x + 1 = x + 1").solveFor("x"));
+        Assert.assertEquals(Collections.singletonList(Solution.none()), parse("x + 1 = x + 2").solveFor("x"));
+    }
+
+    @Test
+    public void quadratic() {
+        Assert.assertEquals(
+                Arrays.asList(Solution.rational(new Fraction(-3)), Solution.rational(new Fraction(1, 2))),
+                parse("2x^2 + 5x - 3 = 0").solveFor("x"));
+        Assert.assertEquals(Collections.singletonList(Solution.none()), parse("x^2 + 1 = 0").solveFor("x"));
+    }
+
+    @Test
+    public void radical() {
+        List<Solution> solutions = parse("x^2 + x - 1 = 0").solveFor("x");
+
+        Assert.assertEquals(Arrays.asList(
+                Solution.radical(new Fraction(-1, 2), new Fraction(-1, 2), 5),
+                Solution.radical(new Fraction(-1, 2), new Fraction(1, 2), 5)
+        ), solutions);
+        Assert.assertEquals(Solution.Kind.RADICAL, solutions.get(0).getKind());
+        Assert.assertEquals("(-1 + √5)/2", solutions.get(1).toString());
+        Assert.assertEquals((Math.sqrt(5) - 1) / 2, solutions.get(1).toDouble(), 1e-12);
+    }
+
+    @Test
+    public void discriminantOverflow() {
+        // b^2 does not fit an int, but the exact discriminant still splits into radicals
+        Assert.assertEquals(Arrays.asList(
+                Solution.radical(new Fraction(-25000), new Fraction(-1), 624999999),
+                Solution.radical(new Fraction(-25000), new Fraction(1), 624999999)
+        ), parse("x^2 + 50000x + 1 = 0").solveFor("x"));
+    }
+
+    @Test
+    public void numericQuadraticRoots() {
+        // The square-free part of 10^18 - 1 does not fit an int
+        List<Solution> solutions = parse("x^2 + 2000000000x + 1 = 0").solveFor("x");
+
+        Assert.assertEquals(2, solutions.size());
+        for (Solution solution : solutions) {
+            Assert.assertEquals(Solution.Kind.NUMERIC, solution.getKind());
+        }
+        Assert.assertEquals(-2e9, solutions.get(0).toDouble(), 1e-6);
+        Assert.assertEquals(-5e-10, solutions.get(1).toDouble(), 1e-24);
+    }
+
+    @Test
+    public void negativeLeadingCoefficient() {
+        Assert.assertEquals(Arrays.asList(
+                Solution.radical(new Fraction(0), new Fraction(-1), 3),
+                Solution.radical(new Fraction(0), new Fraction(1), 3)
+        ), parse("-x^2 + 3 = 0").solveFor("x"));
+    }
+
+    @Test
+    public void squareFreeRadicand() {
+        Assert.assertEquals(Arrays.asList(
+                Solution.radical(new Fraction(0), new Fraction(-2), 3),
+                Solution.radical(new Fraction(0), new Fraction(2), 3)
+        ), parse("x^2 = 12").solveFor("x"));
+    }
+
+    @Test
+    public void factoring() {
+        Assert.assertEquals(Arrays.asList(
+                Solution.rational(new Fraction(-2)),
+                Solution.rational(new Fraction(1, 3)),
+                Solution.rational(new Fraction(2))
+        ), parse("3x^3 - x^2 = 12x - 4").solveFor("x"));
+
+        Assert.assertEquals(Arrays.asList(
+                Solution.radical(new Fraction(0), new Fraction(-1), 2),
+                Solution.rational(new Fraction(0)),
+                Solution.rational(new Fraction(1)),
+                Solution.radical(new Fraction(0), new Fraction(1), 2)
+        ), parse("x^4 - x^3 - 2x^2 + 2x = 0").solveFor("x"));
+
+        Assert.assertEquals(Collections.singletonList(Solution.none()), parse("x^4 + 3x^2 + 2 = 0").solveFor("x"));
+    }
+
+    @Test
+    public void numeric() {
+        double root = 2.0945514815423265;
+
+        Assert.assertEquals(root, parse("x^3 - 2x - 5 = 0").solveNumerically("x", 2, Equation.Method.NEWTON).toDouble(), 1e-14);
+        Assert.assertEquals(root, parse("x^3 = 2x + 5").solveNumerically("x", 10).toDouble(), 1e-14);
+    }
+
+    @Test
+    public void irreducibleCubic() {
+        List<Solution> solutions = parse("x^3 - 2 = 0").solveFor("x");
+
+        Assert.assertEquals(1, solutions.size());
+        Assert.assertEquals(Solution.Kind.NUMERIC, solutions.get(0).getKind());
+        Assert.assertEquals(Math.cbrt(2), solutions.get(0).toDouble(), 1e-14);
+
+        solutions = parse("x^4 - 10x^2 + 1 = 0").solveFor("x");
+        double[] expected = {
+                -Math.sqrt(2) - Math.sqrt(3), Math.sqrt(2) - Math.sqrt(3),
+                Math.sqrt(3) - Math.sqrt(2), Math.sqrt(2) + Math.sqrt(3)
+        };
+
+        Assert.assertEquals(4, solutions.size());
+        for (int i = 0; i < expected.length; i++) {
+            Assert.assertEquals(expected[i], solutions.get(i).toDouble(), 1e-13);
+        }
+    }
+}
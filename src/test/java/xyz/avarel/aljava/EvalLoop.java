@@ -31,7 +31,7 @@ public class EvalLoop {
                 Equation simplified = expr.simplify();
 
                 StringJoiner joiner = new StringJoiner(", ");
-                for (Object ans : simplified.solveFor("x")) {
+                for (Solution ans : simplified.solveFor("x")) {
                     joiner.add(ans.toString());
                 }
                 String result = joiner.toString();
@@ -0,0 +1,112 @@
+package xyz.avarel.aljava;
+
+import org.junit.Assert;
+import org.junit.Test;
+import xyz.avarel.aljava.codec.ExpressionStore;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ExpressionStoreTests {
+    private static List<Expression> corpus(int size) {
+        List<Expression> expressions = new ArrayList<>();
+        Expression x = new Expression("x");
+        Expression y = new Expression("y");
+        for (int i = 0; i < size; i++) {
+            expressions.add(x.plus(y.times(new Expression(i))).pow(i % 4 + 1).simplify());
+        }
+        return expressions;
+    }
+
+    @Test
+    public void appendAndGet() throws IOException {
+        Path path = Files.createTempDirectory("store").resolve("corpus");
+        List<Expression> expressions = corpus(200);
+
+        try (ExpressionStore store = ExpressionStore.open(path)) {
+            for (int i = 0; i < expressions.size(); i++) {
+                Assert.assertEquals(i, store.append(expressions.get(i)));
+            }
+
+            Assert.assertEquals(200, store.size());
+            Assert.assertEquals(expressions.get(137), store.get(137));
+            Assert.assertEquals(expressions.get(0), store.get(0));
+
+            int i = 0;
+            for (Expression expression : store) {
+                Assert.assertEquals(expressions.get(i++), expression);
+            }
+            Assert.assertEquals(200, i);
+
+            try {
+                store.get(200);
+                Assert.fail("Expected IndexOutOfBoundsException");
+            } catch (IndexOutOfBoundsException ignored) {
+            }
+        }
+
+        try (ExpressionStore store = ExpressionStore.open(path)) {
+            Assert.assertEquals(200, store.size());
+            Assert.assertEquals(expressions.get(199), store.get(199));
+
+            store.append(expressions.get(5));
+            Assert.assertEquals(expressions.get(5), store.get(200));
+        }
+    }
+
+    @Test
+    public void recover() throws IOException {
+        Path path = Files.createTempDirectory("store").resolve("corpus");
+        List<Expression> expressions = corpus(10);
+
+        try (ExpressionStore store = ExpressionStore.open(path)) {
+            for (Expression expression : expressions) {
+                store.append(expression);
+            }
+        }
+
+        // A record that was written without its index entry, and a torn index entry
+        Files.write(path, new byte[] { 'A', 'J', 1 }, StandardOpenOption.APPEND);
+        try (FileChannel index = FileChannel.open(Paths.get(path + ".idx"), StandardOpenOption.WRITE)) {
+            index.truncate(index.size() - 3);
+        }
+
+        try (ExpressionStore store = ExpressionStore.open(path)) {
+            Assert.assertEquals(9, store.size());
+            Assert.assertEquals(expressions.get(8), store.get(8));
+
+            store.append(expressions.get(9));
+            Assert.assertEquals(10, store.size());
+            Assert.assertEquals(expressions.get(9), store.get(9));
+        }
+    }
+
+    @Test
+    public void recoverZeroEntry() throws IOException {
+        Path path = Files.createTempDirectory("store").resolve("corpus");
+        List<Expression> expressions = corpus(3);
+
+        try (ExpressionStore store = ExpressionStore.open(path)) {
+            for (Expression expression : expressions) {
+                store.append(expression);
+            }
+        }
+        long dataLength = Files.size(path);
+
+        // The index file grew before its last entry was flushed
+        Files.write(Paths.get(path + ".idx"), new byte[Long.BYTES], StandardOpenOption.APPEND);
+
+        try (ExpressionStore store = ExpressionStore.open(path)) {
+            Assert.assertEquals(3, store.size());
+            Assert.assertEquals(expressions.get(2), store.get(2));
+        }
+        Assert.assertEquals(dataLength, Files.size(path));
+        Assert.assertEquals(3 * Long.BYTES, Files.size(Paths.get(path + ".idx")));
+    }
+}
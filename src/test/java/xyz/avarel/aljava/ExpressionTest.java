@@ -2,9 +2,14 @@ package xyz.avarel.aljava;
 
 import org.junit.Assert;
 import org.junit.Test;
+import xyz.avarel.aljava.lexer.Lexer;
+import xyz.avarel.aljava.parser.Parser;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 public class ExpressionTest {
     @Test
@@ -190,4 +195,115 @@ public class ExpressionTest {
 
         Assert.assertEquals(expected, a.div(b));
     }
+
+    @Test
+    public void polynomialDivision() {
+        Expression a = parse("x^2 - 1");
+        Expression b = parse("x - 1");
+
+        Assert.assertEquals(parse("x + 1"), a.div(b));
+    }
+
+    @Test
+    public void divisionWithRemainder() {
+        Expression[] result = parse("x^3 - 2x^2 - 4").divideAndRemainder(parse("x - 3"));
+
+        Assert.assertEquals(parse("x^2 + x + 3"), result[0]);
+        Assert.assertEquals(new Expression(5), result[1]);
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void inexactDivision() {
+        parse("x^2 + 1").div(parse("x - 1"));
+    }
+
+    @Test
+    public void gcd() {
+        Expression a = parse("x^2 - y^2");
+        Expression b = parse("x^2 + 2x*y + y^2");
+
+        Assert.assertEquals(parse("x + y"), a.gcd(b));
+    }
+
+    @Test
+    public void derivative() {
+        Expression f = parse("3x^4 - 2x^2*y + 5y - 7");
+
+        Assert.assertEquals(parse("12x^3 - 4x*y"), f.derivative("x"));
+        Assert.assertEquals(parse("-2x^2 + 5"), f.derivative("y"));
+        Assert.assertEquals(new Expression(), f.derivative("z"));
+    }
+
+    @Test
+    public void compiled() {
+        Expression f = parse("3x^4 - 2x^2*y + 5y - 7");
+
+        Assert.assertEquals(3 * 16 - 2 * 4 * 3 + 5 * 3 - 7, new CompiledExpression(f, Arrays.asList("x", "y")).evaluate(2, 3), 0);
+        Assert.assertEquals(-5.375, new CompiledExpression(parse("x^3 - 2x - 5"), "x").evaluate(-1.5), 1e-12);
+    }
+
+    @Test
+    public void probablyEquals() {
+        Expression product = parse("x + 1").times(parse("x - 1"), false).times(parse("y^2 - x"), false);
+
+        Assert.assertTrue(product.probablyEquals(parse("x^2*y^2 - x^3 - y^2 + x")));
+        Assert.assertFalse(product.probablyEquals(parse("x^2*y^2 - x^3 - y^2 - x")));
+        Assert.assertTrue(product.probablyEquals(parse("x^2*y^2 - x^3 - y^2 + x"), 0));
+    }
+
+    @Test
+    public void isZero() {
+        Expression difference = parse("x + 1").times(parse("x - 1"), false).minus(parse("x^2 - 1"), false);
+
+        Assert.assertTrue(difference.isZero());
+        Assert.assertTrue(difference.isZero(0));
+        Assert.assertFalse(parse("x").div(parse("y"), false).minus(parse("y"), false).isZero(1e-30));
+    }
+
+    private static Expression parse(String str) {
+        return new Parser(new Lexer(str)).parse();
+    }
+
+    @Test
+    public void approximate() {
+        ApproximateExpression x = new ApproximateExpression("x");
+        ApproximateExpression product = x.plus(0.1).times(x.minus(0.1));
+
+        // 0.1x - 0.1x cancels exactly, 0.1 * 0.1 does not
+        Assert.assertEquals("x^2 - 0.010000000000000002", product.toString());
+        Assert.assertEquals(2, product.size());
+
+        ApproximateExpression cancelled = x.times(0.1).times(3).minus(x.times(0.3));
+        Assert.assertEquals(0, cancelled.size());
+
+        ApproximateExpression exact = new Parser(new Lexer("3x*y + 2y^2 - 1")).parse().approximate();
+        Assert.assertEquals("3x*y + 2y^2 - 1", exact.toString());
+    }
+
+    @Test
+    public void approximateSolve() {
+        ApproximateExpression x = new ApproximateExpression("x");
+
+        List<Solution> quadratic = x.pow(2).minus(2).solveFor("x");
+        Assert.assertEquals(-Math.sqrt(2), quadratic.get(0).toDouble(), 1e-15);
+        Assert.assertEquals(Math.sqrt(2), quadratic.get(1).toDouble(), 1e-15);
+
+        List<Solution> cubic = x.minus(1).times(x.minus(2)).times(x.minus(3.5)).solveFor("x");
+        Assert.assertEquals(3, cubic.size());
+        Assert.assertEquals(3.5, cubic.get(2).toDouble(), 1e-12);
+
+        Assert.assertEquals(Solution.none(), x.pow(2).plus(1).solveFor("x").get(0));
+    }
+
+    @Test
+    public void append() throws IOException {
+        Expression expression = new Parser(new Lexer("-3x^2/4 + 5y - 2147483647")).parse();
+
+        StringWriter writer = new StringWriter();
+        expression.appendTo(writer).append(" | ");
+        expression.appendTex(writer);
+
+        Assert.assertEquals(expression + " | " + expression.toTex(), writer.toString());
+        Assert.assertEquals("-3/4 * x^2 + 5y - 2147483647 | -\\frac{3}{4}x^{2} + 5y - 2147483647", writer.toString());
+    }
 }
@@ -74,6 +74,8 @@ public class FractionTests {
                 new Fraction(9, 7).pow(2));
         Assert.assertEquals(new Fraction(125, 27),
                 new Fraction(3, 5).pow(-3));
+        Assert.assertEquals(new Fraction(1 << 30),
+                new Fraction(2).pow(30));
     }
 
     @Test
@@ -84,4 +86,57 @@ public class FractionTests {
         Assert.assertEquals(new Fraction(9, 10), new Fraction(81, 90).reduce());
         Assert.assertEquals(new Fraction(16, 23), new Fraction(128,184).reduce());
     }
+
+    @Test(expected = ArithmeticException.class)
+    public void powOverflow() {
+        new Fraction(50000).pow(2);
+    }
+
+    @Test
+    public void sqrt() {
+        Assert.assertTrue(new Fraction(9, 4).sqrtIsRational());
+        Assert.assertTrue(new Fraction(2, 8).sqrtIsRational());
+        Assert.assertEquals(new Fraction(1, 2), new Fraction(2, 8).sqrt());
+        Assert.assertTrue(new Fraction(2147395600).sqrtIsRational());
+        Assert.assertFalse(new Fraction(2147395599).sqrtIsRational());
+        Assert.assertFalse(new Fraction(-4).sqrtIsRational());
+    }
+
+    @Test
+    public void packed() {
+        Assert.assertEquals(6, PackedFraction.gcd(48, 18));
+        Assert.assertEquals(7, PackedFraction.gcd(0, 7));
+        Assert.assertEquals(1L << 40, PackedFraction.gcd(3L << 40, 1L << 41));
+
+        long a = new Fraction(7, 12).pack();
+        long b = new Fraction(5, 6).pack();
+        Assert.assertEquals(new Fraction(17, 12), Fraction.unpack(PackedFraction.plus(a, b)));
+        Assert.assertEquals(new Fraction(-1, 4), Fraction.unpack(PackedFraction.minus(a, b)));
+        Assert.assertEquals(new Fraction(35, 72), Fraction.unpack(PackedFraction.times(a, b)));
+        Assert.assertEquals(new Fraction(7, 10), Fraction.unpack(PackedFraction.div(a, b)));
+        Assert.assertEquals(new Fraction(0), Fraction.unpack(PackedFraction.minus(a, a)));
+    }
+
+    @Test
+    public void crossReduction() {
+        // The plain products overflow an int, the cross-reduced ones do not
+        Fraction a = new Fraction(65536, 65537);
+        Fraction b = new Fraction(65537, 131072);
+        Assert.assertEquals(new Fraction(1, 2), a.times(b));
+        Assert.assertEquals(new Fraction(1, 2), new Fraction(65536 * 3, 65537).div(new Fraction(3 * 2 * 65536, 65537)));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void overflow() {
+        new Fraction(Integer.MAX_VALUE).plus(new Fraction(1));
+    }
+
+    @Test
+    public void cache() {
+        Assert.assertSame(Fraction.valueOf(5), Fraction.valueOf(10, 2));
+        Assert.assertSame(Fraction.ZERO, new Fraction(3, 4).minus(new Fraction(3, 4)));
+        Assert.assertSame(Fraction.ONE, new Fraction(2, 3).times(new Fraction(3, 2)));
+        Assert.assertEquals(new Fraction(-2, 3), Fraction.valueOf(4, -6));
+        Assert.assertEquals(new Fraction(1000), Fraction.valueOf(1000));
+    }
 }
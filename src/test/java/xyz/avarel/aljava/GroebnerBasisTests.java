@@ -0,0 +1,117 @@
+package xyz.avarel.aljava;
+
+import org.junit.Assert;
+import org.junit.Test;
+import xyz.avarel.aljava.lexer.Lexer;
+import xyz.avarel.aljava.parser.Parser;
+import xyz.avarel.aljava.polynomial.GroebnerBasis;
+import xyz.avarel.aljava.polynomial.MonomialOrder;
+import xyz.avarel.aljava.polynomial.Polynomial;
+import xyz.avarel.aljava.polynomial.PolynomialSystem;
+
+import java.util.*;
+import java.util.concurrent.CancellationException;
+
+public class GroebnerBasisTests {
+    private static final List<String> XY = Arrays.asList("x", "y");
+
+    private static Polynomial parse(String str, MonomialOrder order) {
+        return Polynomial.of(new Parser(new Lexer(str)).parse(), XY, order);
+    }
+
+    private static PolynomialSystem system(String... equations) {
+        List<Equation> list = new ArrayList<>();
+        for (String equation : equations) {
+            list.add(new Parser(new Lexer(equation)).parseEquation());
+        }
+        return new PolynomialSystem(list);
+    }
+
+    private static Map<String, Solution> solution(Solution x, Solution y) {
+        Map<String, Solution> map = new LinkedHashMap<>();
+        map.put("x", x);
+        map.put("y", y);
+        return map;
+    }
+
+    @Test
+    public void lex() {
+        GroebnerBasis basis = GroebnerBasis.of(Arrays.asList(
+                parse("x^2 + y^2 - 1", MonomialOrder.LEX),
+                parse("x - y", MonomialOrder.LEX)));
+
+        Assert.assertEquals(Arrays.asList(
+                parse("x - y", MonomialOrder.LEX),
+                parse("2y^2 - 1", MonomialOrder.LEX)
+        ), basis.getPolynomials());
+    }
+
+    @Test
+    public void graded() {
+        Polynomial f = parse("x^3 - 2x*y", MonomialOrder.GRLEX);
+        Polynomial g = parse("x^2*y - 2y^2 + x", MonomialOrder.GRLEX);
+        GroebnerBasis basis = GroebnerBasis.of(Arrays.asList(f, g));
+
+        Assert.assertEquals(Arrays.asList(
+                parse("x^2", MonomialOrder.GRLEX),
+                parse("x*y", MonomialOrder.GRLEX),
+                parse("2y^2 - x", MonomialOrder.GRLEX)
+        ), basis.getPolynomials());
+
+        Assert.assertTrue(basis.contains(f.times(parse("x + 1", MonomialOrder.GRLEX)).plus(g.times(parse("y", MonomialOrder.GRLEX)))));
+        Assert.assertFalse(basis.contains(parse("x + y", MonomialOrder.GRLEX)));
+    }
+
+    @Test
+    public void unit() {
+        Assert.assertTrue(GroebnerBasis.of(Arrays.asList(
+                parse("x*y - 1", MonomialOrder.GREVLEX),
+                parse("x", MonomialOrder.GREVLEX))).isUnit());
+    }
+
+    @Test(expected = CancellationException.class)
+    public void cancel() {
+        GroebnerBasis.of(Arrays.asList(
+                parse("x^3 - 2x*y", MonomialOrder.GRLEX),
+                parse("x^2*y - 2y^2 + x", MonomialOrder.GRLEX)
+        ), new GroebnerBasis.Listener() {
+            @Override
+            public boolean isCancelled() {
+                return true;
+            }
+        });
+    }
+
+    @Test
+    public void solve() {
+        Assert.assertEquals(Arrays.asList(
+                solution(Solution.rational(new Fraction(4)), Solution.rational(new Fraction(3))),
+                solution(Solution.rational(new Fraction(3)), Solution.rational(new Fraction(4)))
+        ), system("x^2 + y^2 = 25", "x + y = 7").solve());
+
+        Assert.assertEquals(Arrays.asList(
+                solution(Solution.rational(new Fraction(0)), Solution.rational(new Fraction(0))),
+                solution(Solution.radical(new Fraction(0), new Fraction(-1), 2), Solution.rational(new Fraction(1))),
+                solution(Solution.radical(new Fraction(0), new Fraction(1), 2), Solution.rational(new Fraction(1)))
+        ), system("x^2 = 2y", "y^2 = y").solve());
+
+        Assert.assertTrue(system("x + y = 1", "x + y = 2").solve().isEmpty());
+    }
+
+    @Test
+    public void solveIrrational() {
+        // y is a root of 2y^2 - 1, and x follows from it numerically
+        List<Map<String, Solution>> solutions = system("x^2 + y^2 = 1", "x = y").solve();
+        Assert.assertEquals(2, solutions.size());
+
+        double root = Math.sqrt(0.5);
+        for (int i = 0; i < 2; i++) {
+            Map<String, Solution> solution = solutions.get(i);
+            double sign = i == 0 ? -1 : 1;
+
+            Assert.assertEquals(Solution.radical(new Fraction(0), new Fraction((int) sign, 2), 2), solution.get("y"));
+            Assert.assertEquals(Solution.Kind.NUMERIC, solution.get("x").getKind());
+            Assert.assertEquals(sign * root, solution.get("x").toDouble(), 1e-12);
+        }
+    }
+}
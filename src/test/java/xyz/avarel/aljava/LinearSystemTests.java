@@ -0,0 +1,107 @@
+package xyz.avarel.aljava;
+
+import org.junit.Assert;
+import org.junit.Test;
+import xyz.avarel.aljava.exceptions.ComputeException;
+import xyz.avarel.aljava.lexer.Lexer;
+import xyz.avarel.aljava.linear.IterativeSolver;
+import xyz.avarel.aljava.linear.LinearSystem;
+import xyz.avarel.aljava.linear.SparseMatrix;
+import xyz.avarel.aljava.parser.Parser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+public class LinearSystemTests {
+    private static Equation parse(String str) {
+        return new Parser(new Lexer(str)).parseEquation();
+    }
+
+    @Test
+    public void csrBuilder() {
+        SparseMatrix matrix = new SparseMatrix.Builder(3)
+                .add(2, 0, 1)
+                .add(0, 1, 2)
+                .add(0, 0, 4)
+                .add(0, 1, 3)
+                .build();
+
+        Assert.assertEquals(3, matrix.nonZeros());
+        Assert.assertEquals(4, matrix.get(0, 0), 0);
+        Assert.assertEquals(5, matrix.get(0, 1), 0);
+        Assert.assertEquals(1, matrix.get(2, 0), 0);
+        Assert.assertEquals(0, matrix.get(1, 1), 0);
+    }
+
+    @Test
+    public void symmetric() {
+        LinearSystem system = new LinearSystem(Arrays.asList(
+                parse("4x + y = 1"),
+                parse("x + 3y = 2")
+        ));
+
+        Map<String, Double> solution = system.solve(
+                new IterativeSolver(IterativeSolver.Method.CONJUGATE_GRADIENT, 1e-12, 100));
+
+        Assert.assertEquals(1.0 / 11, solution.get("x"), 1e-9);
+        Assert.assertEquals(7.0 / 11, solution.get("y"), 1e-9);
+    }
+
+    @Test
+    public void nonSymmetric() {
+        LinearSystem system = new LinearSystem(Arrays.asList(
+                parse("3x - y + 2 = z"),
+                parse("2y = x + 5"),
+                parse("x + 4z = y - 1")
+        ));
+
+        Map<String, Double> solution = system.solve();
+
+        double x = solution.get("x"), y = solution.get("y"), z = solution.get("z");
+        Assert.assertEquals(0, 3 * x - y + 2 - z, 1e-8);
+        Assert.assertEquals(0, 2 * y - x - 5, 1e-8);
+        Assert.assertEquals(0, x + 4 * z - y + 1, 1e-8);
+    }
+
+    @Test
+    public void breakdown() {
+        // The residual is orthogonal to A times itself, which stops BiCGSTAB in the first step
+        SparseMatrix matrix = new SparseMatrix.Builder(2)
+                .add(0, 0, 1).add(0, 1, 1.25)
+                .add(1, 0, 1.25).add(1, 1, 1)
+                .build();
+
+        try {
+            new IterativeSolver(IterativeSolver.Method.BICGSTAB, 1e-12, 1_000_000).solve(matrix, new double[] { 1, -2 });
+            Assert.fail("Expected ComputeException");
+        } catch (ComputeException e) {
+            Assert.assertEquals("BiCGSTAB broke down at iteration 0", e.getMessage());
+        }
+    }
+
+    @Test
+    public void large() {
+        // Tridiagonal -x(i-1) + 3x(i) - x(i+1) = 1, big enough to split the products across threads
+        int n = 5000;
+        List<Equation> equations = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Expression lhs = new Expression(new Term(new Fraction(3), new Variable("x" + i)));
+            if (i > 0) lhs = lhs.minus("x" + (i - 1));
+            if (i < n - 1) lhs = lhs.minus("x" + (i + 1));
+            equations.add(new Equation(lhs, 1));
+        }
+
+        LinearSystem system = new LinearSystem(equations);
+        Map<String, Double> solution = system.solve();
+
+        Assert.assertEquals(n, solution.size());
+        Assert.assertEquals(1, solution.get("x2500"), 1e-6);
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void nonLinear() {
+        new LinearSystem(Arrays.asList(parse("x*y = 1"), parse("x + y = 2")));
+    }
+}
@@ -0,0 +1,40 @@
+package xyz.avarel.aljava;
+
+import org.junit.Assert;
+import org.junit.Test;
+import xyz.avarel.aljava.lexer.Lexer;
+import xyz.avarel.aljava.metrics.HistogramMetrics;
+import xyz.avarel.aljava.metrics.Metrics;
+import xyz.avarel.aljava.parser.Parser;
+
+import java.util.concurrent.TimeUnit;
+
+public class MetricsTests {
+    @Test
+    public void histogram() {
+        HistogramMetrics metrics = new HistogramMetrics(1, TimeUnit.HOURS);
+        Metrics.install(metrics);
+        try {
+            Expression expression = new Parser(new Lexer("(x + 1)^3")).parse();
+            Assert.assertEquals(1, metrics.getCount(Metrics.Operation.PARSE));
+
+            metrics.reset();
+            expression.times(new Expression("y"));
+            Assert.assertEquals(1, metrics.getCount(Metrics.Operation.MULTIPLY));
+            Assert.assertEquals(1, metrics.getCount(Metrics.Operation.SIMPLIFY));
+            Assert.assertEquals(0, metrics.getSlowCount(Metrics.Operation.MULTIPLY));
+            Assert.assertEquals(8, metrics.getTermsOutPercentile(Metrics.Operation.MULTIPLY, 1.0));
+
+            new Parser(new Lexer("x^2 = 4")).parseEquation().solveFor("x");
+            Assert.assertEquals(1, metrics.getCount(Metrics.Operation.SOLVE));
+            Assert.assertTrue(metrics.report().contains("SOLVE     count=1"));
+        } finally {
+            Metrics.install(null);
+        }
+
+        Assert.assertSame(Metrics.NONE, Metrics.get());
+        long before = metrics.getCount(Metrics.Operation.SIMPLIFY);
+        new Expression("x").plus(1);
+        Assert.assertEquals(before, metrics.getCount(Metrics.Operation.SIMPLIFY));
+    }
+}
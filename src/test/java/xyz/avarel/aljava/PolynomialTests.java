@@ -0,0 +1,133 @@
+package xyz.avarel.aljava;
+
+import org.junit.Assert;
+import org.junit.Test;
+import xyz.avarel.aljava.lexer.Lexer;
+import xyz.avarel.aljava.parser.Parser;
+import xyz.avarel.aljava.polynomial.Monomial;
+import xyz.avarel.aljava.polynomial.MonomialOrder;
+import xyz.avarel.aljava.polynomial.Polynomial;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class PolynomialTests {
+    private static final List<String> XY = Arrays.asList("x", "y");
+
+    private static Polynomial parse(String str, MonomialOrder order) {
+        return Polynomial.of(new Parser(new Lexer(str)).parse(), XY, order);
+    }
+
+    @Test
+    public void orders() {
+        Monomial a = new Monomial(1, 2);
+        Monomial b = new Monomial(2, 0);
+
+        Assert.assertTrue(MonomialOrder.LEX.compare(a, b) < 0);
+        Assert.assertTrue(MonomialOrder.GRLEX.compare(a, b) > 0);
+        Assert.assertTrue(MonomialOrder.GREVLEX.compare(new Monomial(2, 1), new Monomial(1, 2)) > 0);
+    }
+
+    @Test
+    public void canonical() {
+        Polynomial p = parse("y + x*x + 3 - y + x^2", MonomialOrder.LEX);
+
+        Assert.assertEquals(2, p.size());
+        Assert.assertEquals(new Monomial(2, 0), p.leadingMonomial());
+        Assert.assertEquals(new Fraction(2), p.leadingCoefficient());
+    }
+
+    @Test
+    public void multipleDivisors() {
+        Polynomial f = parse("x^2*y + x*y^2 + y^2", MonomialOrder.LEX);
+        Polynomial g1 = parse("x*y - 1", MonomialOrder.LEX);
+        Polynomial g2 = parse("y^2 - 1", MonomialOrder.LEX);
+
+        Polynomial[] result = f.divideAndRemainder(Arrays.asList(g1, g2));
+
+        Assert.assertEquals(parse("x + y", MonomialOrder.LEX), result[0]);
+        Assert.assertEquals(parse("1", MonomialOrder.LEX), result[1]);
+        Assert.assertEquals(parse("x + y + 1", MonomialOrder.LEX), result[2]);
+        Assert.assertEquals(f, result[0].times(g1).plus(result[1].times(g2)).plus(result[2]));
+    }
+
+    @Test
+    public void exactDivision() {
+        Polynomial g = parse("3x^2 - x*y + 7", MonomialOrder.GREVLEX);
+        Polynomial h = parse("x^3 + 2y^2 - x + 1", MonomialOrder.GREVLEX);
+
+        Polynomial[] result = g.times(h).divideAndRemainder(g);
+
+        Assert.assertEquals(h, result[0]);
+        Assert.assertTrue(result[1].isZero());
+    }
+
+    @Test
+    public void univariateGcd() {
+        Polynomial a = parse("x^4 - 1", MonomialOrder.LEX);
+        Polynomial b = parse("x^3 + 2x^2 + 2x + 1", MonomialOrder.LEX);
+
+        Assert.assertEquals(parse("x + 1", MonomialOrder.LEX), a.gcd(b));
+    }
+
+    @Test
+    public void multivariateGcd() {
+        Polynomial g = parse("3x^2*y - 2y^3 + x - 5", MonomialOrder.LEX);
+        Polynomial a = g.times(parse("x*y + 4y^2 - 7", MonomialOrder.LEX));
+        Polynomial b = g.times(parse("2x^3 - y + 11", MonomialOrder.LEX));
+
+        Assert.assertEquals(g, a.gcd(b));
+    }
+
+    @Test
+    public void contentGcd() {
+        Polynomial a = parse("6x + 6", MonomialOrder.LEX);
+        Polynomial b = parse("4x^2 - 4", MonomialOrder.LEX);
+
+        Assert.assertEquals(parse("2x + 2", MonomialOrder.LEX), a.gcd(b));
+        Assert.assertEquals(parse("1", MonomialOrder.LEX), parse("x + y", MonomialOrder.LEX).gcd(parse("x - y", MonomialOrder.LEX)));
+    }
+
+    @Test
+    public void factor() {
+        Polynomial f = parse("2x^5 - 2x", MonomialOrder.LEX);
+
+        Assert.assertEquals(Arrays.asList(
+                parse("2", MonomialOrder.LEX),
+                parse("x", MonomialOrder.LEX),
+                parse("x + 1", MonomialOrder.LEX),
+                parse("x - 1", MonomialOrder.LEX),
+                parse("x^2 + 1", MonomialOrder.LEX)
+        ), f.factor());
+    }
+
+    @Test
+    public void repeatedFactors() {
+        Polynomial g = parse("x^2 - 3", MonomialOrder.LEX);
+        Polynomial h = parse("3x + 1", MonomialOrder.LEX);
+
+        Assert.assertEquals(Arrays.asList(h, h, h, g, g), h.times(h).times(h).times(g).times(g).factor());
+    }
+
+    @Test
+    public void irreducible() {
+        // Splits into linear factors modulo every prime, so only recombination can prove it irreducible
+        Polynomial f = parse("x^4 + 1", MonomialOrder.LEX);
+        Assert.assertEquals(Collections.singletonList(f), f.factor());
+    }
+
+    @Test
+    public void factorProduct() {
+        Polynomial[] factors = {
+                parse("x^3 - 5x + 7", MonomialOrder.LEX),
+                parse("4x^4 + x^3 - 9", MonomialOrder.LEX),
+                parse("x^6 + 11x^2 - 2x + 13", MonomialOrder.LEX),
+                parse("7x - 3", MonomialOrder.LEX)
+        };
+
+        Polynomial product = factors[0].times(factors[1]).times(factors[2]).times(factors[3]);
+
+        Assert.assertEquals(Arrays.asList(factors[3], factors[0], factors[1], factors[2]), product.factor());
+    }
+}
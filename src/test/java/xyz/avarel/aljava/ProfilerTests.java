@@ -0,0 +1,45 @@
+package xyz.avarel.aljava;
+
+import org.junit.Assert;
+import org.junit.Test;
+import xyz.avarel.aljava.lexer.Lexer;
+import xyz.avarel.aljava.parser.Parser;
+
+public class ProfilerTests {
+    @Test
+    public void blowUp() {
+        Expression sum = new Parser(new Lexer("a + b + c + d")).parse();
+
+        Profiler profiler = new Profiler();
+        Expression result = profiler.run(() -> sum.pow(3));
+
+        Assert.assertEquals(20, result.getTerms().size());
+        Assert.assertEquals(1, profiler.getCalls(Profiler.Operation.POW));
+        Assert.assertEquals(2, profiler.getCalls(Profiler.Operation.MULTIPLY));
+        Assert.assertEquals(20, profiler.getMaxTerms(Profiler.Operation.POW));
+        Assert.assertSame(result, profiler.getLargest());
+
+        // The 16 and 64 term products before like terms are combined
+        Assert.assertTrue(profiler.getAllocations(Profiler.Operation.MULTIPLY, Profiler.Allocation.TERM) >= 16 + 64);
+        Assert.assertTrue(profiler.getAllocations(Profiler.Operation.SIMPLIFY, Profiler.Allocation.TERM) > 0);
+        Assert.assertEquals(0, profiler.getAllocations(Profiler.Operation.OTHER, Profiler.Allocation.TERM));
+
+        String report = profiler.report();
+        Assert.assertTrue(report, report.contains("largest: 20 terms from SIMPLIFY"));
+    }
+
+    @Test
+    public void optIn() {
+        Profiler profiler = new Profiler();
+        new Expression("x").plus(1).times(new Expression("y"));
+        Assert.assertEquals(0, profiler.getCalls(Profiler.Operation.MULTIPLY));
+
+        profiler.run(() -> new Expression("x").plus(1));
+        Assert.assertEquals(1, profiler.getCalls(Profiler.Operation.SIMPLIFY));
+        Assert.assertTrue(profiler.getAllocations(Profiler.Operation.OTHER, Profiler.Allocation.EXPRESSION) > 0);
+
+        profiler.reset();
+        Assert.assertEquals(0, profiler.getCalls(Profiler.Operation.SIMPLIFY));
+        Assert.assertNull(profiler.getLargest());
+    }
+}
@@ -14,7 +14,7 @@ public class QuickStart {
 
         System.out.println(eq);
 
-        List<Object> answers = eq.solveFor("x");
+        List<Solution> answers = eq.solveFor("x");
         System.out.println("x = " + answers.get(0));
     }
 }
@@ -0,0 +1,45 @@
+package xyz.avarel.aljava;
+
+import org.junit.Assert;
+import org.junit.Test;
+import xyz.avarel.aljava.lexer.Lexer;
+import xyz.avarel.aljava.parser.Parser;
+
+public class RationalExpressionTests {
+    private static Expression parse(String str) {
+        return new Parser(new Lexer(str)).parse();
+    }
+
+    @Test
+    public void lowestTerms() {
+        RationalExpression r = new RationalExpression(parse("x^2 - 1"), parse("x - 1"));
+
+        Assert.assertTrue(r.isPolynomial());
+        Assert.assertEquals(parse("x + 1"), r.toExpression());
+        Assert.assertEquals("x + 1", r.toString());
+    }
+
+    @Test
+    public void print() {
+        RationalExpression r = new RationalExpression(parse("2x + 2"), parse("-4x^2 + 4"));
+
+        Assert.assertEquals("-1/(2x - 2)", r.toString());
+        Assert.assertEquals("\\frac{-1}{2x - 2}", r.toTex());
+    }
+
+    @Test
+    public void arithmetic() {
+        RationalExpression a = new RationalExpression(parse("x"), parse("x + 1"));
+        RationalExpression b = new RationalExpression(new Expression(1), parse("x + 1"));
+
+        Assert.assertEquals(new RationalExpression(new Expression(1)), a.plus(b));
+        Assert.assertEquals(new RationalExpression(parse("x"), parse("x^2 + 2x + 1")), a.times(b));
+        Assert.assertEquals(new RationalExpression(parse("x")), a.div(b));
+        Assert.assertEquals(new RationalExpression(parse("x + 1"), parse("x")), a.pow(-1));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void notPolynomial() {
+        new RationalExpression(parse("x^2 + 1"), parse("x - 1")).toExpression();
+    }
+}
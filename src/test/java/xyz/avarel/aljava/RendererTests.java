@@ -0,0 +1,41 @@
+package xyz.avarel.aljava;
+
+import org.junit.Assert;
+import org.junit.Test;
+import xyz.avarel.aljava.lexer.Lexer;
+import xyz.avarel.aljava.parser.Parser;
+import xyz.avarel.aljava.render.Renderer;
+
+public class RendererTests {
+    private static Expression parse(String str) {
+        return new Parser(new Lexer(str)).parse().simplify();
+    }
+
+    @Test
+    public void tex() {
+        for (String str : new String[] { "x^2 - 3x + 2", "-x*y + 1/2", "alpha^2 - 2beta/3", "1/3*y^2/alpha", "x/(y^2*z) - 1", "0" }) {
+            Expression expression = parse(str);
+            Assert.assertEquals(expression.toTex(), Renderer.TEX.render(expression));
+        }
+    }
+
+    @Test
+    public void infix() {
+        Expression expression = parse("-3x^2/4 + y/z^2 + 2/x - 1");
+        String infix = Renderer.INFIX.render(expression);
+
+        Assert.assertEquals("-3/4*x^2-1+2/x+y/z^2", infix);
+        Assert.assertEquals(expression, parse(infix));
+
+        Equation equation = new Parser(new Lexer("x*y = 2")).parseEquation();
+        Assert.assertEquals("x*y=2", Renderer.INFIX.render(equation));
+    }
+
+    @Test
+    public void mathml() {
+        Assert.assertEquals("<math><mrow><mi>π</mi><mo>-</mo><mfrac><mn>1</mn><mn>2</mn></mfrac><mo>&#x2062;</mo>"
+                        + "<msup><mi>x</mi><mn>2</mn></msup></mrow></math>",
+                Renderer.MATHML.render(parse("-x^2/2 + pi")));
+        Assert.assertEquals("<math><mrow><mn>0</mn></mrow></math>", Renderer.MATHML.render(new Expression()));
+    }
+}
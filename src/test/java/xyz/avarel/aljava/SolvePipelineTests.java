@@ -0,0 +1,60 @@
+package xyz.avarel.aljava;
+
+import org.junit.Assert;
+import org.junit.Test;
+import xyz.avarel.aljava.batch.SolvePipeline;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class SolvePipelineTests {
+    @Test
+    public void ordered() throws IOException, InterruptedException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            if (i % 100 == 7) {
+                sb.append("x + * 2\n");
+            } else if (i % 2 == 0) {
+                sb.append(i).append("x - ").append(2 * i).append(" = x^2 - x + 1\n");
+            } else {
+                sb.append("(x + ").append(i).append(")^2\n");
+            }
+        }
+        String input = sb.toString();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<SolvePipeline.Result> parallel = new ArrayList<>();
+            long count = new SolvePipeline(executor, "x", 7, 3).run(new StringReader(input), parallel::add);
+            Assert.assertEquals(2000, count);
+
+            List<SolvePipeline.Result> sequential = new ArrayList<>();
+            new SolvePipeline(executor, "x", 2000, 1).run(new StringReader(input), sequential::add);
+
+            for (int i = 0; i < 2000; i++) {
+                Assert.assertEquals(i + 1, parallel.get(i).getLineNumber());
+                Assert.assertEquals(sequential.get(i).toString(), parallel.get(i).toString());
+            }
+
+            Assert.assertTrue(parallel.get(7).isError());
+            Assert.assertNotNull(parallel.get(2).getSolutions());
+            Assert.assertEquals("x^2 + 2x + 1", parallel.get(1).getExpression().toString());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void blankLines() throws IOException, InterruptedException {
+        List<SolvePipeline.Result> results = new ArrayList<>();
+        new SolvePipeline("y").run(new StringReader("\n2y = 6\n\n   \ny = z"), results::add);
+
+        Assert.assertEquals(2, results.size());
+        Assert.assertEquals("2: 3", results.get(0).toString());
+        Assert.assertEquals("5: z", results.get(1).toString());
+    }
+}
@@ -0,0 +1,92 @@
+package xyz.avarel.aljava;
+
+import org.junit.Assert;
+import org.junit.Test;
+import xyz.avarel.aljava.server.SolveServer;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.Executors;
+
+public class SolveServerTests {
+    private static Map<String, String> serve(SolveServer server, String requests) throws IOException, InterruptedException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        server.serve(new ByteArrayInputStream(requests.getBytes(StandardCharsets.UTF_8)), out);
+
+        // Answers arrive in any order, so key them by id
+        Map<String, String> responses = new HashMap<>();
+        for (String line : out.toString("UTF-8").split("\n")) {
+            String id = line.substring("{\"id\":".length(), line.indexOf(','));
+            responses.put(id, line);
+        }
+        return responses;
+    }
+
+    @Test
+    public void requests() throws IOException, InterruptedException {
+        try (SolveServer server = new SolveServer()) {
+            Map<String, String> responses = serve(server, ""
+                    + "{\"id\": 1, \"op\": \"simplify\", \"input\": \"x + x + 2\"}\n"
+                    + "{\"id\": \"b\", \"op\": \"solve\", \"input\": \"x^2 = 4\"}\n"
+                    + "\n"
+                    + "{\"id\": 3, \"op\": \"render\", \"input\": \"x/2\", \"format\": \"tex\"}\r\n"
+                    + "{\"id\": 4, \"op\": \"solve\", \"input\": \"2y = z\", \"variable\": \"y\"}\n");
+
+            Assert.assertEquals(4, responses.size());
+            Assert.assertEquals("{\"id\":1,\"result\":\"2x + 2\"}", responses.get("1"));
+            Assert.assertTrue(responses.get("\"b\""), responses.get("\"b\"").matches(".*\"result\":\\[\"-?2\",\"-?2\"\\].*"));
+            Assert.assertEquals("{\"id\":3,\"result\":\"\\\\frac{1}{2}x\"}", responses.get("3"));
+            Assert.assertEquals("{\"id\":4,\"result\":[\"1/2 * z\"]}", responses.get("4"));
+        }
+    }
+
+    @Test
+    public void errors() throws IOException, InterruptedException {
+        char[] huge = new char[200];
+        Arrays.fill(huge, 'x');
+
+        try (SolveServer server = new SolveServer(Executors.newFixedThreadPool(2), 10_000, 2, 100)) {
+            Map<String, String> responses = serve(server, ""
+                    + "{\"id\": 1, \"op\": \"solve\", \"input\": \"x + $\"}\n"
+                    + "{\"id\": 2, \"op\": \"integrate\", \"input\": \"x\"}\n"
+                    + "{\"id\": 3, \"op\": \"solve\", \"input\": \"y = 2\"}\n"
+                    + "{\"id\": 5, \"op\": \"simplify\", \"input\": \"(a + b + c + d + e + f)^200\"}\n"
+                    + "not json\n"
+                    + new String(huge) + "\n");
+
+            Assert.assertTrue(responses.get("1").contains("\"error\":\"Unrecognized `$`"));
+            Assert.assertTrue(responses.get("2").contains("\"error\":\"Unknown op integrate\""));
+            Assert.assertTrue(responses.get("3").contains("\"error\":"));
+            Assert.assertTrue(responses.get("5"), responses.get("5").contains("terms exceed the limit"));
+            Assert.assertTrue(responses.get("null").contains("\"error\":"));
+        }
+    }
+
+    @Test
+    public void socket() throws IOException, InterruptedException {
+        try (SolveServer server = new SolveServer();
+             ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            Thread acceptor = new Thread(() -> {
+                try {
+                    server.serve(serverSocket);
+                } catch (IOException ignored) {
+                }
+            });
+            acceptor.setDaemon(true);
+            acceptor.start();
+
+            try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), serverSocket.getLocalPort())) {
+                Writer writer = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+                writer.write("{\"id\": 7, \"op\": \"simplify\", \"input\": \"(x + 1)^2\", \"format\": \"infix\"}\n");
+                writer.flush();
+
+                BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                Assert.assertEquals("{\"id\":7,\"result\":\"x^2+2*x+1\"}", reader.readLine());
+            }
+        }
+    }
+}
@@ -60,4 +60,17 @@ public class TermTests {
         System.out.println(variablesOnly);
         System.out.println(constantOnly);
     }
+
+    @Test
+    public void folding() {
+        Term term = new Term(Arrays.asList(new Fraction(-5), new Fraction(2, 3)),
+                Collections.singletonList(new Variable("x")));
+
+        Assert.assertEquals(new Fraction(-10, 3), term.coefficient());
+        Assert.assertEquals(Arrays.asList(new Fraction(-5), new Fraction(2, 3)), term.getCoefficients());
+
+        Term scaled = term.times(new Fraction(3), false);
+        Assert.assertEquals(Collections.singletonList(new Fraction(-10)), scaled.getCoefficients());
+        Assert.assertEquals(new Term(new Fraction(-10), new Variable("x")), scaled);
+    }
 }